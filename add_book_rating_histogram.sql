@@ -0,0 +1,31 @@
+-- SQL to add the per-book rating histogram
+-- Review writes shift the matching rating_N_count bucket in the same UPDATE that maintains
+-- review_count and rating_sum, so the detail page reads the distribution without a GROUP BY
+
+ALTER TABLE books ADD COLUMN IF NOT EXISTS rating_1_count INTEGER;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS rating_2_count INTEGER;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS rating_3_count INTEGER;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS rating_4_count INTEGER;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS rating_5_count INTEGER;
+
+-- Backfill from the reviews table, the source of truth
+UPDATE books b SET
+    rating_1_count = s.rating_1_count,
+    rating_2_count = s.rating_2_count,
+    rating_3_count = s.rating_3_count,
+    rating_4_count = s.rating_4_count,
+    rating_5_count = s.rating_5_count
+FROM (
+    SELECT bk.id AS book_id,
+           COUNT(r.id) FILTER (WHERE r.rating = 1) AS rating_1_count,
+           COUNT(r.id) FILTER (WHERE r.rating = 2) AS rating_2_count,
+           COUNT(r.id) FILTER (WHERE r.rating = 3) AS rating_3_count,
+           COUNT(r.id) FILTER (WHERE r.rating = 4) AS rating_4_count,
+           COUNT(r.id) FILTER (WHERE r.rating = 5) AS rating_5_count
+    FROM books bk LEFT JOIN reviews r ON r.book_id = bk.id
+    GROUP BY bk.id
+) s
+WHERE b.id = s.book_id;
+
+-- Rating sort now orders by average_rating
+CREATE INDEX IF NOT EXISTS idx_book_average_rating ON books (average_rating, id);
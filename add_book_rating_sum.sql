@@ -0,0 +1,17 @@
+-- SQL to add the rating sum used for incremental rating aggregation
+-- Review writes now apply +/- deltas to review_count and rating_sum in one UPDATE and derive
+-- average_rating from them, so existing rows must start from the true totals
+
+ALTER TABLE books ADD COLUMN IF NOT EXISTS rating_sum BIGINT;
+
+-- Backfill from the reviews table, the source of truth
+UPDATE books b SET
+    review_count = s.review_count,
+    rating_sum = s.rating_sum,
+    average_rating = CASE WHEN s.review_count > 0 THEN s.rating_sum::DOUBLE PRECISION / s.review_count ELSE 0.0 END
+FROM (
+    SELECT bk.id AS book_id, COUNT(r.id) AS review_count, COALESCE(SUM(r.rating), 0) AS rating_sum
+    FROM books bk LEFT JOIN reviews r ON r.book_id = bk.id
+    GROUP BY bk.id
+) s
+WHERE b.id = s.book_id;
@@ -0,0 +1,11 @@
+-- SQL to add the catalog import checkpoints (app.catalog-import.file)
+-- One row per import source, updated in the same transaction as each batch of books, so a
+-- failed import resumes after the last committed batch instead of duplicating books
+
+CREATE TABLE IF NOT EXISTS catalog_import_checkpoints (
+    source VARCHAR(512) PRIMARY KEY,
+    records_read BIGINT NOT NULL,
+    books_imported BIGINT NOT NULL,
+    records_rejected BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
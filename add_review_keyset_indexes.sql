@@ -0,0 +1,6 @@
+-- SQL to add the composite indexes used by keyset pagination of review listings
+-- Pages seek on (created_at, id) within a book or user, newest first, so each page
+-- is an index range scan instead of an OFFSET over every earlier review
+
+CREATE INDEX IF NOT EXISTS idx_review_book_created_id ON reviews (book_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_review_user_created_id ON reviews (user_id, created_at, id);
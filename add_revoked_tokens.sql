@@ -0,0 +1,16 @@
+-- SQL to add the shared token revocation store (app.security.blacklist.store=database)
+-- Tokens are stored as the first 128 bits of their SHA-256, never in full; each instance polls
+-- for ids above its watermark and keeps the live rows in memory
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    digest_high BIGINT NOT NULL,
+    digest_low BIGINT NOT NULL,
+    fingerprint BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_revoked_token_digest UNIQUE (digest_high, digest_low)
+);
+
+-- Backs the initial load and the hourly purge of expired rows
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_tokens (expires_at);
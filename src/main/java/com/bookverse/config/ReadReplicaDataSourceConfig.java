@@ -0,0 +1,72 @@
+package com.bookverse.config;
+
+import com.bookverse.datasource.ReadWriteRoutingDataSource;
+import com.bookverse.datasource.ReplicaRouter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replaces the single auto-configured pool with a primary pool plus one pool per read replica,
+// only when app.datasource.replica.urls is set
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.urls")
+public class ReadReplicaDataSourceConfig {
+
+    // Same settings as the auto-configured pool, including spring.datasource.hikari.*
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRouter replicaRouter(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                       @Value("${app.datasource.replica.urls}") List<String> urls,
+                                       @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                       @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                       @Value("${app.datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = "replica-" + replicas.size();
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setPoolName(name);
+            config.setReadOnly(true);
+            // A replica that is down at startup must not keep the application from starting
+            config.setInitializationFailTimeout(-1);
+            replicas.put(name, new HikariDataSource(config));
+        }
+        return new ReplicaRouter(primary, replicas, maxLagMillis);
+    }
+
+    // Connections are fetched lazily, after the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter router) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(router);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookverse.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Turns on @Scheduled background jobs, such as the write-behind rating flush
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.bookverse.config;
 
 import com.bookverse.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +30,11 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Streaming responses finish on an async dispatch; the request was authorized when it started
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // Operational endpoints: internal counters and full-table dumps, ahead of the broader rules below
+                .requestMatchers("/health/metrics").hasRole("ADMIN")
+                .requestMatchers("/books/export", "/reviews/export").hasRole("ADMIN")
                 .requestMatchers("/api/books/**").permitAll()
                 .requestMatchers("/api/books").permitAll()
                 .requestMatchers("/health/**").permitAll()
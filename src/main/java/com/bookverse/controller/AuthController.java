@@ -2,9 +2,11 @@ package com.bookverse.controller;
 
 import com.bookverse.dto.*;
 import com.bookverse.security.JwtTokenProvider;
+import com.bookverse.security.LoginRateLimiter;
 import com.bookverse.service.TokenBlacklistService;
 import com.bookverse.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,6 +24,7 @@ public class AuthController {
     private final UserService userService;
     private final JwtTokenProvider tokenProvider;
     private final TokenBlacklistService tokenBlacklistService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/signup")
     @io.swagger.v3.oas.annotations.Operation(
@@ -142,6 +145,14 @@ public class AuthController {
                         """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "429",
+            description = "Too many login attempts from this client or for this account; see Retry-After",
+            content = @io.swagger.v3.oas.annotations.media.Content(
+                mediaType = "application/json",
+                schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = com.bookverse.dto.ApiResponse.class)
+            )
         )
     })
     public ResponseEntity<com.bookverse.dto.ApiResponse<AuthResponse>> login(
@@ -160,7 +171,16 @@ public class AuthController {
                     )
                 )
             )
-            @Valid @RequestBody UserLoginDTO request) {
+            @Valid @RequestBody UserLoginDTO request,
+            @io.swagger.v3.oas.annotations.Parameter(hidden = true) HttpServletRequest httpRequest) {
+        // Throttled before the user lookup and the password check; remote address only, since
+        // forwarded headers are client-controlled unless the server is configured to trust them
+        long retryAfterSeconds = loginRateLimiter.tryAcquire(httpRequest.getRemoteAddr(), request.getEmail());
+        if (retryAfterSeconds > 0) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(com.bookverse.dto.ApiResponse.error("Too many login attempts, please retry later"));
+        }
         return userService.login(request)
                 .map(user -> {
                     String token = tokenProvider.generateToken(user.getEmail());
@@ -3,10 +3,18 @@ package com.bookverse.controller;
 import com.bookverse.dto.*;
 import com.bookverse.entity.BookGenre;
 import com.bookverse.service.BookService;
+import com.bookverse.service.catalog.CatalogExporter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -16,6 +24,14 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final CatalogExporter catalogExporter;
+
+    // Cache-Control max-age per endpoint; clients revalidate with the ETag afterwards
+    @Value("${app.http-cache.book-details.max-age-seconds:30}")
+    private long detailsMaxAgeSeconds = 30;
+
+    @Value("${app.http-cache.featured-books.max-age-seconds:300}")
+    private long featuredMaxAgeSeconds = 300;
 
     @GetMapping
     @io.swagger.v3.oas.annotations.Operation(
@@ -92,7 +108,13 @@ public class BookController {
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             
             @io.swagger.v3.oas.annotations.Parameter(description = "Page size (max 100)", example = "20")
-            @RequestParam(value = "size", defaultValue = "20") Integer size
+            @RequestParam(value = "size", defaultValue = "20") Integer size,
+
+            @io.swagger.v3.oas.annotations.Parameter(description = "Keyset cursor from pagination.nextCursor; replaces page when set")
+            @RequestParam(value = "cursor", required = false) String cursor,
+
+            @io.swagger.v3.oas.annotations.Parameter(description = "Total count: exact, approximate or none (hasNext only)", example = "none")
+            @RequestParam(value = "total", required = false) String total
     ) {
         System.out.println("BookController.list() called with:");
         System.out.println("  sortBy: " + sortBy);
@@ -111,6 +133,8 @@ public class BookController {
                 .sortDirection(sortDirection)
                 .page(page)
                 .size(size)
+                .cursor(cursor)
+                .total(total)
                 .build();
         
         System.out.println("Calling bookService.searchBooks()...");
@@ -163,6 +187,10 @@ public class BookController {
                 )
             )
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Not modified: the ETag in If-None-Match is still current"
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
             description = "Book not found",
@@ -183,8 +211,18 @@ public class BookController {
     })
     public ResponseEntity<com.bookverse.dto.ApiResponse<BookDetailDTO>> details(
             @io.swagger.v3.oas.annotations.Parameter(description = "Book ID", example = "1", required = true)
-            @PathVariable("id") Long id) {
-        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(bookService.getBookDetails(id)));
+            @PathVariable("id") Long id,
+            WebRequest request) {
+        // Usually a cache hit; the tag is digested from what would be sent
+        BookDetailDTO book = bookService.getBookDetails(id);
+        String etag = ETags.of("book-" + id, book);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(detailsMaxAgeSeconds)).cachePrivate())
+                .body(com.bookverse.dto.ApiResponse.ok(book));
     }
 
     @GetMapping("/{id}/reviews")
@@ -276,10 +314,33 @@ public class BookController {
                         """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Not modified: the ETag in If-None-Match is still current"
         )
     })
-    public ResponseEntity<com.bookverse.dto.ApiResponse<List<BookDTO>>> getFeaturedBooks() {
+    public ResponseEntity<com.bookverse.dto.ApiResponse<List<BookDTO>>> getFeaturedBooks(WebRequest request) {
         List<BookDTO> featuredBooks = bookService.getFeaturedBooks();
-        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(featuredBooks));
+        String etag = ETags.of("featured", featuredBooks);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(featuredMaxAgeSeconds)).cachePrivate())
+                .body(com.bookverse.dto.ApiResponse.ok(featuredBooks));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Export Books",
+        description = "Stream every book with its genres as newline-delimited JSON, one book per line in id order (requires ROLE_ADMIN)"
+    )
+    public ResponseEntity<StreamingResponseBody> export(WebRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books.ndjson\"")
+                .body(catalogExporter.streamBooks(request));
     }
 }
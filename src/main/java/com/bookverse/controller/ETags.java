@@ -0,0 +1,30 @@
+package com.bookverse.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Strong ETags digested from the representation being served, so every instance hands out the
+ * same tag for the same data, and a tag changes as soon as the data served does, whichever
+ * node, bulk update or batch flush changed it. A cached copy can only be confirmed for as long
+ * as the server-side cache it was read from still holds it.
+ */
+final class ETags {
+
+    // Map keys sorted so equal data serializes identically on every instance
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private ETags() {
+    }
+
+    static String of(String view, Object representation) {
+        try {
+            return "\"" + view + "-" + DigestUtils.md5DigestAsHex(MAPPER.writeValueAsBytes(representation)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot digest " + view, e);
+        }
+    }
+}
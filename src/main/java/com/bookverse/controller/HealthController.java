@@ -1,18 +1,24 @@
 package com.bookverse.controller;
 
 import com.bookverse.repository.BookRepository;
+import com.bookverse.service.MetricsSource;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 @RestController
 @RequestMapping("/health")
 @RequiredArgsConstructor
 public class HealthController {
 
     private final BookRepository bookRepository;
+    private final List<MetricsSource> metricsSources;
 
     @GetMapping
     public ResponseEntity<String> health() {
@@ -28,4 +34,13 @@ public class HealthController {
             return ResponseEntity.status(500).body("Database Error: " + e.getMessage());
         }
     }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Map<String, Number>>> metrics() {
+        Map<String, Map<String, Number>> metrics = new TreeMap<>();
+        for (MetricsSource source : metricsSources) {
+            metrics.put(source.metricsName(), source.metrics());
+        }
+        return ResponseEntity.ok(metrics);
+    }
 }
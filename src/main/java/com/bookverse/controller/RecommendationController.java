@@ -4,10 +4,13 @@ import com.bookverse.dto.ApiResponse;
 import com.bookverse.dto.RecommendationDTO;
 import com.bookverse.service.RecommendationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -18,10 +21,14 @@ public class RecommendationController {
 
     private final RecommendationService recommendationService;
 
+    // Cache-Control max-age of top-rated lists; clients revalidate with the ETag afterwards
+    @Value("${app.http-cache.top-rated.max-age-seconds:60}")
+    private long topRatedMaxAgeSeconds = 60;
+
     @GetMapping
     @io.swagger.v3.oas.annotations.Operation(
         summary = "Get All Recommendations",
-        description = "Retrieve both top-rated and user-based recommendations. User-based recommendations are included only when userId is provided."
+        description = "Retrieve both top-rated and user-based recommendations. User-based recommendations are included only when userId is provided. Sections are computed concurrently; a section that times out is omitted."
     )
     @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -81,17 +88,8 @@ public class RecommendationController {
             @io.swagger.v3.oas.annotations.Parameter(description = "Number of recommendations to return", example = "10")
             @RequestParam(defaultValue = "10") int limit
     ) {
-        List<RecommendationDTO> allRecommendations = new ArrayList<>();
-        
-        // Always include top-rated books
-        allRecommendations.addAll(recommendationService.getTopRated(limit));
-        
-        // Include user-based recommendations if userId is provided
-        if (userId != null) {
-            allRecommendations.addAll(recommendationService.getUserBasedRecommendations(userId, limit));
-        }
-        
-        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(allRecommendations));
+        // Top-rated always, user-based only with a userId; sections are computed concurrently
+        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(recommendationService.getAllRecommendations(userId, limit)));
     }
 
     @GetMapping("/top-rated")
@@ -141,12 +139,25 @@ public class RecommendationController {
                         """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Not modified: the ETag in If-None-Match is still current"
         )
     })
     public ResponseEntity<com.bookverse.dto.ApiResponse<List<RecommendationDTO>>> topRated(
             @io.swagger.v3.oas.annotations.Parameter(description = "Number of top rated books to return", example = "10")
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(recommendationService.getTopRated(limit)));
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+        List<RecommendationDTO> topRated = recommendationService.getTopRated(limit);
+        String etag = ETags.of("top-rated-" + limit, topRated);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(topRatedMaxAgeSeconds)).cachePrivate())
+                .body(com.bookverse.dto.ApiResponse.ok(topRated));
     }
 
     @GetMapping("/genre-based")
@@ -312,4 +323,55 @@ public class RecommendationController {
     ) {
         return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(recommendationService.getGenreBasedFromFavorites(userId, limit)));
     }
+
+    @GetMapping("/item-based")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Get Item-Based Recommendations",
+        description = "Retrieve books most often favorited together with the user's favorite books, served from a precomputed similarity model"
+    )
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Item-based recommendations retrieved successfully",
+            content = @io.swagger.v3.oas.annotations.media.Content(
+                mediaType = "application/json",
+                schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = com.bookverse.dto.ApiResponse.class),
+                examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                    name = "Success Response",
+                    value = """
+                        {
+                          "success": true,
+                          "message": "OK",
+                          "data": [
+                            {
+                              "type": "item-based",
+                              "title": "Readers who liked your favorites also liked",
+                              "description": "Books often favorited together with yours",
+                              "books": [
+                                {
+                                  "id": 5,
+                                  "title": "The Hobbit",
+                                  "author": "J.R.R. Tolkien",
+                                  "coverImageUrl": "https://example.com/hobbit.jpg",
+                                  "averageRating": 4.4,
+                                  "reviewCount": 650
+                                }
+                              ]
+                            }
+                          ]
+                        }
+                        """
+                )
+            )
+        )
+    })
+    public ResponseEntity<com.bookverse.dto.ApiResponse<List<RecommendationDTO>>> itemBased(
+            @io.swagger.v3.oas.annotations.Parameter(description = "User ID for personalized recommendations", example = "1", required = true)
+            @RequestParam Long userId,
+            
+            @io.swagger.v3.oas.annotations.Parameter(description = "Number of recommendations to return", example = "10")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(recommendationService.getItemBasedRecommendations(userId, limit)));
+    }
 }
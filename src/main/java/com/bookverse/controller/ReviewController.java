@@ -2,9 +2,14 @@ package com.bookverse.controller;
 
 import com.bookverse.dto.*;
 import com.bookverse.service.ReviewService;
+import com.bookverse.service.catalog.CatalogExporter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
@@ -15,6 +20,7 @@ import jakarta.validation.Valid;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final CatalogExporter catalogExporter;
 
     @GetMapping("/book/{bookId}")
     @io.swagger.v3.oas.annotations.Operation(
@@ -67,9 +73,15 @@ public class ReviewController {
             @RequestParam(defaultValue = "0") int page,
             
             @io.swagger.v3.oas.annotations.Parameter(description = "Page size", example = "20")
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+
+            @io.swagger.v3.oas.annotations.Parameter(description = "Keyset cursor from pagination.nextCursor; replaces page when set")
+            @RequestParam(required = false) String cursor,
+
+            @io.swagger.v3.oas.annotations.Parameter(description = "Total count: exact, approximate or none (hasNext only)", example = "none")
+            @RequestParam(required = false) String total
     ) {
-        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(reviewService.getReviewsForBook(bookId, page, size)));
+        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(reviewService.getReviewsForBook(bookId, page, size, cursor, total)));
     }
 
     @GetMapping("/user/{userId}")
@@ -123,9 +135,15 @@ public class ReviewController {
             @RequestParam(defaultValue = "0") int page,
             
             @io.swagger.v3.oas.annotations.Parameter(description = "Page size", example = "20")
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+
+            @io.swagger.v3.oas.annotations.Parameter(description = "Keyset cursor from pagination.nextCursor; replaces page when set")
+            @RequestParam(required = false) String cursor,
+
+            @io.swagger.v3.oas.annotations.Parameter(description = "Total count: exact, approximate or none (hasNext only)", example = "none")
+            @RequestParam(required = false) String total
     ) {
-        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(reviewService.getReviewsForUser(userId, page, size)));
+        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(reviewService.getReviewsForUser(userId, page, size, cursor, total)));
     }
 
     @PostMapping("/book/{bookId}")
@@ -316,4 +334,16 @@ public class ReviewController {
         reviewService.deleteReview(reviewId, userId);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Export Reviews",
+        description = "Stream every review as newline-delimited JSON, one review per line in id order (requires ROLE_ADMIN)"
+    )
+    public ResponseEntity<StreamingResponseBody> export(WebRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reviews.ndjson\"")
+                .body(catalogExporter.streamReviews(request));
+    }
 }
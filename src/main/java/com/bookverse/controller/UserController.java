@@ -297,9 +297,15 @@ public class UserController {
             @RequestParam(defaultValue = "0") int page,
             
             @io.swagger.v3.oas.annotations.Parameter(description = "Page size", example = "20")
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+
+            @io.swagger.v3.oas.annotations.Parameter(description = "Keyset cursor from pagination.nextCursor; replaces page when set")
+            @RequestParam(required = false) String cursor,
+
+            @io.swagger.v3.oas.annotations.Parameter(description = "Total count: exact, approximate or none (hasNext only)", example = "none")
+            @RequestParam(required = false) String total
     ) {
-        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(reviewService.getReviewsForUser(id, page, size)));
+        return ResponseEntity.ok(com.bookverse.dto.ApiResponse.ok(reviewService.getReviewsForUser(id, page, size, cursor, total)));
     }
 
     @GetMapping("/{id}/favorites")
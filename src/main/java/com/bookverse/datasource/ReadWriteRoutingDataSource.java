@@ -0,0 +1,59 @@
+package com.bookverse.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections inside {@code @Transactional(readOnly = true)} and primary
+ * connections everywhere else. The read-only flag is only known once the transaction has
+ * started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers
+ * fetching the connection until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaRouter router;
+
+    public ReadWriteRoutingDataSource(ReplicaRouter router) {
+        this.router = router;
+        setTargetDataSources(router.targets());
+        setDefaultTargetDataSource(router.primary());
+        // An unknown key is a bug, not a reason to silently use the primary
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? router.nextReplica()
+                : ReplicaRouter.PRIMARY;
+    }
+
+    // A replica that refuses a connection fails over to the primary instead of failing the read
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = determineTarget(key);
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (ReplicaRouter.PRIMARY.equals(key)) {
+                throw e;
+            }
+            router.markUnavailable(key, e);
+            return router.primary().getConnection();
+        }
+    }
+
+    private DataSource determineTarget(Object key) {
+        DataSource target = getResolvedDataSources().get(key);
+        if (target == null) {
+            throw new IllegalStateException("No data source for routing key " + key);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,188 @@
+package com.bookverse.datasource;
+
+import com.bookverse.service.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses where a read-only transaction runs: round robin over the replicas that passed their
+ * last health probe and lag no more than {@code maxLagMillis} behind the primary, or the
+ * primary itself when none qualifies. Probes run on a schedule; a replica that fails to hand
+ * out a connection is also taken out of rotation until its next successful probe.
+ */
+@Slf4j
+public class ReplicaRouter implements MetricsSource, InitializingBean, DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    // Replay delay in ms; 0 when the server is not a standby or has replayed everything it received
+    static final String POSTGRES_LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private static final int PROBE_TIMEOUT_SECONDS = 5;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    // Replicas are probed in map order and named by their keys
+    public ReplicaRouter(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis) {
+        this.primary = primary;
+        List<Replica> list = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> list.add(new Replica(name, dataSource)));
+        this.replicas = Collections.unmodifiableList(list);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    // Every target by routing key, primary included
+    public Map<Object, Object> targets() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        return targets;
+    }
+
+    // Key of the replica for the next read, or PRIMARY when none is usable
+    public String nextReplica() {
+        int n = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), Math.max(n, 1));
+        for (int i = 0; i < n; i++) {
+            Replica replica = replicas.get((start + i) % n);
+            if (replica.usable(maxLagMillis)) {
+                replicaReads.increment();
+                return replica.name;
+            }
+        }
+        primaryFallbacks.increment();
+        return PRIMARY;
+    }
+
+    // A replica could not hand out a connection: skip it until a probe succeeds again
+    public void markUnavailable(Object key, SQLException cause) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(key)) {
+                failovers.increment();
+                if (replica.healthy) {
+                    log.warn("Read replica {} is unavailable, falling back to the primary: {}", key, cause.getMessage());
+                }
+                replica.healthy = false;
+            }
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        probe();
+    }
+
+    // The replica pools belong to the router; the primary is a bean of its own
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval-ms:5000}",
+            initialDelayString = "${app.datasource.replica.health-check-interval-ms:5000}")
+    public void probe() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.lagMillis = lagMillis(connection);
+                replica.healthy = true;
+                if (!wasHealthy) {
+                    log.info("Read replica {} is available (lag {} ms)", replica.name, replica.lagMillis);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.healthy = false;
+                if (wasHealthy) {
+                    log.warn("Read replica {} failed its health check: {}", replica.name, e.getMessage());
+                }
+            }
+            if (replica.healthy && replica.lagMillis > maxLagMillis) {
+                log.debug("Read replica {} lags {} ms, above the {} ms limit", replica.name, replica.lagMillis, maxLagMillis);
+            }
+        }
+    }
+
+    // Servers other than PostgreSQL cannot report replay lag; a successful query counts as caught up
+    private static long lagMillis(Connection connection) throws SQLException {
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(postgres ? POSTGRES_LAG_SQL : "SELECT 1")) {
+                if (!postgres || !rs.next()) {
+                    return 0;
+                }
+                double lag = rs.getDouble(1);
+                return rs.wasNull() ? 0 : Math.max(0, Math.round(lag));
+            }
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "dataSourceRouting";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("replicas", replicas.size());
+        metrics.put("usableReplicas", replicas.stream().filter(replica -> replica.usable(maxLagMillis)).count());
+        metrics.put("replicaReads", replicaReads.sum());
+        metrics.put("primaryFallbacks", primaryFallbacks.sum());
+        metrics.put("failovers", failovers.sum());
+        for (Replica replica : replicas) {
+            metrics.put(replica.name + ".healthy", replica.healthy ? 1 : 0);
+            metrics.put(replica.name + ".lagMillis", replica.lagMillis);
+        }
+        return metrics;
+    }
+
+    private static final class Replica {
+
+        final String name;
+        final DataSource dataSource;
+        // Unusable until the first probe succeeds
+        volatile boolean healthy;
+        volatile long lagMillis;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        boolean usable(long maxLagMillis) {
+            return healthy && lagMillis <= maxLagMillis;
+        }
+    }
+}
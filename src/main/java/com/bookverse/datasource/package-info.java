@@ -0,0 +1,5 @@
+/**
+ * Datasource package for read/write routing.
+ * Sends read-only transactions to read replicas and everything else to the primary.
+ */
+package com.bookverse.datasource;
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -21,4 +22,6 @@ public class BookDetailDTO {
     private Double averageRating;
     private Integer reviewCount;
     private List<String> genres;
+    // Star rating (1..5) to number of reviews with that rating
+    private Map<Integer, Integer> ratingDistribution;
 }
@@ -10,10 +10,20 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PaginationDTO {
-    private int page;
+    private int page; // -1 on cursor pages
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private long totalElements; // -1 when not counted
+    private int totalPages; // -1 when not counted
+    private TotalType totalType;
+    private boolean hasNext;
     private boolean first;
     private boolean last;
+    private String nextCursor; // pass back as cursor for the next page; null on the last page
+
+    // How totalElements was obtained
+    public enum TotalType {
+        EXACT,       // COUNT query or the in-memory search index
+        APPROXIMATE, // cached count or denormalized statistic, may lag recent writes
+        UNKNOWN      // not counted; rely on hasNext
+    }
 }
@@ -23,4 +23,6 @@ public class SearchCriteriaDTO {
     private String sortDirection; // asc, desc
     private Integer page;
     private Integer size;
+    private String cursor; // keyset position from a previous page; replaces page when set
+    private String total; // exact, approximate, none
 }
@@ -1,5 +1,8 @@
 package com.bookverse.entity;
 
+import com.bookverse.service.cache.BookCacheListener;
+import com.bookverse.service.genre.GenreBitmapIndexListener;
+import com.bookverse.service.search.BookSearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -14,10 +17,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners({BookSearchIndexListener.class, GenreBitmapIndexListener.class, BookCacheListener.class})
 @Table(name = "books", indexes = {
     @Index(name = "idx_book_title", columnList = "title"),
     @Index(name = "idx_book_author", columnList = "author"),
-    @Index(name = "idx_book_published_year", columnList = "published_year")
+    @Index(name = "idx_book_published_year", columnList = "published_year"),
+    @Index(name = "idx_book_average_rating", columnList = "average_rating, id")
 })
 @Data
 @NoArgsConstructor
@@ -59,6 +64,26 @@ public class Book {
     @Column(name = "review_count")
     private Integer reviewCount;
 
+    // Sum of all review ratings, so averageRating can be maintained from deltas
+    @Column(name = "rating_sum")
+    private Long ratingSum;
+
+    // Review counts per star rating, so the distribution needs no GROUP BY over reviews
+    @Column(name = "rating_1_count")
+    private Integer rating1Count;
+
+    @Column(name = "rating_2_count")
+    private Integer rating2Count;
+
+    @Column(name = "rating_3_count")
+    private Integer rating3Count;
+
+    @Column(name = "rating_4_count")
+    private Integer rating4Count;
+
+    @Column(name = "rating_5_count")
+    private Integer rating5Count;
+
     // Relationships
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Review> reviews = new ArrayList<>();
@@ -109,17 +134,45 @@ public class Book {
         return reviewCount != null ? reviewCount : 0;
     }
 
-    // Update calculated fields when reviews change
+    // Counts indexed by star rating; index 0 is unused
+    public int[] getRatingHistogram() {
+        return new int[]{0, count(rating1Count), count(rating2Count), count(rating3Count),
+                count(rating4Count), count(rating5Count)};
+    }
+
+    private static int count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    // Recompute calculated fields from the loaded reviews; review writes use BookRatingAggregator instead
     public void updateRatingStats() {
         if (reviews == null || reviews.isEmpty()) {
             this.averageRating = 0.0;
             this.reviewCount = 0;
+            this.ratingSum = 0L;
+            setRatingHistogram(new int[6]);
         } else {
             this.reviewCount = reviews.size();
-            this.averageRating = reviews.stream()
-                    .mapToInt(Review::getRating)
-                    .average()
-                    .orElse(0.0);
+            this.ratingSum = reviews.stream()
+                    .mapToLong(Review::getRating)
+                    .sum();
+            this.averageRating = (double) ratingSum / reviewCount;
+            int[] histogram = new int[6];
+            for (Review review : reviews) {
+                Integer rating = review.getRating();
+                if (rating != null && rating >= 1 && rating <= 5) {
+                    histogram[rating]++;
+                }
+            }
+            setRatingHistogram(histogram);
         }
     }
+
+    private void setRatingHistogram(int[] histogram) {
+        this.rating1Count = histogram[1];
+        this.rating2Count = histogram[2];
+        this.rating3Count = histogram[3];
+        this.rating4Count = histogram[4];
+        this.rating5Count = histogram[5];
+    }
 }
@@ -0,0 +1,35 @@
+package com.bookverse.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Progress of one catalog import, committed with each batch so a failed import resumes where it stopped
+@Entity
+@Table(name = "catalog_import_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogImportCheckpoint {
+
+    // Import source, by default the absolute path of the input file
+    @Id
+    @Column(name = "source", length = 512)
+    private String source;
+
+    // Input records consumed so far, imported or rejected; a resumed import skips this many
+    @Column(name = "records_read", nullable = false)
+    private Long recordsRead;
+
+    @Column(name = "books_imported", nullable = false)
+    private Long booksImported;
+
+    @Column(name = "records_rejected", nullable = false)
+    private Long recordsRejected;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
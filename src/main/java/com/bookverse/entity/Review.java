@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,7 +16,9 @@ import java.time.LocalDateTime;
     @Index(name = "idx_review_book_id", columnList = "book_id"),
     @Index(name = "idx_review_user_id", columnList = "user_id"),
     @Index(name = "idx_review_created_at", columnList = "created_at"),
-    @Index(name = "idx_review_rating", columnList = "rating")
+    @Index(name = "idx_review_rating", columnList = "rating"),
+    @Index(name = "idx_review_book_created_id", columnList = "book_id, created_at, id"),
+    @Index(name = "idx_review_user_created_id", columnList = "user_id, created_at, id")
 })
 @Data
 @NoArgsConstructor
@@ -54,16 +57,18 @@ public class Review {
     private LocalDateTime updatedAt;
 
     // Helper methods
+    // The inverse collections are only kept in step when already loaded; initializing one
+    // just to add this review would read every review of the book or user
     public void setBook(Book book) {
         this.book = book;
-        if (book != null && !book.getReviews().contains(this)) {
+        if (book != null && Hibernate.isInitialized(book.getReviews()) && !book.getReviews().contains(this)) {
             book.addReview(this);
         }
     }
 
     public void setUser(User user) {
         this.user = user;
-        if (user != null && !user.getReviews().contains(this)) {
+        if (user != null && Hibernate.isInitialized(user.getReviews()) && !user.getReviews().contains(this)) {
             user.addReview(this);
         }
     }
@@ -0,0 +1,44 @@
+package com.bookverse.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// A logged-out token, stored as its digest; ids only grow, so they double as the change watermark
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_revoked_token_digest", columnNames = {"digest_high", "digest_low"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "digest_high", nullable = false)
+    private Long digestHigh;
+
+    @Column(name = "digest_low", nullable = false)
+    private Long digestLow;
+
+    // Bloom filter fingerprint, so other instances can add the token to their filters
+    @Column(name = "fingerprint", nullable = false)
+    private Long fingerprint;
+
+    // UTC
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
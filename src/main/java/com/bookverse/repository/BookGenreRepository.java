@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,18 +18,22 @@ public interface BookGenreRepository extends JpaRepository<BookGenre, Long> {
     // Find all genres for a book
     List<BookGenre> findByBookId(Long bookId);
 
+    // (bookId, genre) pairs for a batch of books
+    @Query("SELECT g.book.id, g.genre FROM BookGenre g WHERE g.book.id IN :bookIds")
+    List<Object[]> findGenresByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    // (id, bookId, genre) in id order, for (re)building the genre bitmaps
+    @Query("SELECT g.id, g.book.id, g.genre FROM BookGenre g WHERE g.id > :afterId ORDER BY g.id")
+    List<Object[]> findGenreRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     // Paginated books by a single genre
-    @Query("SELECT DISTINCT b FROM Book b JOIN b.genres g WHERE g.genre = :genre")
+    @Query("SELECT b FROM Book b WHERE EXISTS (SELECT g.id FROM BookGenre g WHERE g.book = b AND g.genre = :genre)")
     Page<Book> findBooksByGenre(@Param("genre") BookGenre.Genre genre, Pageable pageable);
 
     // Paginated books by multiple genres (ANY match)
-    @Query("SELECT DISTINCT b FROM Book b JOIN b.genres g WHERE g.genre IN :genres")
+    @Query("SELECT b FROM Book b WHERE EXISTS (SELECT g.id FROM BookGenre g WHERE g.book = b AND g.genre IN :genres)")
     Page<Book> findBooksByGenres(@Param("genres") List<BookGenre.Genre> genres, Pageable pageable);
 
-    // Count books by a genre
-    @Query("SELECT COUNT(DISTINCT b) FROM Book b JOIN b.genres g WHERE g.genre = :genre")
-    long countBooksByGenre(@Param("genre") BookGenre.Genre genre);
-
     // Popular genres by book count (top-N via Pageable size)
     @Query("SELECT g.genre as genre, COUNT(DISTINCT g.book.id) as cnt FROM BookGenre g GROUP BY g.genre ORDER BY cnt DESC")
     Page<Object[]> findTopGenres(Pageable pageable);
@@ -4,25 +4,54 @@ import com.bookverse.entity.Book;
 import com.bookverse.entity.BookGenre;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
 
-    @Query("SELECT DISTINCT b FROM Book b " +
-           "LEFT JOIN b.genres g " +
+    // Shared by findBooks, its slice variant and countBooks. The genre filter is an EXISTS
+    // rather than a join, so each book matches once and no DISTINCT is needed
+    String SEARCH_FROM = "FROM Book b " +
            "WHERE (:title IS NULL OR :title = '' OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) " +
            "AND (:author IS NULL OR :author = '' OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))) " +
            "AND (:minYear IS NULL OR b.publishedYear >= :minYear) " +
            "AND (:maxYear IS NULL OR b.publishedYear <= :maxYear) " +
            "AND (:minRating IS NULL OR COALESCE(b.averageRating, 0.0) >= :minRating) " +
-           "AND (:genres IS NULL OR g.genre IN :genres)")
-    Page<Book> findBooks(
+           "AND (:genres IS NULL OR EXISTS (SELECT g.id FROM BookGenre g WHERE g.book = b AND g.genre IN :genres))";
+
+    // The book with its genres in one query, so it maps to a DTO outside a transaction.
+    // Read-only, so with replicas configured it is served by one, except inside the read-write
+    // transaction BookCache loads run in
+    @EntityGraph(attributePaths = "genres")
+    @Transactional(readOnly = true)
+    Optional<Book> findWithGenresById(Long id);
+
+    // Summaries only: no entities, no description column; the count repeats the filters without the projection
+    @Query(value = BookSummary.SELECT + SEARCH_FROM,
+           countQuery = "SELECT COUNT(b) " + SEARCH_FROM)
+    Page<BookSummary> findBooks(
+        @Param("title") String title,
+        @Param("author") String author,
+        @Param("genres") List<BookGenre.Genre> genres,
+        @Param("minYear") Integer minYear,
+        @Param("maxYear") Integer maxYear,
+        @Param("minRating") Double minRating,
+        Pageable pageable);
+
+    // Same search without the COUNT: fetches one row past the page to learn hasNext
+    @Query(BookSummary.SELECT + SEARCH_FROM)
+    Slice<BookSummary> findBooksSlice(
         @Param("title") String title,
         @Param("author") String author,
         @Param("genres") List<BookGenre.Genre> genres,
@@ -31,6 +60,72 @@ public interface BookRepository extends JpaRepository<Book, Long> {
         @Param("minRating") Double minRating,
         Pageable pageable);
 
-    @Query("SELECT b FROM Book b ORDER BY COALESCE(b.averageRating, 0.0) DESC")
-    Page<Book> findTopRatedBooks(Pageable pageable);
+    @Query("SELECT COUNT(b) " + SEARCH_FROM)
+    long countBooks(
+        @Param("title") String title,
+        @Param("author") String author,
+        @Param("genres") List<BookGenre.Genre> genres,
+        @Param("minYear") Integer minYear,
+        @Param("maxYear") Integer maxYear,
+        @Param("minRating") Double minRating);
+
+    // Denormalized review count, used as an approximate total for a book's review listing
+    @Query("SELECT b.reviewCount FROM Book b WHERE b.id = :bookId")
+    Integer findReviewCountById(@Param("bookId") Long bookId);
+
+    @Query(value = BookSummary.SELECT + "FROM Book b ORDER BY COALESCE(b.averageRating, 0.0) DESC",
+           countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookSummary> findTopRatedBooks(Pageable pageable);
+
+    // Sorted by the pageable, like findAll(Pageable) but without hydrating entities
+    @Query(BookSummary.SELECT + "FROM Book b")
+    List<BookSummary> findSummaries(Pageable pageable);
+
+    // In no particular order; callers that need one reorder by id
+    @Query(BookSummary.SELECT + "FROM Book b WHERE b.id IN :bookIds")
+    List<BookSummary> findSummariesByIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    // (id, rating) of the best rated books in any of the genres; just enough to score recommendation candidates
+    @Query("SELECT b.id, COALESCE(b.averageRating, 0.0) FROM Book b " +
+           "WHERE EXISTS (SELECT g.id FROM BookGenre g WHERE g.book = b AND g.genre IN :genres) " +
+           "ORDER BY COALESCE(b.averageRating, 0.0) DESC, b.id")
+    List<Object[]> findRecommendationCandidates(@Param("genres") Collection<BookGenre.Genre> genres, Pageable pageable);
+
+    // Applies a review write as deltas in one statement; SET expressions all read the pre-update row,
+    // so concurrent writers serialize on the row lock without reloading any reviews.
+    // removedRating/addedRating pick the histogram buckets to shift, 0 for none
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET " +
+           "b.reviewCount = COALESCE(b.reviewCount, 0) + :countDelta, " +
+           "b.ratingSum = COALESCE(b.ratingSum, 0) + :sumDelta, " +
+           "b.averageRating = CASE WHEN COALESCE(b.reviewCount, 0) + :countDelta > 0 " +
+           "THEN (COALESCE(b.ratingSum, 0) + :sumDelta) * 1.0 / (COALESCE(b.reviewCount, 0) + :countDelta) " +
+           "ELSE 0.0 END, " +
+           "b.rating1Count = COALESCE(b.rating1Count, 0) + CASE WHEN :addedRating = 1 THEN 1 ELSE 0 END " +
+           "- CASE WHEN :removedRating = 1 THEN 1 ELSE 0 END, " +
+           "b.rating2Count = COALESCE(b.rating2Count, 0) + CASE WHEN :addedRating = 2 THEN 1 ELSE 0 END " +
+           "- CASE WHEN :removedRating = 2 THEN 1 ELSE 0 END, " +
+           "b.rating3Count = COALESCE(b.rating3Count, 0) + CASE WHEN :addedRating = 3 THEN 1 ELSE 0 END " +
+           "- CASE WHEN :removedRating = 3 THEN 1 ELSE 0 END, " +
+           "b.rating4Count = COALESCE(b.rating4Count, 0) + CASE WHEN :addedRating = 4 THEN 1 ELSE 0 END " +
+           "- CASE WHEN :removedRating = 4 THEN 1 ELSE 0 END, " +
+           "b.rating5Count = COALESCE(b.rating5Count, 0) + CASE WHEN :addedRating = 5 THEN 1 ELSE 0 END " +
+           "- CASE WHEN :removedRating = 5 THEN 1 ELSE 0 END " +
+           "WHERE b.id = :bookId")
+    int applyRatingDelta(@Param("bookId") Long bookId,
+                         @Param("countDelta") int countDelta,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("removedRating") int removedRating,
+                         @Param("addedRating") int addedRating);
+
+    @Query("SELECT b.averageRating, b.reviewCount FROM Book b WHERE b.id = :bookId")
+    List<Object[]> findRatingStats(@Param("bookId") Long bookId);
+
+    @Query("SELECT b.id, b.averageRating, b.reviewCount FROM Book b WHERE b.id IN :bookIds")
+    List<Object[]> findRatingStatsByIds(@Param("bookIds") Collection<Long> bookIds);
+
+    // Searchable columns in id order, for (re)building the in-memory search index
+    @Query("SELECT b.id, b.title, b.author, b.publishedYear, b.averageRating, b.reviewCount " +
+           "FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findIndexRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
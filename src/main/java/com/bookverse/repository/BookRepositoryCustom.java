@@ -0,0 +1,13 @@
+package com.bookverse.repository;
+
+import com.bookverse.dto.SearchCriteriaDTO;
+import com.bookverse.service.paging.SeekCursor;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    // Same filters as findBooks, seeking past (sort value, id) instead of using OFFSET and COUNT
+    List<BookSummary> findBooksAfter(SearchCriteriaDTO criteria, Sort.Order order, SeekCursor after, int limit);
+}
@@ -0,0 +1,87 @@
+package com.bookverse.repository;
+
+import com.bookverse.dto.SearchCriteriaDTO;
+import com.bookverse.service.paging.SeekCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BookRepositoryImpl implements BookRepositoryCustom {
+
+    // Sortable columns; the property name is spliced into JPQL so it must come from this set
+    private static final Set<String> SEEK_COLUMNS = Set.of("title", "author", "publishedYear", "averageRating", "id");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookSummary> findBooksAfter(SearchCriteriaDTO criteria, Sort.Order order, SeekCursor after, int limit) {
+        String column = order.getProperty();
+        if (!SEEK_COLUMNS.contains(column)) {
+            throw new IllegalArgumentException("Unsupported sort: " + column);
+        }
+        // Unrated books seek and sort as 0.0, matching the minRating filter and the entity getter
+        String expression = column.equals("averageRating") ? "COALESCE(b.averageRating, 0.0)" : "b." + column;
+        StringBuilder jpql = new StringBuilder(BookSummary.SELECT + "FROM Book b WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (StringUtils.hasText(criteria.getQuery())) {
+            jpql.append(" AND LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))");
+            params.put("title", criteria.getQuery());
+        }
+        if (StringUtils.hasText(criteria.getAuthor())) {
+            jpql.append(" AND LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))");
+            params.put("author", criteria.getAuthor());
+        }
+        if (criteria.getMinYear() != null) {
+            jpql.append(" AND b.publishedYear >= :minYear");
+            params.put("minYear", criteria.getMinYear());
+        }
+        if (criteria.getMaxYear() != null) {
+            jpql.append(" AND b.publishedYear <= :maxYear");
+            params.put("maxYear", criteria.getMaxYear());
+        }
+        if (criteria.getMinRating() != null) {
+            jpql.append(" AND COALESCE(b.averageRating, 0.0) >= :minRating");
+            params.put("minRating", criteria.getMinRating());
+        }
+        if (criteria.getGenres() != null && !criteria.getGenres().isEmpty()) {
+            // EXISTS instead of JOIN + DISTINCT keeps one row per book without a sort on the whole result
+            jpql.append(" AND EXISTS (SELECT g.id FROM BookGenre g WHERE g.book = b AND g.genre IN :genres)");
+            params.put("genres", criteria.getGenres());
+        }
+
+        String cmp = order.isDescending() ? "<" : ">";
+        String direction = order.isDescending() ? "DESC" : "ASC";
+        if (after != null) {
+            if (column.equals("id")) {
+                jpql.append(" AND b.id ").append(cmp).append(" :afterId");
+            } else {
+                jpql.append(" AND (").append(expression).append(' ').append(cmp).append(" :afterValue")
+                        .append(" OR (").append(expression).append(" = :afterValue AND b.id ").append(cmp).append(" :afterId))");
+                params.put("afterValue", switch (column) {
+                    case "publishedYear" -> after.intValue();
+                    case "averageRating" -> after.doubleValue();
+                    default -> after.value();
+                });
+            }
+            params.put("afterId", after.id());
+        }
+        if (!column.equals("id")) {
+            jpql.append(" ORDER BY ").append(expression).append(' ').append(direction).append(", b.id ").append(direction);
+        } else {
+            jpql.append(" ORDER BY b.id ").append(direction);
+        }
+
+        TypedQuery<BookSummary> query = entityManager.createQuery(jpql.toString(), BookSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.bookverse.repository;
+
+/**
+ * The columns a book list view shows, selected with a JPQL constructor expression so list
+ * queries neither hydrate {@code Book} entities nor read the {@code description} TEXT column.
+ * Genres are loaded for the whole page separately.
+ */
+public record BookSummary(Long id, String title, String author, String coverImageUrl,
+                          Integer publishedYear, Double averageRating, Integer reviewCount) {
+
+    // Constructor expression shared by every summary query; b is the Book alias
+    static final String SELECT = "SELECT new com.bookverse.repository.BookSummary(" +
+            "b.id, b.title, b.author, b.coverImageUrl, b.publishedYear, b.averageRating, b.reviewCount) ";
+
+    // Unrated books read as 0.0 and 0, like the entity getters
+    public BookSummary {
+        averageRating = averageRating != null ? averageRating : 0.0;
+        reviewCount = reviewCount != null ? reviewCount : 0;
+    }
+}
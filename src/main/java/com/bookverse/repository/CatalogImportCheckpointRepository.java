@@ -0,0 +1,9 @@
+package com.bookverse.repository;
+
+import com.bookverse.entity.CatalogImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogImportCheckpointRepository extends JpaRepository<CatalogImportCheckpoint, String> {
+}
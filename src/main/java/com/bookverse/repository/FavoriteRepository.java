@@ -39,6 +39,14 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     // Count favorites by user
     long countByUserId(Long userId);
     
+    // Book ids a user has favorited, without loading the books
+    @Query("SELECT f.book.id FROM Favorite f WHERE f.user.id = :userId")
+    List<Long> findBookIdsByUserId(@Param("userId") Long userId);
+
+    // (favorite id, user id, book id) in id order, for building the item similarity model
+    @Query("SELECT f.id, f.user.id, f.book.id FROM Favorite f WHERE f.id > :afterId ORDER BY f.id")
+    List<Object[]> findFavoriteRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     // Find most favorited books
     @Query("SELECT f.book.id, COUNT(f) as count FROM Favorite f GROUP BY f.book.id ORDER BY count DESC")
     Page<Object[]> findMostFavoritedBooks(Pageable pageable);
@@ -3,11 +3,13 @@ package com.bookverse.repository;
 import com.bookverse.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,6 +21,28 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Find reviews by user
     Page<Review> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     
+    // Slice variants skip the COUNT and fetch one row past the page instead
+    Slice<Review> findSliceByBookIdOrderByCreatedAtDesc(Long bookId, Pageable pageable);
+
+    Slice<Review> findSliceByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    // Keyset pages, newest first: reviews strictly older than the (createdAt, id) of the last row served
+    @Query("SELECT r FROM Review r WHERE r.book.id = :bookId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findByBookIdBefore(@Param("bookId") Long bookId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.user.id = :userId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findByUserIdBefore(@Param("userId") Long userId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
     // Find reviews by book and user
     List<Review> findByBookIdAndUserId(Long bookId, Long userId);
     
@@ -0,0 +1,39 @@
+package com.bookverse.repository;
+
+import com.bookverse.entity.RevokedToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByDigestHighAndDigestLow(Long digestHigh, Long digestLow);
+
+    // Revocations recorded after the watermark, in id order, for polling
+    @Query("SELECT r FROM RevokedToken r WHERE r.id > :afterId ORDER BY r.id")
+    List<RevokedToken> findRevokedAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Still-live revocations in (afterId, upToId], in id order, for the initial load
+    @Query("SELECT r FROM RevokedToken r WHERE r.id > :afterId AND r.id <= :upToId AND r.expiresAt > :now ORDER BY r.id")
+    List<RevokedToken> findActiveBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId,
+                                         @Param("now") LocalDateTime now, Pageable pageable);
+
+    List<RevokedToken> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM RevokedToken r")
+    Long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,6 +3,7 @@ package com.bookverse.security;
 import com.bookverse.entity.User;
 import com.bookverse.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,25 +13,44 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    // Accounts granted ROLE_ADMIN on top of ROLE_USER (operational endpoints: metrics, exports)
+    @Value("${app.security.admin-emails:}")
+    private Set<String> adminEmails = Set.of();
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (username == null) {
+            return loadFromDatabase(null);
+        }
+        // Copied per call: authentication may erase credentials on the instance it is given
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(userDetailsCache.get(username, () -> loadFromDatabase(username)))
+                .build();
+    }
+
+    private UserDetails loadFromDatabase(String username) {
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
-                getAuthorities()
+                getAuthorities(user.getEmail())
         );
     }
 
-    private Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private Collection<? extends GrantedAuthority> getAuthorities(String email) {
+        boolean admin = adminEmails.stream().anyMatch(adminEmail -> adminEmail.trim().equalsIgnoreCase(email));
+        return admin
+                ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                : List.of(new SimpleGrantedAuthority("ROLE_USER"));
     }
 }
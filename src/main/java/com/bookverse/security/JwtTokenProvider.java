@@ -1,31 +1,63 @@
 package com.bookverse.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 @Component
 public class JwtTokenProvider {
 
     private final SecretKey secretKey;
     private final long validityInMillis;
+    // Thread-safe and immutable, so one parser serves every request
+    private final JwtParser parser;
+    // SHA-256 of a verified token -> its claims, so repeat requests skip signature checks
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final int maxCachedTokens;
+    private final LongSupplier clock;
 
+    public JwtTokenProvider(String secret, long validityInMillis) {
+        this(secret, validityInMillis, 10000);
+    }
+
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long validityInMillis
+            @Value("${jwt.expiration}") long validityInMillis,
+            @Value("${jwt.verified-cache.max-entries:10000}") int maxCachedTokens
     ) {
+        this(secret, validityInMillis, maxCachedTokens, System::currentTimeMillis);
+    }
+
+    JwtTokenProvider(String secret, long validityInMillis, int maxCachedTokens, LongSupplier clock) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.validityInMillis = validityInMillis;
+        this.maxCachedTokens = maxCachedTokens;
+        this.clock = clock;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .clock(() -> new Date(clock.getAsLong()))
+                .build();
     }
 
     public String generateToken(String subject) {
-        Date now = new Date();
+        Date now = new Date(clock.getAsLong());
         Date expiry = new Date(now.getTime() + validityInMillis);
         return Jwts.builder()
                 .setSubject(subject)
@@ -35,24 +67,72 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its claims, or empty if it is invalid or expired.
+     * Verified tokens are remembered until they expire, so a repeat call costs one hash.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        long now = clock.getAsLong();
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return Optional.of(cached.claims());
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
+        Claims claims;
         try {
-            getClaims(token);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
-            return false;
+            return Optional.empty();
         }
+        // Tokens without an expiry are still accepted but never cached, so the cache stays bounded in time
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            remember(key, new VerifiedToken(claims, expiration.getTime()), now);
+        }
+        return Optional.of(claims);
+    }
+
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
     }
 
     public String getSubject(String token) {
-        return getClaims(token).getSubject();
+        return parseClaims(token)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid token"))
+                .getSubject();
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private void remember(String key, VerifiedToken token, long now) {
+        if (verifiedTokens.size() >= maxCachedTokens) {
+            verifiedTokens.values().removeIf(t -> t.expiresAt() <= now);
+            if (verifiedTokens.size() >= maxCachedTokens) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(key, token);
+    }
+
+    int cachedTokenCount() {
+        return verifiedTokens.size();
+    }
+
+    // Keyed by hash so the cache never holds usable bearer tokens
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
     }
 }
@@ -0,0 +1,93 @@
+package com.bookverse.security;
+
+import com.bookverse.service.MetricsSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles login attempts per client IP and per account before any lookup or password check,
+ * so credential stuffing is refused for the price of two map reads.
+ */
+@Component
+public class LoginRateLimiter implements MetricsSource {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter perIp;
+    private final TokenBucketLimiter perAccount;
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByAccount = new LongAdder();
+
+    @Autowired
+    public LoginRateLimiter(@Value("${app.security.login-rate-limit.enabled:true}") boolean enabled,
+                            @Value("${app.security.login-rate-limit.per-ip.capacity:20}") int ipCapacity,
+                            @Value("${app.security.login-rate-limit.per-ip.refill-per-minute:20}") int ipRefillPerMinute,
+                            @Value("${app.security.login-rate-limit.per-account.capacity:5}") int accountCapacity,
+                            @Value("${app.security.login-rate-limit.per-account.refill-per-minute:5}") int accountRefillPerMinute,
+                            @Value("${app.security.login-rate-limit.max-keys:100000}") int maxKeys) {
+        this(enabled, ipCapacity, ipRefillPerMinute, accountCapacity, accountRefillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    LoginRateLimiter(boolean enabled, int ipCapacity, int ipRefillPerMinute, int accountCapacity,
+                     int accountRefillPerMinute, int maxKeys, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.perIp = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute, maxKeys, nanoClock);
+        this.perAccount = new TokenBucketLimiter(accountCapacity, accountRefillPerMinute, maxKeys, nanoClock);
+    }
+
+    /**
+     * Records one login attempt. Returns 0 when it may proceed, otherwise the seconds the
+     * client should wait. A refused IP does not also spend the account's allowance.
+     */
+    public long tryAcquire(String clientIp, String email) {
+        if (!enabled) {
+            return 0;
+        }
+        long waitNanos = perIp.tryAcquire(clientIp != null ? clientIp : "unknown");
+        if (waitNanos > 0) {
+            rejectedByIp.increment();
+            return toRetrySeconds(waitNanos);
+        }
+        if (email != null) {
+            waitNanos = perAccount.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+            if (waitNanos > 0) {
+                rejectedByAccount.increment();
+                return toRetrySeconds(waitNanos);
+            }
+        }
+        return 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.login-rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdleKeys() {
+        perIp.evictIdle();
+        perAccount.evictIdle();
+    }
+
+    @Override
+    public String metricsName() {
+        return "loginRateLimit";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("ipKeys", perIp.size());
+        metrics.put("accountKeys", perAccount.size());
+        metrics.put("rejectedByIp", rejectedByIp.sum());
+        metrics.put("rejectedByAccount", rejectedByAccount.sum());
+        return metrics;
+    }
+
+    private static long toRetrySeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
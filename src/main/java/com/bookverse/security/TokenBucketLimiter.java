@@ -0,0 +1,70 @@
+package com.bookverse.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key, kept as a single "theoretical arrival time" (GCRA): each attempt pushes
+ * the key's time forward by one refill interval, and an attempt is refused while that time is
+ * more than a full bucket ahead of now. One CAS per attempt, no locks, no per-key timers.
+ */
+public final class TokenBucketLimiter {
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = intervalNanos * (capacity - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    // Returns 0 when the attempt may proceed, otherwise the nanos until it would be allowed
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrival = buckets.get(key);
+        if (arrival == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle();
+                if (buckets.size() >= maxKeys) {
+                    // Memory stays bounded under a key spray; other limits still apply
+                    return 0;
+                }
+            }
+            arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long ahead = start - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (arrival.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Drops keys whose bucket has refilled completely; they behave exactly like unseen keys
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(arrival -> arrival.get() <= now);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,87 @@
+package com.bookverse.security;
+
+import com.bookverse.service.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived {@link UserDetails} by email, so authenticating a request does not read the
+ * users table each time. Writers to a user row must {@link #evict} its email.
+ */
+@Component
+public class UserDetailsCache implements MetricsSource {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserDetailsCache(@Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds,
+                            @Value("${app.security.user-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public UserDetails get(String email, Supplier<UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.increment();
+            return entry.userDetails();
+        }
+        misses.increment();
+        // Lookups that throw (unknown user) are not cached
+        UserDetails userDetails = loader.get();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(email, new Entry(userDetails, now + ttlMillis));
+        return userDetails;
+    }
+
+    public void evict(String email) {
+        entries.remove(email);
+        evictions.increment();
+        // A request racing the writer may re-cache the old row before commit, so evict again after it
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(email);
+                }
+            });
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "userDetailsCache";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("size", entries.size());
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("evictions", evictions.sum());
+        return metrics;
+    }
+
+    private record Entry(UserDetails userDetails, long expiresAt) {
+    }
+}
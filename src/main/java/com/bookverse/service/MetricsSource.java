@@ -0,0 +1,11 @@
+package com.bookverse.service;
+
+import java.util.Map;
+
+/**
+ * A component that reports its own counters, published together under /health/metrics.
+ */
+public interface MetricsSource {
+    String metricsName();
+    Map<String, Number> metrics();
+}
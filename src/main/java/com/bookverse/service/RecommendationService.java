@@ -5,8 +5,10 @@ import com.bookverse.dto.RecommendationDTO;
 import java.util.List;
 
 public interface RecommendationService {
+    List<RecommendationDTO> getAllRecommendations(Long userId, int limit);
     List<RecommendationDTO> getTopRated(int limit);
     List<RecommendationDTO> getUserBasedRecommendations(Long userId, int limit);
     List<RecommendationDTO> getGenreBased(int limit);
     List<RecommendationDTO> getGenreBasedFromFavorites(Long userId, int limit);
+    List<RecommendationDTO> getItemBasedRecommendations(Long userId, int limit);
 }
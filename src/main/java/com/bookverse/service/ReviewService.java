@@ -10,5 +10,7 @@ public interface ReviewService {
     ReviewDTO updateReview(Long reviewId, Long userId, ReviewUpdateDTO request);
     void deleteReview(Long reviewId, Long userId);
     PageResponse<ReviewDTO> getReviewsForBook(Long bookId, int page, int size);
+    PageResponse<ReviewDTO> getReviewsForBook(Long bookId, int page, int size, String cursor, String total);
     PageResponse<ReviewDTO> getReviewsForUser(Long userId, int page, int size);
+    PageResponse<ReviewDTO> getReviewsForUser(Long userId, int page, int size, String cursor, String total);
 }
@@ -0,0 +1,173 @@
+package com.bookverse.service.blacklist;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over revoked tokens, split into generations by token expiry so whole
+ * generations can be wiped once every token in them has expired, instead of the filter
+ * filling up forever. A negative answer is definite; a positive one must be confirmed
+ * against the exact set.
+ *
+ * Generation {@code g} holds tokens expiring in epoch {@code e} with {@code e mod n == g},
+ * where an epoch is {@code window / (n - 1)} long, so the n generations cover one token
+ * lifetime with a spare to rotate into. Lookups hash the token's tail only; no digest or map.
+ */
+public final class GenerationalBloomFilter {
+
+    // Covers an HS256 signature plus part of the payload
+    private static final int HASHED_TAIL = 64;
+
+    private final Generation[] generations;
+    private final long epochMillis;
+    private final int hashes;
+    private final int mask;
+
+    public GenerationalBloomFilter(int expectedInsertions, double falsePositiveRate, int generationCount, long windowMillis) {
+        if (generationCount < 2 || expectedInsertions <= 0 || windowMillis <= 0
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter configuration");
+        }
+        this.epochMillis = Math.max(1, windowMillis / (generationCount - 1));
+        // Each generation sees roughly one epoch's share of the window's insertions
+        long perGeneration = Math.max(1, (long) Math.ceil((double) expectedInsertions / (generationCount - 1)));
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-perGeneration * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int bits = (int) Math.min(1L << 30, Math.max(64, Long.highestOneBit(optimalBits - 1) << 1));
+        this.mask = bits - 1;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / perGeneration * ln2));
+        this.generations = new Generation[generationCount];
+        for (int i = 0; i < generationCount; i++) {
+            generations[i] = new Generation(bits >>> 6);
+        }
+    }
+
+    public void put(String token, long expiresAtMillis) {
+        put(fingerprint(token), expiresAtMillis);
+    }
+
+    public void put(long fingerprint, long expiresAtMillis) {
+        long h2 = mix(fingerprint) | 1;
+        long epoch = Math.floorDiv(expiresAtMillis, epochMillis);
+        Generation generation = generations[Math.floorMod(epoch, generations.length)];
+        synchronized (generation) {
+            generation.expiresBefore = Math.max(generation.expiresBefore, expiresAtMillis);
+            for (int i = 0; i < hashes; i++) {
+                generation.set((int) ((fingerprint + i * h2) & mask));
+            }
+            generation.count++;
+        }
+    }
+
+    public boolean mightContain(String token) {
+        // With no logouts at all there is nothing to hash against
+        for (Generation generation : generations) {
+            if (generation.count > 0) {
+                return mightContain(fingerprint(token));
+            }
+        }
+        return false;
+    }
+
+    public boolean mightContain(long fingerprint) {
+        long h2 = mix(fingerprint) | 1;
+        for (Generation generation : generations) {
+            if (generation.count > 0 && generation.containsAll(fingerprint, h2, hashes, mask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Wipes every generation whose tokens have all expired
+    public int expire(long nowMillis) {
+        int cleared = 0;
+        for (Generation generation : generations) {
+            synchronized (generation) {
+                if (generation.count > 0 && generation.expiresBefore <= nowMillis) {
+                    generation.clear();
+                    cleared++;
+                }
+            }
+        }
+        return cleared;
+    }
+
+    public int bitsPerGeneration() {
+        return mask + 1;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    /*
+     * Hashes only the token's tail, four chars per multiply. A signed JWT ends in its
+     * signature (43 chars for HS256), which is already a keyed hash of everything before it,
+     * so the tail tells tokens apart as well as the whole string does at a fraction of the cost.
+     * Not a secret: it is stored alongside the digest so other nodes can fill their filters.
+     */
+    public static long fingerprint(String token) {
+        int length = token.length();
+        int i = Math.max(0, length - HASHED_TAIL);
+        long h = 0x9e3779b97f4a7c15L ^ length;
+        for (; i + 4 <= length; i += 4) {
+            long chunk = token.charAt(i)
+                    | (long) token.charAt(i + 1) << 16
+                    | (long) token.charAt(i + 2) << 32
+                    | (long) token.charAt(i + 3) << 48;
+            h = Long.rotateLeft(h ^ chunk * 0x87c37b91114253d5L, 31) * 0x4cf5ad432745937fL;
+        }
+        for (; i < length; i++) {
+            h = (h ^ token.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+        // Written under the generation's lock, read without it on lookups
+        private volatile int count;
+        private long expiresBefore = Long.MIN_VALUE;
+
+        private Generation(int wordCount) {
+            this.words = new AtomicLongArray(wordCount);
+        }
+
+        private void set(int bit) {
+            long flag = 1L << bit;
+            int word = bit >>> 6;
+            long current = words.get(word);
+            while ((current & flag) == 0 && !words.compareAndSet(word, current, current | flag)) {
+                current = words.get(word);
+            }
+        }
+
+        private boolean containsAll(long h1, long h2, int hashes, int mask) {
+            for (int i = 0; i < hashes; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void clear() {
+            for (int i = 0; i < words.length(); i++) {
+                words.set(i, 0);
+            }
+            count = 0;
+            expiresBefore = Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookverse.service.blacklist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel of expiry deadlines. A key scheduled for tick {@code t} sits in bucket
+ * {@code t & mask}; advancing the clock only visits the buckets of the ticks that passed, so
+ * eviction costs O(expired + ticks) instead of a scan of every entry.
+ *
+ * Deadlines further out than one revolution share buckets with nearer ones and are skipped
+ * until their own tick comes round.
+ */
+public final class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Slot<K>>[] buckets;
+    private final int mask;
+    // First tick not yet processed
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        int buckets = Integer.highestOneBit(wheelSize);
+        if (buckets < wheelSize) {
+            buckets <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = (List<Slot<K>>[]) new List<?>[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ArrayList<>();
+        }
+        this.mask = buckets - 1;
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        // Rounded up, so a key is never released before its deadline
+        long tick = Math.max(Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis), currentTick);
+        buckets[(int) (tick & mask)].add(new Slot<>(key, tick));
+        size++;
+    }
+
+    // Releases every key whose deadline is at or before now, returning how many were released
+    public synchronized int advance(long nowMillis, Consumer<K> onExpire) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (targetTick < currentTick) {
+            return 0;
+        }
+        // After a long pause one revolution still visits every bucket
+        long steps = Math.min(targetTick - currentTick + 1, buckets.length);
+        int expired = 0;
+        for (long i = 0; i < steps; i++) {
+            List<Slot<K>> bucket = buckets[(int) ((currentTick + i) & mask)];
+            int kept = 0;
+            for (Slot<K> slot : bucket) {
+                if (slot.tick() <= targetTick) {
+                    onExpire.accept(slot.key());
+                    expired++;
+                } else {
+                    bucket.set(kept++, slot);
+                }
+            }
+            bucket.subList(kept, bucket.size()).clear();
+        }
+        currentTick = targetTick + 1;
+        size -= expired;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private record Slot<K>(K key, long tick) {
+    }
+}
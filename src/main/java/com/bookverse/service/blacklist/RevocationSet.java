@@ -0,0 +1,78 @@
+package com.bookverse.service.blacklist;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory set of revoked tokens, each kept only until the token itself expires. Lookups go
+ * through the Bloom filter first, so a token that was never revoked is not digested at all.
+ */
+public final class RevocationSet {
+
+    // Digest of each revoked token -> when that token expires; afterwards it is rejected anyway
+    private final Map<TokenDigest, Long> revoked = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<TokenDigest> expiryWheel;
+    private final GenerationalBloomFilter filter;
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder filterFalsePositives = new LongAdder();
+
+    public RevocationSet(long tickMillis, int wheelSize, GenerationalBloomFilter filter, long startMillis) {
+        this.expiryWheel = new HashedTimingWheel<>(tickMillis, wheelSize, startMillis);
+        this.filter = filter;
+    }
+
+    public void add(String token, long expiresAt) {
+        add(TokenDigest.of(token), GenerationalBloomFilter.fingerprint(token), expiresAt);
+    }
+
+    public void add(TokenDigest digest, long fingerprint, long expiresAt) {
+        filter.put(fingerprint, expiresAt);
+        // Repeat revocations (a second logout, or our own row coming back from a poll) add no slot
+        boolean[] extended = new boolean[1];
+        revoked.compute(digest, (d, existing) -> {
+            if (existing != null && existing >= expiresAt) {
+                return existing;
+            }
+            extended[0] = true;
+            return expiresAt;
+        });
+        if (extended[0]) {
+            expiryWheel.schedule(digest, expiresAt);
+        }
+    }
+
+    public boolean contains(String token, long now) {
+        if (!filter.mightContain(token)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(TokenDigest.of(token));
+        if (expiresAt == null) {
+            filterFalsePositives.increment();
+            return false;
+        }
+        return expiresAt > now;
+    }
+
+    public void expire(long now) {
+        // A later re-revocation may have pushed a digest's expiry out; its own slot releases it then
+        expiryWheel.advance(now, digest -> revoked.computeIfPresent(digest, (d, expiresAt) -> {
+            if (expiresAt > now) {
+                return expiresAt;
+            }
+            evicted.increment();
+            return null;
+        }));
+        filter.expire(now);
+    }
+
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("size", revoked.size());
+        metrics.put("scheduled", expiryWheel.size());
+        metrics.put("evicted", evicted.sum());
+        metrics.put("filterFalsePositives", filterFalsePositives.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Blacklist package for revoked access tokens.
+ * Contains the in-memory revocation set with its token digest, Bloom filter and the timing wheel
+ * that drops revocations once their tokens have expired.
+ */
+package com.bookverse.service.blacklist;
@@ -0,0 +1,163 @@
+package com.bookverse.service.cache;
+
+import com.bookverse.datasource.ReplicaRouter;
+import com.bookverse.dto.BookDetailDTO;
+import com.bookverse.repository.BookSummary;
+import com.bookverse.service.MetricsSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caches book details by id and the top-N book lists (top rated, most favorited) by limit,
+ * since book metadata is read far more often than written.
+ *
+ * Entries are dropped precisely from the write paths: a rating change drops the book's details,
+ * the lists holding it, and top-rated lists it could now enter; a favorite removal only drops
+ * lists holding the book. Every invalidation runs again after commit, for readers that loaded the
+ * old row in between. The TTLs bound staleness from writes that bypass these hooks (bulk SQL,
+ * other instances).
+ *
+ * With read replicas, loads run in a read-write transaction of their own, which always goes to
+ * the primary: a reload right after an invalidation would otherwise cache a lagging replica's
+ * old row for the whole TTL.
+ */
+@Component
+public class BookCache implements MetricsSource {
+
+    private final boolean enabled;
+    private final ReadThroughCache<Long, BookDetailDTO> details;
+    private final ReadThroughCache<Integer, List<BookSummary>> topRated;
+    private final ReadThroughCache<Integer, List<BookSummary>> mostFavorited;
+    private final TransactionOperations primaryReads;
+
+    @Autowired
+    public BookCache(@Value("${app.cache.book.enabled:true}") boolean enabled,
+                     @Value("${app.cache.book.details.ttl-seconds:300}") long detailsTtlSeconds,
+                     @Value("${app.cache.book.details.max-entries:10000}") int detailsMaxEntries,
+                     @Value("${app.cache.book.top-n.ttl-seconds:60}") long topTtlSeconds,
+                     @Value("${app.cache.book.top-n.max-entries:100}") int topMaxEntries,
+                     ObjectProvider<ReplicaRouter> replicaRouter,
+                     PlatformTransactionManager transactionManager) {
+        this(enabled, detailsTtlSeconds, detailsMaxEntries, topTtlSeconds, topMaxEntries,
+                replicaRouter.getIfAvailable() != null ? primaryReads(transactionManager) : TransactionOperations.withoutTransaction());
+    }
+
+    public BookCache(boolean enabled, long detailsTtlSeconds, int detailsMaxEntries, long topTtlSeconds, int topMaxEntries) {
+        this(enabled, detailsTtlSeconds, detailsMaxEntries, topTtlSeconds, topMaxEntries, TransactionOperations.withoutTransaction());
+    }
+
+    public BookCache(boolean enabled, long detailsTtlSeconds, int detailsMaxEntries, long topTtlSeconds, int topMaxEntries,
+                     TransactionOperations primaryReads) {
+        this.enabled = enabled;
+        this.primaryReads = primaryReads;
+        this.details = new ReadThroughCache<>(detailsTtlSeconds * 1000, detailsMaxEntries);
+        this.topRated = new ReadThroughCache<>(topTtlSeconds * 1000, topMaxEntries);
+        this.mostFavorited = new ReadThroughCache<>(topTtlSeconds * 1000, topMaxEntries);
+    }
+
+    public BookDetailDTO details(Long bookId, Supplier<BookDetailDTO> loader) {
+        return enabled ? details.get(bookId, () -> loadFresh(loader)) : loadFresh(loader);
+    }
+
+    // Best rated first, as findTopRatedBooks returns them
+    public List<BookSummary> topRated(int limit, Supplier<List<BookSummary>> loader) {
+        return enabled ? topRated.get(limit, () -> loadFresh(loader)) : loadFresh(loader);
+    }
+
+    public List<BookSummary> mostFavorited(int limit, Supplier<List<BookSummary>> loader) {
+        return enabled ? mostFavorited.get(limit, () -> loadFresh(loader)) : loadFresh(loader);
+    }
+
+    private <T> T loadFresh(Supplier<T> loader) {
+        return primaryReads.execute(status -> loader.get());
+    }
+
+    // A null averageRating means the new value is unknown, so every top-rated list is dropped
+    public void onRatingChanged(Long bookId, Double averageRating) {
+        invalidate(() -> {
+            details.evict(bookId);
+            topRated.evictIf((limit, books) -> averageRating == null || couldHold(limit, books, bookId, averageRating));
+            mostFavorited.evictIf((limit, books) -> contains(books, bookId));
+        });
+    }
+
+    // An added favorite can lift any book into the ranking
+    public void onFavoriteAdded(Long bookId) {
+        invalidate(() -> mostFavorited.evictIf((limit, books) -> true));
+    }
+
+    // A removal can only reorder or shorten lists that hold the book
+    public void onFavoriteRemoved(Long bookId) {
+        invalidate(() -> mostFavorited.evictIf((limit, books) -> contains(books, bookId)));
+    }
+
+    public void onBookRemoved(Long bookId) {
+        invalidate(() -> {
+            details.evict(bookId);
+            topRated.evictIf((limit, books) -> contains(books, bookId));
+            mostFavorited.evictIf((limit, books) -> contains(books, bookId));
+        });
+    }
+
+    @Override
+    public String metricsName() {
+        return "bookCache";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        details.addMetrics("details", metrics);
+        topRated.addMetrics("topRated", metrics);
+        mostFavorited.addMetrics("mostFavorited", metrics);
+        return metrics;
+    }
+
+    // Holds the book, is short of the limit, or the new rating reaches its lowest entry
+    private static boolean couldHold(int limit, List<BookSummary> books, Long bookId, double averageRating) {
+        return books.size() < limit
+                || contains(books, bookId)
+                || averageRating >= books.get(books.size() - 1).averageRating();
+    }
+
+    private static boolean contains(List<BookSummary> books, Long bookId) {
+        for (BookSummary book : books) {
+            if (book.id().equals(bookId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Not read-only, so the routing data source hands it a primary connection; it writes nothing
+    private static TransactionOperations primaryReads(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private static void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
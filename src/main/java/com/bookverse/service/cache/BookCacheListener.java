@@ -0,0 +1,36 @@
+package com.bookverse.service.cache;
+
+import com.bookverse.entity.Book;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that drops cached entries of books written through JPA. Rating
+ * aggregates change by bulk UPDATE instead, which reports to {@link BookCache} directly.
+ */
+public class BookCacheListener {
+
+    // Resolved lazily: entity listeners are created while the EntityManagerFactory is still starting
+    private final ObjectProvider<BookCache> bookCache;
+
+    public BookCacheListener(ObjectProvider<BookCache> bookCache) {
+        this.bookCache = bookCache;
+    }
+
+    // A new book enters top-rated lists like a rating change would
+    @PostPersist
+    @PostUpdate
+    public void onSave(Book book) {
+        Long bookId = book.getId();
+        double averageRating = book.getAverageRating();
+        bookCache.ifAvailable(cache -> cache.onRatingChanged(bookId, averageRating));
+    }
+
+    @PostRemove
+    public void onRemove(Book book) {
+        Long bookId = book.getId();
+        bookCache.ifAvailable(cache -> cache.onBookRemoved(bookId));
+    }
+}
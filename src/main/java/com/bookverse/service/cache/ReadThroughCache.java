@@ -0,0 +1,92 @@
+package com.bookverse.service.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring read-through cache with hit/miss counters.
+ *
+ * A value loaded while an invalidation ran is returned but not stored, so a reader that
+ * raced a writer cannot put back the value the writer just evicted.
+ */
+public final class ReadThroughCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReadThroughCache(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    // Loader failures propagate and are not cached
+    public V get(K key, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        long seen = invalidations.get();
+        V value = loader.get();
+        if (value == null || invalidations.get() != seen) {
+            return value;
+        }
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry<>(value, now + ttlMillis));
+        return value;
+    }
+
+    public void evict(K key) {
+        invalidations.incrementAndGet();
+        if (entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    // Drops every entry the predicate marks stale
+    public void evictIf(BiPredicate<K, V> stale) {
+        invalidations.incrementAndGet();
+        entries.entrySet().removeIf(e -> {
+            if (stale.test(e.getKey(), e.getValue().value())) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // size, hits, misses, hitRatio and evictions, each name prefixed
+    public void addMetrics(String prefix, Map<String, Number> metrics) {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        metrics.put(prefix + "Size", entries.size());
+        metrics.put(prefix + "Hits", hitCount);
+        metrics.put(prefix + "Misses", missCount);
+        metrics.put(prefix + "HitRatio", lookups > 0 ? (double) hitCount / lookups : 0.0);
+        metrics.put(prefix + "Evictions", evictions.sum());
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
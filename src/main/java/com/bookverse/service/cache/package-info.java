@@ -0,0 +1,5 @@
+/**
+ * Cache package for read-mostly book data.
+ * Contains the read-through caches for book details and top-N results and their invalidation hooks.
+ */
+package com.bookverse.service.cache;
@@ -0,0 +1,300 @@
+package com.bookverse.service.catalog;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Streams whole tables as NDJSON (one JSON object per line, in id order) straight from a
+ * forward-only JDBC cursor to the output stream, so memory stays constant however many rows
+ * there are: rows are fetched {@code app.export.fetch-size} at a time and never become entities.
+ *
+ * A stream holds its connection for as long as the client reads, so exports run on a pool of
+ * their own with {@code app.export.max-concurrent} connections and never take connections from
+ * request traffic. An export beyond that budget is refused before its response starts. A slot is
+ * given back when the body finishes, or when the request completes without the body ever running
+ * (async timeout, client gone, executor queue full).
+ */
+@Component
+public class CatalogExporter implements DisposableBean {
+
+    // Genres are joined in, so each book spans one row per genre; ordering by id keeps them together
+    static final String BOOKS_SQL = "SELECT b.id, b.title, b.author, b.description, b.cover_image_url, " +
+            "b.published_year, b.created_at, b.average_rating, b.review_count, g.genre " +
+            "FROM books b LEFT JOIN book_genres g ON g.book_id = b.id ORDER BY b.id, g.genre";
+
+    static final String REVIEWS_SQL = "SELECT r.id, r.book_id, r.user_id, r.rating, r.review_text, " +
+            "r.created_at, r.updated_at FROM reviews r ORDER BY r.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+    private final Semaphore slots;
+    // Null when built over an externally managed data source
+    private HikariDataSource pool;
+
+    @Autowired
+    public CatalogExporter(DataSourceProperties dataSourceProperties,
+                           ObjectMapper objectMapper,
+                           @Value("${app.export.fetch-size:1000}") int fetchSize,
+                           @Value("${app.export.max-concurrent:1}") int maxConcurrent) {
+        this(exportPool(dataSourceProperties, maxConcurrent), objectMapper, fetchSize, maxConcurrent);
+    }
+
+    private CatalogExporter(HikariDataSource pool, ObjectMapper objectMapper, int fetchSize, int maxConcurrent) {
+        this(new JdbcTemplate(pool), objectMapper, new DataSourceTransactionManager(pool), fetchSize, maxConcurrent);
+        this.pool = pool;
+    }
+
+    CatalogExporter(JdbcTemplate jdbcTemplate,
+                    ObjectMapper objectMapper,
+                    PlatformTransactionManager transactionManager,
+                    int fetchSize,
+                    int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        // PostgreSQL only honors the fetch size inside a transaction; without one it buffers the whole result
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    // Same database as the main pool; connections are opened only while an export runs
+    private static HikariDataSource exportPool(DataSourceProperties properties, int maxConcurrent) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("export");
+        pool.setMaximumPoolSize(maxConcurrent);
+        pool.setMinimumIdle(0);
+        pool.setAutoCommit(false);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    // Reserves an export slot now, so a full budget is answered with 503 instead of a broken stream
+    public StreamingResponseBody streamBooks(WebRequest request) {
+        return stream(request, this::exportBooks);
+    }
+
+    public StreamingResponseBody streamReviews(WebRequest request) {
+        return stream(request, this::exportReviews);
+    }
+
+    private StreamingResponseBody stream(WebRequest request, StreamingResponseBody export) {
+        if (!slots.tryAcquire()) {
+            throw new RejectedExecutionException("Too many exports in progress, try again later");
+        }
+        Slot slot = new Slot();
+        // The body may be cancelled or rejected by the async executor before it runs, so the
+        // request's completion gives the slot back too
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(Slot.class.getName(), slot);
+        return out -> {
+            try {
+                export.writeTo(out);
+            } finally {
+                slot.release();
+            }
+        };
+    }
+
+    // One export's permit, returned exactly once by whichever of body and request ends first
+    private final class Slot implements CallableProcessingInterceptor {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            release();
+        }
+    }
+
+    // Returns the number of books written
+    public long exportBooks(OutputStream out) throws IOException {
+        return export(BOOKS_SQL, out, BookWriter::new);
+    }
+
+    // Returns the number of reviews written
+    public long exportReviews(OutputStream out) throws IOException {
+        return export(REVIEWS_SQL, out, ReviewWriter::new);
+    }
+
+    private long export(String sql, OutputStream out, Function<JsonGenerator, NdjsonWriter> writerFactory) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are ended explicitly instead of Jackson's space between root values
+            json.setRootValueSeparator(null);
+            NdjsonWriter writer = writerFactory.apply(json);
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(forwardOnly(sql), writer));
+            writer.finish();
+            json.flush();
+            return writer.count;
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the aborted query releases its cursor
+            throw e.getCause();
+        }
+    }
+
+    private PreparedStatementCreator forwardOnly(String sql) {
+        return con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    // Writes rows as they arrive; IO failures abort the query
+    abstract static class NdjsonWriter implements RowCallbackHandler {
+
+        final JsonGenerator json;
+        long count;
+
+        NdjsonWriter(JsonGenerator json) {
+            this.json = json;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void write(ResultSet rs) throws SQLException, IOException;
+
+        // Completes a record still open after the last row
+        void finish() throws IOException {
+        }
+
+        void endLine() throws IOException {
+            json.writeEndObject();
+            json.writeRaw('\n');
+            count++;
+        }
+
+        void writeNumber(String field, ResultSet rs, String column) throws SQLException, IOException {
+            Object value = rs.getObject(column);
+            if (value instanceof Number number) {
+                if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                    json.writeNumberField(field, number.longValue());
+                } else {
+                    json.writeNumberField(field, number.doubleValue());
+                }
+            } else {
+                json.writeNullField(field);
+            }
+        }
+
+        void writeTimestamp(String field, ResultSet rs, String column) throws SQLException, IOException {
+            Timestamp value = rs.getTimestamp(column);
+            json.writeStringField(field, value != null ? value.toLocalDateTime().toString() : null);
+        }
+    }
+
+    // One line per book with its genres gathered from consecutive rows
+    static final class BookWriter extends NdjsonWriter {
+
+        private long currentId = -1;
+
+        BookWriter(JsonGenerator json) {
+            super(json);
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            long id = rs.getLong("id");
+            if (id != currentId) {
+                finish();
+                currentId = id;
+                json.writeStartObject();
+                json.writeNumberField("id", id);
+                json.writeStringField("title", rs.getString("title"));
+                json.writeStringField("author", rs.getString("author"));
+                json.writeStringField("description", rs.getString("description"));
+                json.writeStringField("coverImageUrl", rs.getString("cover_image_url"));
+                writeNumber("publishedYear", rs, "published_year");
+                writeTimestamp("createdAt", rs, "created_at");
+                writeNumber("averageRating", rs, "average_rating");
+                writeNumber("reviewCount", rs, "review_count");
+                json.writeArrayFieldStart("genres");
+            }
+            String genre = rs.getString("genre");
+            if (genre != null) {
+                json.writeString(genre);
+            }
+        }
+
+        @Override
+        void finish() throws IOException {
+            if (currentId != -1) {
+                json.writeEndArray();
+                endLine();
+                currentId = -1;
+            }
+        }
+    }
+
+    static final class ReviewWriter extends NdjsonWriter {
+
+        ReviewWriter(JsonGenerator json) {
+            super(json);
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeNumberField("bookId", rs.getLong("book_id"));
+            json.writeNumberField("userId", rs.getLong("user_id"));
+            writeNumber("rating", rs, "rating");
+            json.writeStringField("reviewText", rs.getString("review_text"));
+            writeTimestamp("createdAt", rs, "created_at");
+            writeTimestamp("updatedAt", rs, "updated_at");
+            endLine();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bookverse.service.catalog;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one import run: {@code resumed} records were skipped as already committed by
+ * an earlier run, {@code imported} and {@code rejected} count this run only.
+ */
+public record CatalogImportResult(String source, long imported, long resumed, long rejected,
+                                  Duration elapsed, double rowsPerSecond) {
+}
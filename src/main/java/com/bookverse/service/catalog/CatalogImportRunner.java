@@ -0,0 +1,36 @@
+package com.bookverse.service.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Imports {@code app.catalog-import.file} on startup. Runners finish before
+ * ApplicationReadyEvent, so the search and genre indexes are built with the imported books.
+ * A failed import fails startup; restarting resumes it from its checkpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalog-import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogImportRunner implements ApplicationRunner {
+
+    private final CatalogImporter catalogImporter;
+
+    @Value("${app.catalog-import.file}")
+    private String file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        CatalogImportResult result = catalogImporter.importFile(Path.of(file));
+        log.info("Catalog import of {} finished: {} books imported, {} records resumed past, {} rejected in {} ms ({} rows/s)",
+                result.source(), result.imported(), result.resumed(), result.rejected(),
+                result.elapsed().toMillis(), Math.round(result.rowsPerSecond()));
+    }
+}
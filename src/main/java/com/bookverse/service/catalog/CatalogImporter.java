@@ -0,0 +1,258 @@
+package com.bookverse.service.catalog;
+
+import com.bookverse.entity.BookGenre;
+import com.bookverse.entity.CatalogImportCheckpoint;
+import com.bookverse.repository.CatalogImportCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk-loads books and their genres from a CSV or JSONL file, bypassing JPA: each batch of
+ * records is written with multi-row INSERTs in one transaction together with the import's
+ * {@link CatalogImportCheckpoint}, so after a failure the import resumes at the first
+ * uncommitted record without duplicating books.
+ *
+ * On PostgreSQL book ids are preallocated from the {@code books} sequence, so books and
+ * genres both go out as multi-row INSERTs; elsewhere books are batch inserted and their
+ * generated keys read back. Rows are written with plain JDBC, so the search and genre
+ * indexes do not see them until they are rebuilt; the startup runner imports before that.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogImporter {
+
+    static final String BOOK_COLUMNS = "title, author, description, cover_image_url, published_year, created_at, " +
+            "average_rating, review_count, rating_sum, " +
+            "rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count";
+
+    // Rating aggregates start at zero, as for a book created through the API
+    static final String BOOK_VALUES = "?, ?, ?, ?, ?, ?, 0.0, 0, 0, 0, 0, 0, 0, 0";
+
+    static final String INSERT_BOOK_SQL = "INSERT INTO books (" + BOOK_COLUMNS + ") VALUES (" + BOOK_VALUES + ")";
+
+    static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('books', 'id')) FROM generate_series(1, ?)";
+
+    private static final int BOOK_PARAMS = 6;
+    private static final int MAX_LOGGED_REJECTS = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogImportCheckpointRepository checkpointRepository;
+
+    @Value("${app.catalog-import.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${app.catalog-import.rows-per-statement:500}")
+    private int rowsPerStatement = 500;
+
+    @Value("${app.catalog-import.progress-interval-ms:5000}")
+    private long progressIntervalMillis = 5000;
+
+    private Boolean preallocateIds;
+
+    // The source key defaults to the file's absolute path
+    public CatalogImportResult importFile(Path file) throws IOException {
+        return importFile(file, file.toAbsolutePath().normalize().toString());
+    }
+
+    public CatalogImportResult importFile(Path file, String source) throws IOException {
+        long start = System.nanoTime();
+        CatalogImportCheckpoint checkpoint = checkpointRepository.findById(source)
+                .orElseGet(() -> new CatalogImportCheckpoint(source, 0L, 0L, 0L, null));
+        long resumed = checkpoint.getRecordsRead();
+
+        try (CatalogReader reader = CatalogReader.open(file)) {
+            for (long skipped = 0; skipped < resumed; skipped++) {
+                if (!reader.skip()) {
+                    break;
+                }
+            }
+            if (resumed > 0) {
+                log.info("Resuming catalog import of {} after {} records", source, resumed);
+            }
+
+            long read = resumed;
+            long imported = 0;
+            long rejected = 0;
+            // Rejected since the last commit, added to the checkpoint with the next batch
+            long pendingRejected = 0;
+            long nextProgress = System.nanoTime() + Duration.ofMillis(progressIntervalMillis).toNanos();
+            List<CatalogRecord> batch = new ArrayList<>(batchSize);
+            while (true) {
+                CatalogRecord record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    read++;
+                    pendingRejected++;
+                    if (rejected++ < MAX_LOGGED_REJECTS) {
+                        log.warn("Catalog import of {} rejected record at line {}: {}", source, reader.line(), e.getMessage());
+                    }
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                read++;
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    checkpoint = commit(batch, checkpoint, read, pendingRejected);
+                    imported += batch.size();
+                    pendingRejected = 0;
+                    batch.clear();
+                    if (System.nanoTime() >= nextProgress) {
+                        log.info("Catalog import of {}: {} books imported ({} rows/s)", source, imported,
+                                Math.round(rowsPerSecond(imported, System.nanoTime() - start)));
+                        nextProgress = System.nanoTime() + Duration.ofMillis(progressIntervalMillis).toNanos();
+                    }
+                }
+            }
+            // Also records trailing rejects, so a rerun skips them
+            if (read > checkpoint.getRecordsRead()) {
+                commit(batch, checkpoint, read, pendingRejected);
+                imported += batch.size();
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return new CatalogImportResult(source, imported, resumed, rejected, elapsed,
+                    rowsPerSecond(imported, elapsed.toNanos()));
+        }
+    }
+
+    // Writes one batch and advances the checkpoint in a single transaction
+    private CatalogImportCheckpoint commit(List<CatalogRecord> batch, CatalogImportCheckpoint checkpoint,
+                                           long read, long newlyRejected) {
+        CatalogImportCheckpoint next = new CatalogImportCheckpoint(checkpoint.getSource(), read,
+                checkpoint.getBooksImported() + batch.size(), checkpoint.getRecordsRejected() + newlyRejected,
+                LocalDateTime.now());
+        return transactionTemplate.execute(status -> {
+            if (!batch.isEmpty()) {
+                long[] ids = insertBooks(batch);
+                insertGenres(batch, ids);
+            }
+            return checkpointRepository.save(next);
+        });
+    }
+
+    private long[] insertBooks(List<CatalogRecord> batch) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        if (preallocateIds()) {
+            List<Long> allocated = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, batch.size());
+            long[] ids = allocated.stream().mapToLong(Long::longValue).toArray();
+            insertRows("INSERT INTO books (id, " + BOOK_COLUMNS + ") VALUES ", "(?, " + BOOK_VALUES + ")",
+                    BOOK_PARAMS + 1, batch.size(), (row, args) -> {
+                        args.add(ids[row]);
+                        addBookParams(args, batch.get(row), createdAt);
+                    });
+            return ids;
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_BOOK_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        CatalogRecord record = batch.get(i);
+                        ps.setString(1, record.title());
+                        ps.setString(2, record.author());
+                        ps.setString(3, record.description());
+                        ps.setString(4, record.coverImageUrl());
+                        ps.setInt(5, record.publishedYear());
+                        ps.setTimestamp(6, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != batch.size()) {
+            throw new IllegalStateException("Expected " + batch.size() + " generated book ids but got " + keyList.size());
+        }
+        long[] ids = new long[keyList.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ((Number) keyList.get(i).values().iterator().next()).longValue();
+        }
+        return ids;
+    }
+
+    private void insertGenres(List<CatalogRecord> batch, long[] ids) {
+        List<Object> pairs = new ArrayList<>(batch.size() * 4);
+        for (int i = 0; i < batch.size(); i++) {
+            for (BookGenre.Genre genre : batch.get(i).genres()) {
+                pairs.add(ids[i]);
+                pairs.add(genre.name());
+            }
+        }
+        insertRows("INSERT INTO book_genres (book_id, genre) VALUES ", "(?, ?)", 2, pairs.size() / 2,
+                (row, args) -> {
+                    args.add(pairs.get(row * 2));
+                    args.add(pairs.get(row * 2 + 1));
+                });
+    }
+
+    // One INSERT per rowsPerStatement rows, each listing its rows as VALUES tuples
+    private void insertRows(String prefix, String tuple, int paramsPerRow, int rows, RowBinder binder) {
+        for (int from = 0; from < rows; from += rowsPerStatement) {
+            int count = Math.min(rowsPerStatement, rows - from);
+            StringBuilder sql = new StringBuilder(prefix.length() + count * (tuple.length() + 2)).append(prefix);
+            List<Object> args = new ArrayList<>(count * paramsPerRow);
+            for (int row = from; row < from + count; row++) {
+                if (row > from) {
+                    sql.append(", ");
+                }
+                sql.append(tuple);
+                binder.bind(row, args);
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    private static void addBookParams(List<Object> args, CatalogRecord record, Timestamp createdAt) {
+        args.add(record.title());
+        args.add(record.author());
+        args.add(record.description());
+        args.add(record.coverImageUrl());
+        args.add(record.publishedYear());
+        args.add(createdAt);
+    }
+
+    // Sequence preallocation needs PostgreSQL's nextval / generate_series
+    private boolean preallocateIds() {
+        if (preallocateIds == null) {
+            preallocateIds = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                    "PostgreSQL".equalsIgnoreCase(con.getMetaData().getDatabaseProductName())));
+        }
+        return preallocateIds;
+    }
+
+    private static double rowsPerSecond(long rows, long nanos) {
+        return nanos > 0 ? rows * 1_000_000_000.0 / nanos : 0.0;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(int row, List<Object> args);
+    }
+}
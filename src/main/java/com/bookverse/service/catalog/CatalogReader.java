@@ -0,0 +1,50 @@
+package com.bookverse.service.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the records of an import file one at a time, so memory stays flat however large
+ * the file is. A record that cannot be read throws {@link IllegalArgumentException} with the
+ * reader already positioned after it, so the caller can reject it and carry on.
+ */
+public interface CatalogReader extends Closeable {
+
+    // Raw fields of the next record keyed by normalized name, or null at end of input
+    Map<String, String> nextFields() throws IOException;
+
+    // Line of the record last returned, for error messages
+    long line();
+
+    // The next validated record, or null at end of input
+    default CatalogRecord next() throws IOException {
+        Map<String, String> fields = nextFields();
+        return fields != null ? CatalogRecord.of(fields) : null;
+    }
+
+    // Steps over one record without validating it; false at end of input
+    default boolean skip() throws IOException {
+        try {
+            return nextFields() != null;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    // Picks the format from the extension: .csv, or .jsonl / .ndjson
+    static CatalogReader open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return new CsvCatalogReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return new JsonlCatalogReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        }
+        throw new IllegalArgumentException("Unsupported catalog file type (expected .csv, .jsonl or .ndjson): " + file);
+    }
+}
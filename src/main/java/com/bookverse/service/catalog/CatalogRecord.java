@@ -0,0 +1,92 @@
+package com.bookverse.service.catalog;
+
+import com.bookverse.entity.BookGenre;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One validated book of an import file. Field names are matched after
+ * {@link #normalizeKey normalization}, so {@code published_year}, {@code publishedYear} and
+ * {@code Published Year} are the same field; genres are separated by {@code |} or {@code ;}.
+ */
+public record CatalogRecord(String title, String author, String description, String coverImageUrl,
+                            int publishedYear, Set<BookGenre.Genre> genres) {
+
+    static final int MAX_LENGTH = 255;
+
+    // Throws IllegalArgumentException naming the first invalid field
+    public static CatalogRecord of(Map<String, String> fields) {
+        String title = required(fields, "title");
+        String author = required(fields, "author");
+        String coverImageUrl = optional(fields, "coverimageurl");
+        if (coverImageUrl != null && coverImageUrl.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("coverImageUrl must not exceed " + MAX_LENGTH + " characters");
+        }
+        String year = optional(fields, "publishedyear");
+        if (year == null) {
+            throw new IllegalArgumentException("publishedYear is required");
+        }
+        int publishedYear;
+        try {
+            publishedYear = Integer.parseInt(year);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid publishedYear: " + year);
+        }
+        return new CatalogRecord(title, author, optional(fields, "description"), coverImageUrl,
+                publishedYear, parseGenres(optional(fields, "genres")));
+    }
+
+    // Lower case without separators: "Published_Year" -> "publishedyear"
+    public static String normalizeKey(String key) {
+        StringBuilder normalized = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static Set<BookGenre.Genre> parseGenres(String value) {
+        Set<BookGenre.Genre> genres = EnumSet.noneOf(BookGenre.Genre.class);
+        if (value == null) {
+            return genres;
+        }
+        for (String name : value.split("[|;]")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                genres.add(BookGenre.Genre.valueOf(trimmed.toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_')));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown genre: " + trimmed);
+            }
+        }
+        return genres;
+    }
+
+    private static String required(Map<String, String> fields, String key) {
+        String value = optional(fields, key);
+        if (value == null) {
+            throw new IllegalArgumentException(key + " is required");
+        }
+        if (value.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException(key + " must not exceed " + MAX_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    // Blank counts as missing
+    private static String optional(Map<String, String> fields, String key) {
+        String value = fields.get(key);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+}
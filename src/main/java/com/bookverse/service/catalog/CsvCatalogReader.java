@@ -0,0 +1,121 @@
+package com.bookverse.service.catalog;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the fields: comma separated, fields optionally
+ * quoted with {@code "} (doubled inside quotes), quoted fields may span lines. Blank lines
+ * are ignored.
+ */
+public final class CsvCatalogReader implements CatalogReader {
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private final List<String> header;
+    // Line the next read starts on, and the first line of the last record
+    private long currentLine = 1;
+    private long recordLine;
+
+    public CsvCatalogReader(Reader in) throws IOException {
+        this.in = in;
+        List<String> names = readRow();
+        if (names == null) {
+            throw new IllegalArgumentException("CSV catalog has no header row");
+        }
+        this.header = names.stream().map(CatalogRecord::normalizeKey).toList();
+    }
+
+    @Override
+    public Map<String, String> nextFields() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+        } while (row != null && row.size() == 1 && row.get(0).isEmpty());
+        if (row == null) {
+            return null;
+        }
+        if (row.size() != header.size()) {
+            throw new IllegalArgumentException("Line " + recordLine + ": expected " + header.size()
+                    + " fields but found " + row.size());
+        }
+        Map<String, String> fields = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < row.size(); i++) {
+            fields.put(header.get(i), row.get(i));
+        }
+        return fields;
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Fields of the next physical record, or null at end of input
+    private List<String> readRow() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        recordLine = currentLine;
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IllegalArgumentException("Line " + recordLine + ": unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        // Closing quote: reprocess the following char unquoted
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c < 0) {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        row.add(field.toString());
+        return row;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            currentLine++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bookverse.service.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * One JSON object per line (JSON Lines). {@code genres} may be an array or a
+ * {@code |}-separated string; blank lines are ignored.
+ */
+public final class JsonlCatalogReader implements CatalogReader {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final BufferedReader in;
+    private long currentLine;
+    private long recordLine;
+
+    public JsonlCatalogReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public Map<String, String> nextFields() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            currentLine++;
+        } while (text != null && text.isBlank());
+        if (text == null) {
+            return null;
+        }
+        recordLine = currentLine;
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Line " + recordLine + ": invalid JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Line " + recordLine + ": expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode value = field.getValue();
+            if (value.isArray()) {
+                StringJoiner joined = new StringJoiner("|");
+                value.forEach(element -> joined.add(element.asText()));
+                fields.put(CatalogRecord.normalizeKey(field.getKey()), joined.toString());
+            } else if (!value.isNull()) {
+                fields.put(CatalogRecord.normalizeKey(field.getKey()), value.asText());
+            }
+        }
+        return fields;
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
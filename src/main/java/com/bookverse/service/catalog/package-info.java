@@ -0,0 +1,5 @@
+/**
+ * Catalog package for bulk book imports.
+ * Contains the streaming CSV/JSONL readers, the batched, resumable importer and the NDJSON exporter.
+ */
+package com.bookverse.service.catalog;
@@ -0,0 +1,114 @@
+package com.bookverse.service.genre;
+
+import com.bookverse.entity.BookGenre;
+import com.bookverse.repository.BookGenreRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Genres of a set of books as an open-addressing map from primitive book id to a genre
+ * bitmask (bit {@code ordinal} set per genre), filled from batched
+ * {@link BookGenreRepository#findGenresByBookIds} queries instead of one lazy
+ * {@code Book.genres} load per book. Not thread-safe; built and read by one request.
+ */
+public final class BookGenreMap {
+
+    // Bounds the IN list of each lookup
+    static final int BATCH_SIZE = 1000;
+
+    private static final BookGenre.Genre[] GENRES = BookGenre.Genre.values();
+
+    private long[] keys;
+    // 0 marks a free slot: a stored book always has at least one genre bit
+    private byte[] masks;
+    private int size;
+
+    public BookGenreMap() {
+        this(16);
+    }
+
+    public BookGenreMap(int expectedBooks) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedBooks) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.masks = new byte[capacity];
+    }
+
+    // One IN query per BATCH_SIZE ids; none for an empty collection
+    public static BookGenreMap load(BookGenreRepository repository, Collection<Long> bookIds) {
+        BookGenreMap map = new BookGenreMap(bookIds.size());
+        List<Long> ids = bookIds instanceof List<Long> list ? list : new ArrayList<>(bookIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            map.addAll(repository.findGenresByBookIds(ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE))));
+        }
+        return map;
+    }
+
+    // (bookId, genre) rows as returned by findGenresByBookIds
+    public void addAll(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[0] != null && row[1] != null) {
+                add((Long) row[0], (BookGenre.Genre) row[1]);
+            }
+        }
+    }
+
+    public void add(long bookId, BookGenre.Genre genre) {
+        int slot = slotOf(bookId);
+        if (masks[slot] == 0) {
+            keys[slot] = bookId;
+            size++;
+        }
+        masks[slot] |= (byte) (1 << genre.ordinal());
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    // 0 for a book without genres or not loaded
+    public int mask(long bookId) {
+        return masks[slotOf(bookId)] & 0xFF;
+    }
+
+    public EnumSet<BookGenre.Genre> get(long bookId) {
+        return genres(mask(bookId));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public static EnumSet<BookGenre.Genre> genres(int mask) {
+        EnumSet<BookGenre.Genre> genres = EnumSet.noneOf(BookGenre.Genre.class);
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            genres.add(GENRES[Integer.numberOfTrailingZeros(bits)]);
+        }
+        return genres;
+    }
+
+    // Slot holding bookId, or the free slot where it would go
+    private int slotOf(long bookId) {
+        int mask = keys.length - 1;
+        int slot = (int) ((bookId * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (masks[slot] != 0 && keys[slot] != bookId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        byte[] oldMasks = masks;
+        keys = new long[oldKeys.length * 2];
+        masks = new byte[oldMasks.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldMasks[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                masks[slot] = oldMasks[i];
+            }
+        }
+    }
+}
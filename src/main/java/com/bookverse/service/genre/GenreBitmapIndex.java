@@ -0,0 +1,234 @@
+package com.bookverse.service.genre;
+
+import com.bookverse.entity.BookGenre;
+import com.bookverse.service.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * One bitmap per genre over book ids, so counting the books in any of some genres is a
+ * cardinality call instead of a {@code book_genres} join with DISTINCT, and a book's genre
+ * mask is read back from the same bitmaps instead of from {@code book_genres}. Filtering by
+ * genre is not done here: the search index keeps a mask per document, and the SQL fallback
+ * pages and sorts in the database, where a set of ids would only become a huge IN list.
+ *
+ * Book ids come from an identity column and are dense, so a plain {@link BitSet} costs
+ * one bit per book per genre. Answers are empty until the first rebuild is published,
+ * and callers fall back to SQL.
+ */
+@Component
+@Slf4j
+public class GenreBitmapIndex implements MetricsSource {
+
+    private static final BookGenre.Genre[] GENRES = BookGenre.Genre.values();
+
+    // BitSets are not safe for concurrent reads and writes
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BitSet[] bitmaps = newBitmaps();
+    private volatile boolean ready;
+
+    // Non-null while a rebuild is loading; those updates are replayed onto the new bitmaps
+    private List<Consumer<BitSet[]>> pendingUpdates;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Builder newBuilder() {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Builder();
+    }
+
+    public void publish(Builder builder) {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                pendingUpdates.forEach(update -> update.accept(builder.bitmaps));
+                pendingUpdates = null;
+            }
+            bitmaps = builder.bitmaps;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Genre bitmap index published with {} books", cardinality(allMask()));
+    }
+
+    // Replaces the book's genres; a null set means "genres unknown", which leaves them as they are
+    public void update(Long bookId, Set<BookGenre.Genre> genres) {
+        if (!indexable(bookId) || genres == null) {
+            return;
+        }
+        int bit = (int) (long) bookId;
+        apply(target -> {
+            for (BookGenre.Genre genre : GENRES) {
+                target[genre.ordinal()].set(bit, genres.contains(genre));
+            }
+        });
+    }
+
+    public void remove(Long bookId) {
+        if (!indexable(bookId)) {
+            return;
+        }
+        int bit = (int) (long) bookId;
+        apply(target -> {
+            for (BitSet bitmap : target) {
+                bitmap.clear(bit);
+            }
+        });
+    }
+
+    // Genre bitmask of one book, bit ordinal per genre; 0 when unknown
+    public int mask(long bookId) {
+        if (!ready || !indexable(bookId)) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return maskOf((int) bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Genres of each book, read from the bitmaps instead of book_genres
+    public Optional<BookGenreMap> genresOf(Collection<Long> bookIds) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        BookGenreMap map = new BookGenreMap(bookIds.size());
+        lock.readLock().lock();
+        try {
+            for (Long bookId : bookIds) {
+                if (indexable(bookId)) {
+                    int mask = maskOf((int) (long) bookId);
+                    for (int bits = mask; bits != 0; bits &= bits - 1) {
+                        map.add(bookId, GENRES[Integer.numberOfTrailingZeros(bits)]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(map);
+    }
+
+    // Number of books in any of the genres: one bitmap's cardinality, or that of their union
+    public OptionalLong countAny(Collection<BookGenre.Genre> genres) {
+        if (!ready) {
+            return OptionalLong.empty();
+        }
+        int mask = 0;
+        for (BookGenre.Genre genre : genres) {
+            mask |= 1 << genre.ordinal();
+        }
+        return OptionalLong.of(cardinality(mask));
+    }
+
+    @Override
+    public String metricsName() {
+        return "genreIndex";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("ready", ready ? 1 : 0);
+        lock.readLock().lock();
+        try {
+            for (BookGenre.Genre genre : GENRES) {
+                metrics.put(genre.name(), bitmaps[genre.ordinal()].cardinality());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return metrics;
+    }
+
+    private long cardinality(int mask) {
+        lock.readLock().lock();
+        try {
+            if (Integer.bitCount(mask) == 1) {
+                return bitmaps[Integer.numberOfTrailingZeros(mask)].cardinality();
+            }
+            BitSet union = new BitSet();
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                union.or(bitmaps[Integer.numberOfTrailingZeros(bits)]);
+            }
+            return union.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int maskOf(int bit) {
+        int mask = 0;
+        for (int g = 0; g < bitmaps.length; g++) {
+            if (bitmaps[g].get(bit)) {
+                mask |= 1 << g;
+            }
+        }
+        return mask;
+    }
+
+    private static int allMask() {
+        return (1 << GENRES.length) - 1;
+    }
+
+    private void apply(Consumer<BitSet[]> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(bitmaps);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // BitSet indexes are ints; larger ids are never indexed and read as "no genres"
+    private static boolean indexable(Long bookId) {
+        return bookId != null && bookId >= 0 && bookId <= Integer.MAX_VALUE - 1;
+    }
+
+    private static BitSet[] newBitmaps() {
+        BitSet[] bitmaps = new BitSet[GENRES.length];
+        for (int g = 0; g < bitmaps.length; g++) {
+            bitmaps[g] = new BitSet();
+        }
+        return bitmaps;
+    }
+
+    /**
+     * Accumulates fresh bitmaps off to the side while the index keeps serving the old ones.
+     */
+    public static final class Builder {
+        private final BitSet[] bitmaps = newBitmaps();
+
+        public void add(Long bookId, BookGenre.Genre genre) {
+            if (indexable(bookId) && genre != null) {
+                bitmaps[genre.ordinal()].set((int) (long) bookId);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookverse.service.genre;
+
+import com.bookverse.entity.Book;
+import com.bookverse.entity.BookGenre;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * JPA entity listener that keeps {@link GenreBitmapIndex} in step with book writes.
+ * Changes are applied after commit so lookups never see rolled-back data.
+ */
+public class GenreBitmapIndexListener {
+
+    // Resolved lazily: entity listeners are created while the EntityManagerFactory is still starting
+    private final ObjectProvider<GenreBitmapIndex> genreBitmapIndex;
+
+    public GenreBitmapIndexListener(ObjectProvider<GenreBitmapIndex> genreBitmapIndex) {
+        this.genreBitmapIndex = genreBitmapIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Book book) {
+        // Never trigger a lazy load from an entity callback; unloaded genres did not change
+        if (book.getGenres() == null || !Hibernate.isInitialized(book.getGenres())) {
+            return;
+        }
+        Set<BookGenre.Genre> genres = EnumSet.noneOf(BookGenre.Genre.class);
+        for (BookGenre bookGenre : book.getGenres()) {
+            if (bookGenre.getGenre() != null) {
+                genres.add(bookGenre.getGenre());
+            }
+        }
+        Long bookId = book.getId();
+        afterCommit(() -> genreBitmapIndex.ifAvailable(index -> index.update(bookId, genres)));
+    }
+
+    @PostRemove
+    public void onRemove(Book book) {
+        Long bookId = book.getId();
+        afterCommit(() -> genreBitmapIndex.ifAvailable(index -> index.remove(bookId)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
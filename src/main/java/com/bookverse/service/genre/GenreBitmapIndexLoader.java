@@ -0,0 +1,54 @@
+package com.bookverse.service.genre;
+
+import com.bookverse.entity.BookGenre;
+import com.bookverse.repository.BookGenreRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GenreBitmapIndexLoader {
+
+    private final BookGenreRepository bookGenreRepository;
+    private final GenreBitmapIndex genreBitmapIndex;
+
+    @Value("${app.genre-index.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.genre-index.batch-size:5000}")
+    private int batchSize = 5000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // Until the first rebuild is published, genre lookups keep going to SQL
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        GenreBitmapIndex.Builder builder = genreBitmapIndex.newBuilder();
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = bookGenreRepository.findGenreRowsAfter(afterId, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                builder.add((Long) row[1], (BookGenre.Genre) row[2]);
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        genreBitmapIndex.publish(builder);
+        log.info("Rebuilt genre bitmap index in {} ms", System.currentTimeMillis() - start);
+    }
+}
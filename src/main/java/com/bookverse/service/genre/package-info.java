@@ -0,0 +1,5 @@
+/**
+ * Genre package for in-memory genre lookups.
+ * Contains compact book-to-genre structures shared by listing, search and recommendations.
+ */
+package com.bookverse.service.genre;
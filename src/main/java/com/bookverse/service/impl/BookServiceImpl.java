@@ -3,32 +3,58 @@ package com.bookverse.service.impl;
 import com.bookverse.dto.BookDTO;
 import com.bookverse.dto.BookDetailDTO;
 import com.bookverse.dto.PageResponse;
+import com.bookverse.dto.PaginationDTO;
 import com.bookverse.dto.ReviewDTO;
 import com.bookverse.dto.SearchCriteriaDTO;
 import com.bookverse.entity.Book;
 import com.bookverse.entity.Review;
+import com.bookverse.repository.BookGenreRepository;
 import com.bookverse.repository.BookRepository;
+import com.bookverse.repository.BookSummary;
 import com.bookverse.repository.ReviewRepository;
 import com.bookverse.service.BookService;
+import com.bookverse.service.cache.BookCache;
+import com.bookverse.service.genre.BookGenreMap;
+import com.bookverse.service.genre.GenreBitmapIndex;
 import com.bookverse.service.mapper.EntityMapper;
+import com.bookverse.service.paging.CountCache;
+import com.bookverse.service.paging.CountMode;
+import com.bookverse.service.paging.SeekCursor;
+import com.bookverse.service.search.BookSearchIndex;
+import com.bookverse.service.search.SearchHits;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
 
+    // Source tag of cursors issued by the database queries; index cursors carry the engine name
+    private static final String SQL_CURSOR_SOURCE = "sql";
+
     private final BookRepository bookRepository;
+    private final BookGenreRepository bookGenreRepository;
+    private final GenreBitmapIndex genreBitmapIndex;
     private final ReviewRepository reviewRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final CountCache countCache;
+    private final BookCache bookCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -36,10 +62,52 @@ public class BookServiceImpl implements BookService {
         int page = criteria.getPage() != null ? criteria.getPage() : 0;
         int size = criteria.getSize() != null ? criteria.getSize() : 20;
         Sort sort = resolveSort(criteria.getSortBy(), criteria.getSortDirection());
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Sort.Order order = sort.iterator().next();
+        boolean keyset = StringUtils.hasText(criteria.getCursor());
+        // Cursor pages skip the count unless one is asked for
+        CountMode mode = CountMode.fromParam(criteria.getTotal(), keyset ? CountMode.NONE : CountMode.EXACT);
+        if (keyset) {
+            return searchBooksAfter(criteria, order, SeekCursor.decode(criteria.getCursor(), order), size, mode);
+        }
+        // Break ties on id so offset pages agree with the keyset order
+        Pageable pageable = PageRequest.of(page, size,
+                order.getProperty().equals("id") ? sort : sort.and(Sort.by(order.getDirection(), "id")));
+
+        // Answer from the in-memory index when it is built; the database only hydrates the page
+        Optional<SearchHits> hits = bookSearchIndex.search(criteria, sort, page * size, size);
+        if (hits.isPresent()) {
+            List<BookSummary> books = findBooksInOrder(hits.get().bookIds());
+            List<BookDTO> items = toBookDTOs(books);
+            return EntityMapper.toPageResponse(items, page, size, hits.get().total(),
+                    cursorAfter(order, bookSearchIndex.cursorSource(), books));
+        }
+
+        // Genre-only filters are counted exactly from the genre bitmaps, so the page needs no COUNT query
+        boolean bitmapCount = mode == CountMode.EXACT && isGenreOnly(criteria) && genreBitmapIndex.isReady();
+        if (mode != CountMode.EXACT || bitmapCount) {
+            // Slice: one row past the page instead of a COUNT repeating the DISTINCT/LIKE scan
+            Slice<BookSummary> slice = bookRepository.findBooksSlice(
+                criteria.getQuery(),
+                criteria.getAuthor(),
+                criteria.getGenres(),
+                criteria.getMinYear(),
+                criteria.getMaxYear(),
+                criteria.getMinRating(),
+                pageable
+            );
+            long total = switch (mode) {
+                case EXACT -> countBooks(criteria, mode);
+                case APPROXIMATE -> Math.max(countBooks(criteria, mode),
+                        (long) page * size + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0));
+                case NONE -> -1;
+            };
+            List<BookDTO> items = toBookDTOs(slice.getContent());
+            return EntityMapper.toPageResponse(items, page, size, total, mode.totalType(), slice.hasNext(),
+                    cursorAfter(order, SQL_CURSOR_SOURCE, slice.getContent()));
+        }
 
         // Use the new findBooks method
-        Page<Book> result = bookRepository.findBooks(
+        Page<BookSummary> result = bookRepository.findBooks(
             criteria.getQuery(),
             criteria.getAuthor(),
             criteria.getGenres(),
@@ -53,10 +121,10 @@ public class BookServiceImpl implements BookService {
         System.out.println("Found " + result.getTotalElements() + " books total");
         System.out.println("Page content size: " + result.getContent().size());
         if (!result.getContent().isEmpty()) {
-            System.out.println("First book: " + result.getContent().get(0).getTitle());
+            System.out.println("First book: " + result.getContent().get(0).title());
         }
 
-        List<BookDTO> items = result.getContent().stream().map(EntityMapper::toBookDTO).collect(Collectors.toList());
+        List<BookDTO> items = toBookDTOs(result.getContent());
         
         // Debug logging
         System.out.println("Mapped to " + items.size() + " DTOs");
@@ -64,14 +132,129 @@ public class BookServiceImpl implements BookService {
             System.out.println("First DTO: " + items.get(0).getTitle());
         }
         
-        return EntityMapper.toPageResponse(items, page, size, result.getTotalElements());
+        return EntityMapper.toPageResponse(items, page, size, result.getTotalElements(),
+                cursorAfter(order, SQL_CURSOR_SOURCE, result.getContent()));
+    }
+
+    // Keyset page: seeks past the cursor instead of skipping OFFSET rows, so deep pages cost the same as the first
+    private PageResponse<BookDTO> searchBooksAfter(SearchCriteriaDTO criteria, Sort.Order order, SeekCursor after,
+                                                   int size, CountMode mode) {
+        Sort sort = Sort.by(order);
+        List<BookSummary> books;
+        long total;
+        PaginationDTO.TotalType totalType;
+        boolean hasNext;
+        // Resume on the source that issued the cursor: the token engine matches word prefixes where
+        // SQL matches substrings, and the index orders text case-insensitively where SQL uses the
+        // column's collation, so switching sources mid-way could skip or repeat rows
+        boolean fromIndex = !SQL_CURSOR_SOURCE.equals(after.source());
+        Optional<SearchHits> hits = fromIndex && Objects.equals(after.source(), bookSearchIndex.cursorSource())
+                ? bookSearchIndex.search(criteria, sort, after, size + 1)
+                : Optional.empty();
+        if (fromIndex && hits.isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor: restart from the first page");
+        }
+        if (hits.isPresent()) {
+            // The index counts every match anyway, so its total is always exact
+            List<Long> bookIds = hits.get().bookIds();
+            hasNext = bookIds.size() > size;
+            books = findBooksInOrder(hasNext ? bookIds.subList(0, size) : bookIds);
+            total = hits.get().total();
+            totalType = PaginationDTO.TotalType.EXACT;
+        } else {
+            // One extra row tells whether another page exists without a COUNT
+            books = bookRepository.findBooksAfter(criteria, order, after, size + 1);
+            hasNext = books.size() > size;
+            if (hasNext) {
+                books = books.subList(0, size);
+            }
+            total = countBooks(criteria, mode);
+            totalType = mode.totalType();
+        }
+        List<BookDTO> items = toBookDTOs(books);
+        String source = hits.isPresent() ? after.source() : SQL_CURSOR_SOURCE;
+        return EntityMapper.toCursorPageResponse(items, size, total, totalType,
+                hasNext ? cursorAfter(order, source, books) : null);
+    }
+
+    // -1 when the mode asks for no count
+    private long countBooks(SearchCriteriaDTO criteria, CountMode mode) {
+        if (mode != CountMode.NONE && isGenreOnly(criteria)) {
+            // Exact and cheap: the cardinality of the genre bitmaps' union
+            OptionalLong genreCount = genreBitmapIndex.countAny(criteria.getGenres());
+            if (genreCount.isPresent()) {
+                return genreCount.getAsLong();
+            }
+        }
+        LongSupplier exactCount = () -> bookRepository.countBooks(
+                criteria.getQuery(),
+                criteria.getAuthor(),
+                criteria.getGenres(),
+                criteria.getMinYear(),
+                criteria.getMaxYear(),
+                criteria.getMinRating());
+        return switch (mode) {
+            case EXACT -> exactCount.getAsLong();
+            case APPROXIMATE -> countCache.get(countKey(criteria), exactCount);
+            case NONE -> -1;
+        };
+    }
+
+    private static boolean isGenreOnly(SearchCriteriaDTO criteria) {
+        return criteria.getGenres() != null && !criteria.getGenres().isEmpty()
+                && !StringUtils.hasText(criteria.getQuery()) && !StringUtils.hasText(criteria.getAuthor())
+                && criteria.getMinYear() == null && criteria.getMaxYear() == null && criteria.getMinRating() == null;
+    }
+
+    // Filters only: sort and position do not change the total
+    private static String countKey(SearchCriteriaDTO criteria) {
+        return "books:" + criteria.getQuery() + "|" + criteria.getAuthor() + "|" + criteria.getGenres()
+                + "|" + criteria.getMinYear() + "|" + criteria.getMaxYear() + "|" + criteria.getMinRating();
+    }
+
+    private static String cursorAfter(Sort.Order order, String source, List<BookSummary> books) {
+        if (books.isEmpty()) {
+            return null;
+        }
+        BookSummary last = books.get(books.size() - 1);
+        Object value = switch (order.getProperty()) {
+            case "title" -> last.title();
+            case "author" -> last.author();
+            case "publishedYear" -> last.publishedYear();
+            case "averageRating" -> last.averageRating();
+            default -> null;
+        };
+        return SeekCursor.of(order, source, value, last.id()).encode();
+    }
+
+    // Genres for the whole page in one IN query instead of a lazy load per book
+    private List<BookDTO> toBookDTOs(List<BookSummary> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        List<Long> bookIds = books.stream().map(BookSummary::id).collect(Collectors.toList());
+        BookGenreMap genres = genreBitmapIndex.genresOf(bookIds)
+                .orElseGet(() -> BookGenreMap.load(bookGenreRepository, bookIds));
+        return EntityMapper.toBookDTOs(books, genres);
+    }
+
+    private List<BookSummary> findBooksInOrder(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookSummary> byId = bookRepository.findSummariesByIdIn(bookIds).stream()
+                .collect(Collectors.toMap(BookSummary::id, Function.identity()));
+        return bookIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     private Sort resolveSort(String sortBy, String direction) {
         String column = Objects.requireNonNullElse(sortBy, "title");
         Sort sort = switch (column.toLowerCase()) {
             case "author" -> Sort.by("author");
-            case "rating" -> Sort.by("id"); // Use ID as fallback since rating requires special handling
+            case "rating" -> Sort.by("averageRating");
             case "date", "publicationdate" -> Sort.by("publishedYear");
             case "price" -> Sort.by("id"); // Use ID as fallback since price field doesn't exist
             default -> Sort.by("title");
@@ -82,15 +265,18 @@ public class BookServiceImpl implements BookService {
         return sort.ascending();
     }
 
+    // Not transactional: a cache hit needs no connection, and a miss fetches genres with the book
     @Override
-    @Transactional
     public BookDetailDTO getBookDetails(Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("Book not found"));
-        return EntityMapper.toBookDetailDTO(book);
+        return bookCache.details(bookId, () -> {
+            Book book = bookRepository.findWithGenresById(bookId)
+                    .orElseThrow(() -> new IllegalArgumentException("Book not found"));
+            return EntityMapper.toBookDetailDTO(book);
+        });
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<ReviewDTO> getBookReviews(Long bookId, Integer page, Integer size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Review> reviews = reviewRepository.findByBookIdOrderByCreatedAtDesc(bookId, pageable);
@@ -103,13 +289,10 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookDTO> getFeaturedBooks() {
         // Use simple findAll for featured books
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
-        Page<Book> featuredBooksPage = bookRepository.findAll(pageable);
-        
-        return featuredBooksPage.getContent().stream()
-                .map(EntityMapper::toBookDTO)
-                .collect(Collectors.toList());
+        return toBookDTOs(bookRepository.findSummaries(pageable));
     }
 }
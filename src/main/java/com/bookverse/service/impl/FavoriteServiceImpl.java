@@ -8,6 +8,7 @@ import com.bookverse.repository.BookRepository;
 import com.bookverse.repository.FavoriteRepository;
 import com.bookverse.repository.UserRepository;
 import com.bookverse.service.FavoriteService;
+import com.bookverse.service.cache.BookCache;
 import com.bookverse.service.mapper.EntityMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ public class FavoriteServiceImpl implements FavoriteService {
     private final FavoriteRepository favoriteRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final BookCache bookCache;
 
     @Override
     @Transactional
@@ -40,6 +42,7 @@ public class FavoriteServiceImpl implements FavoriteService {
         favorite.setBook(book);
         
         Favorite saved = favoriteRepository.save(favorite);
+        bookCache.onFavoriteAdded(bookId);
         return EntityMapper.toFavoriteDTO(saved);
     }
 
@@ -47,6 +50,7 @@ public class FavoriteServiceImpl implements FavoriteService {
     @Transactional
     public void removeFavorite(Long userId, Long bookId) {
         favoriteRepository.deleteByUserIdAndBookId(userId, bookId);
+        bookCache.onFavoriteRemoved(bookId);
     }
 
     @Override
@@ -0,0 +1,226 @@
+package com.bookverse.service.impl;
+
+import com.bookverse.entity.RevokedToken;
+import com.bookverse.repository.RevokedTokenRepository;
+import com.bookverse.security.JwtTokenProvider;
+import com.bookverse.service.MetricsSource;
+import com.bookverse.service.TokenBlacklistService;
+import com.bookverse.service.blacklist.GenerationalBloomFilter;
+import com.bookverse.service.blacklist.RevocationSet;
+import com.bookverse.service.blacklist.TokenDigest;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Blacklist shared by every instance through the revoked_tokens table. Each instance keeps a
+ * near-cache of live revocations and polls for rows past its id watermark, so a logout on one
+ * node reaches the others within one poll interval while lookups never touch the database.
+ */
+@Service
+@ConditionalOnProperty(name = "app.security.blacklist.store", havingValue = "database")
+@Slf4j
+public class PersistentTokenBlacklistServiceImpl implements TokenBlacklistService, MetricsSource {
+
+    // Gaps wider than this are sequence jumps rather than transactions still in flight
+    private static final int MAX_TRACKED_GAP = 1000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationSet revocations;
+    private final JwtTokenProvider tokenProvider;
+    private final long fallbackTtlMillis;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final LongSupplier clock;
+
+    private final Object pollLock = new Object();
+    private long watermark;
+    // Ids skipped below the watermark -> when first seen; an id is allocated before its row
+    // commits, so a lower id can still appear after a higher one has been read
+    private final Map<Long, Long> pendingGaps = new TreeMap<>();
+    private long polledRows;
+
+    @Autowired
+    public PersistentTokenBlacklistServiceImpl(RevokedTokenRepository revokedTokenRepository,
+                                               JwtTokenProvider tokenProvider,
+                                               @Value("${app.security.blacklist.tick-ms:1000}") long tickMillis,
+                                               @Value("${app.security.blacklist.wheel-size:512}") int wheelSize,
+                                               @Value("${jwt.expiration}") long fallbackTtlMillis,
+                                               @Value("${app.security.blacklist.bloom.expected-insertions:100000}") int expectedInsertions,
+                                               @Value("${app.security.blacklist.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                                               @Value("${app.security.blacklist.bloom.generations:4}") int generations,
+                                               @Value("${app.security.blacklist.batch-size:1000}") int batchSize,
+                                               @Value("${app.security.blacklist.gap-timeout-ms:60000}") long gapTimeoutMillis) {
+        this(revokedTokenRepository, tokenProvider, tickMillis, wheelSize, fallbackTtlMillis,
+                new GenerationalBloomFilter(expectedInsertions, falsePositiveRate, generations, fallbackTtlMillis),
+                batchSize, gapTimeoutMillis, System::currentTimeMillis);
+    }
+
+    PersistentTokenBlacklistServiceImpl(RevokedTokenRepository revokedTokenRepository, JwtTokenProvider tokenProvider,
+                                        long tickMillis, int wheelSize, long fallbackTtlMillis,
+                                        GenerationalBloomFilter revokedFilter, int batchSize, long gapTimeoutMillis,
+                                        LongSupplier clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenProvider = tokenProvider;
+        this.fallbackTtlMillis = fallbackTtlMillis;
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.clock = clock;
+        this.revocations = new RevocationSet(tickMillis, wheelSize, revokedFilter, clock.getAsLong());
+    }
+
+    // Loads live revocations before the first request; polling takes over from the current max id.
+    // Ids missing just below the max may belong to logouts still in flight, so they become gaps
+    // the first poll rechecks, exactly as if the poller had skipped them
+    @PostConstruct
+    public void loadRevocations() {
+        synchronized (pollLock) {
+            long upToId = revokedTokenRepository.findMaxId();
+            long nowMillis = clock.getAsLong();
+            LocalDateTime now = toDateTime(nowMillis);
+            long afterId = 0;
+            long nextExpected = Math.max(1, upToId - MAX_TRACKED_GAP);
+            int loaded = 0;
+            List<RevokedToken> page;
+            do {
+                page = revokedTokenRepository.findActiveBetween(afterId, upToId, now, PageRequest.of(0, batchSize));
+                for (RevokedToken row : page) {
+                    for (long missing = nextExpected; missing < row.getId(); missing++) {
+                        pendingGaps.put(missing, nowMillis);
+                    }
+                    nextExpected = Math.max(nextExpected, row.getId() + 1);
+                    addLocally(row);
+                    afterId = row.getId();
+                }
+                loaded += page.size();
+            } while (page.size() == batchSize);
+            // upToId itself has committed, whether or not it is still live
+            for (long missing = nextExpected; missing < upToId; missing++) {
+                pendingGaps.put(missing, nowMillis);
+            }
+            watermark = upToId;
+            log.info("Loaded {} live token revocations (watermark {})", loaded, watermark);
+        }
+    }
+
+    @Override
+    public void blacklistToken(String token) {
+        if (token == null) {
+            return;
+        }
+        long expiresAt = TokenBlacklistServiceImpl.expiresAt(tokenProvider, token, clock.getAsLong() + fallbackTtlMillis);
+        TokenDigest digest = TokenDigest.of(token);
+        long fingerprint = GenerationalBloomFilter.fingerprint(token);
+        // Honored here at once; other instances pick it up on their next poll
+        revocations.add(digest, fingerprint, expiresAt);
+        if (revokedTokenRepository.existsByDigestHighAndDigestLow(digest.high(), digest.low())) {
+            return;
+        }
+        try {
+            revokedTokenRepository.save(new RevokedToken(null, digest.high(), digest.low(), fingerprint,
+                    toDateTime(expiresAt), null));
+        } catch (DataIntegrityViolationException e) {
+            // Revoked concurrently elsewhere; the stored row already covers it
+            log.debug("Token revocation already recorded");
+        }
+    }
+
+    @Override
+    public boolean isBlacklisted(String token) {
+        return token != null && revocations.contains(token, clock.getAsLong());
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.blacklist.poll-interval-ms:1000}")
+    public void pollRevocations() {
+        synchronized (pollLock) {
+            long now = clock.getAsLong();
+            recheckGaps(now);
+            List<RevokedToken> page;
+            do {
+                page = revokedTokenRepository.findRevokedAfter(watermark, PageRequest.of(0, batchSize));
+                for (RevokedToken row : page) {
+                    if (row.getId() - watermark - 1 <= MAX_TRACKED_GAP) {
+                        for (long missing = watermark + 1; missing < row.getId(); missing++) {
+                            pendingGaps.put(missing, now);
+                        }
+                    }
+                    addLocally(row);
+                    watermark = row.getId();
+                }
+                polledRows += page.size();
+            } while (page.size() == batchSize);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.blacklist.tick-ms:1000}")
+    public void cleanupExpiredTokens() {
+        revocations.expire(clock.getAsLong());
+    }
+
+    // Expired rows are never needed again: every instance has already dropped them locally
+    @Scheduled(fixedDelayString = "${app.security.blacklist.purge-interval-ms:3600000}")
+    public void purgeExpiredRows() {
+        int deleted = revokedTokenRepository.deleteExpired(toDateTime(clock.getAsLong()));
+        if (deleted > 0) {
+            log.info("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "tokenBlacklist";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = revocations.metrics();
+        synchronized (pollLock) {
+            metrics.put("watermark", watermark);
+            metrics.put("pendingGaps", pendingGaps.size());
+            metrics.put("polledRows", polledRows);
+        }
+        return metrics;
+    }
+
+    private void recheckGaps(long now) {
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pendingGaps.keySet());
+        for (RevokedToken row : revokedTokenRepository.findByIdIn(ids)) {
+            addLocally(row);
+            pendingGaps.remove(row.getId());
+        }
+        // Ids that never show up belonged to rolled back inserts
+        pendingGaps.values().removeIf(firstSeen -> now - firstSeen >= gapTimeoutMillis);
+    }
+
+    private void addLocally(RevokedToken row) {
+        long expiresAt = row.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        // Initial-load gaps also match rows that were skipped only because they had expired
+        if (expiresAt <= clock.getAsLong()) {
+            return;
+        }
+        revocations.add(new TokenDigest(row.getDigestHigh(), row.getDigestLow()), row.getFingerprint(), expiresAt);
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
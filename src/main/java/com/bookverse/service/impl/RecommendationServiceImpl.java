@@ -7,18 +7,27 @@ import com.bookverse.entity.BookGenre;
 import com.bookverse.entity.Favorite;
 import com.bookverse.repository.BookGenreRepository;
 import com.bookverse.repository.BookRepository;
+import com.bookverse.repository.BookSummary;
 import com.bookverse.repository.FavoriteRepository;
 import com.bookverse.service.RecommendationService;
+import com.bookverse.service.cache.BookCache;
+import com.bookverse.service.genre.BookGenreMap;
+import com.bookverse.service.genre.GenreBitmapIndex;
 import com.bookverse.service.mapper.EntityMapper;
+import com.bookverse.service.recommendation.ItemSimilarityIndex;
+import com.bookverse.service.recommendation.RecommendationFanOut;
+import com.bookverse.service.recommendation.TopKHeap;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,13 +36,31 @@ public class RecommendationServiceImpl implements RecommendationService {
     private final BookRepository bookRepository;
     private final FavoriteRepository favoriteRepository;
     private final BookGenreRepository bookGenreRepository;
+    private final GenreBitmapIndex genreBitmapIndex;
+    private final ItemSimilarityIndex itemSimilarityIndex;
+    private final RecommendationFanOut recommendationFanOut;
+    private final BookCache bookCache;
+
+    @Value("${app.recommendation.candidate-pool-size:2000}")
+    private int candidatePoolSize = 2000;
 
     @Override
+    public List<RecommendationDTO> getAllRecommendations(Long userId, int limit) {
+        // Independent sections run concurrently; one that times out or fails is left out
+        Map<String, Supplier<List<RecommendationDTO>>> sections = new LinkedHashMap<>();
+        sections.put("top-rated", () -> getTopRated(limit));
+        if (userId != null) {
+            sections.put("user-based", () -> getUserBasedRecommendations(userId, limit));
+        }
+        return recommendationFanOut.collect(sections);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<RecommendationDTO> getTopRated(int limit) {
-        Page<Book> page = bookRepository.findTopRatedBooks(PageRequest.of(0, limit));
-        List<BookDTO> books = page.getContent().stream()
-                .map(EntityMapper::toBookDTO)
-                .collect(Collectors.toList());
+        List<BookSummary> topRated = bookCache.topRated(limit,
+                () -> bookRepository.findTopRatedBooks(PageRequest.of(0, limit)).getContent());
+        List<BookDTO> books = toBookDTOs(topRated);
         
         return List.of(RecommendationDTO.builder()
                 .type("top-rated")
@@ -44,6 +71,7 @@ public class RecommendationServiceImpl implements RecommendationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RecommendationDTO> getUserBasedRecommendations(Long userId, int limit) {
         List<RecommendationDTO> recommendations = new ArrayList<>();
         
@@ -61,31 +89,28 @@ public class RecommendationServiceImpl implements RecommendationService {
                     .build());
         }
         
-        // Get genres from user's favorite books
-        Set<BookGenre.Genre> userFavoriteGenres = userFavorites.stream()
-                .flatMap(favorite -> {
-                    List<BookGenre> genres = favorite.getBook().getGenres();
-                    return genres != null ? genres.stream() : Stream.empty();
-                })
-                .map(BookGenre::getGenre)
-                .collect(Collectors.toSet());
+        // Get genres from user's favorite books, all in one batched lookup
+        Set<Long> userFavoriteBookIds = userFavorites.stream()
+                .map(favorite -> favorite.getBook().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        BookGenreMap favoriteGenres = loadGenres(userFavoriteBookIds);
+        int genreMask = 0;
+        for (Long bookId : userFavoriteBookIds) {
+            genreMask |= favoriteGenres.mask(bookId);
+        }
+        Set<BookGenre.Genre> userFavoriteGenres = BookGenreMap.genres(genreMask);
         
         if (!userFavoriteGenres.isEmpty()) {
             // Get books in user's favorite genres (excluding already favorited books)
-            Set<Long> userFavoriteBookIds = userFavorites.stream()
-                    .map(favorite -> favorite.getBook().getId())
-                    .collect(Collectors.toSet());
-            
-            Page<Book> genreBooks = bookRepository.findBooks(
+            Page<BookSummary> genreBooks = bookRepository.findBooks(
                     null, null, new ArrayList<>(userFavoriteGenres), null, null, null, 
                     PageRequest.of(0, limit * 2)
             );
             
-            List<BookDTO> recommendedBooks = genreBooks.getContent().stream()
-                    .filter(book -> !userFavoriteBookIds.contains(book.getId()))
+            List<BookDTO> recommendedBooks = toBookDTOs(genreBooks.getContent().stream()
+                    .filter(book -> !userFavoriteBookIds.contains(book.id()))
                     .limit(limit)
-                    .map(EntityMapper::toBookDTO)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
             
             if (!recommendedBooks.isEmpty()) {
                 recommendations.add(RecommendationDTO.builder()
@@ -114,6 +139,7 @@ public class RecommendationServiceImpl implements RecommendationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RecommendationDTO> getGenreBased(int limit) {
         // Get books from popular genres (Romance, Mystery, Fantasy, etc.)
         List<BookGenre.Genre> popularGenres = List.of(
@@ -123,12 +149,10 @@ public class RecommendationServiceImpl implements RecommendationService {
             BookGenre.Genre.SCI_FI
         );
         
-        Page<Book> genreBooks = bookRepository.findBooks(
+        Page<BookSummary> genreBooks = bookRepository.findBooks(
             null, null, popularGenres, null, null, null, PageRequest.of(0, limit)
         );
-        List<BookDTO> books = genreBooks.getContent().stream()
-                .map(EntityMapper::toBookDTO)
-                .collect(Collectors.toList());
+        List<BookDTO> books = toBookDTOs(genreBooks.getContent());
         
         return List.of(RecommendationDTO.builder()
                 .type("genre-based")
@@ -139,6 +163,7 @@ public class RecommendationServiceImpl implements RecommendationService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<RecommendationDTO> getGenreBasedFromFavorites(Long userId, int limit) {
         // Get user's favorite books
         List<Favorite> userFavorites = favoriteRepository.findByUserIdWithBook(userId);
@@ -156,13 +181,20 @@ public class RecommendationServiceImpl implements RecommendationService {
                     .build());
         }
         
+        // Genres of every favorite in one batched lookup instead of a lazy load per book
+        Set<Long> userFavoriteBookIds = userFavorites.stream()
+                .map(favorite -> favorite.getBook().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        BookGenreMap favoriteGenres = loadGenres(userFavoriteBookIds);
+        
         // Debug: Print favorite books and their genres
         for (Favorite favorite : userFavorites) {
             Book book = favorite.getBook();
             System.out.println("DEBUG: Favorite book: " + book.getTitle() + " (ID: " + book.getId() + ")");
-            if (book.getGenres() != null && !book.getGenres().isEmpty()) {
-                System.out.println("DEBUG: Genres: " + book.getGenres().stream()
-                        .map(bg -> bg.getGenre().name())
+            Set<BookGenre.Genre> genres = favoriteGenres.get(book.getId());
+            if (!genres.isEmpty()) {
+                System.out.println("DEBUG: Genres: " + genres.stream()
+                        .map(Enum::name)
                         .collect(Collectors.joining(", ")));
             } else {
                 System.out.println("DEBUG: No genres found for this book");
@@ -170,14 +202,11 @@ public class RecommendationServiceImpl implements RecommendationService {
         }
         
         // Calculate genre weights with frequency and recency
-        Map<BookGenre.Genre, Double> genreWeights = calculateGenreWeights(userFavorites);
+        Map<BookGenre.Genre, Double> genreWeights = calculateGenreWeights(userFavorites, favoriteGenres);
         
         System.out.println("DEBUG: Genre weights: " + genreWeights);
         
         // Get books from top-weighted genres
-        Set<Long> userFavoriteBookIds = userFavorites.stream()
-                .map(favorite -> favorite.getBook().getId())
-                .collect(Collectors.toSet());
         
         List<BookDTO> recommendedBooks = getBooksFromTopGenres(genreWeights, userFavoriteBookIds, limit);
         
@@ -191,34 +220,60 @@ public class RecommendationServiceImpl implements RecommendationService {
                 .build());
     }
     
-    private Map<BookGenre.Genre, Double> calculateGenreWeights(List<Favorite> userFavorites) {
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecommendationDTO> getItemBasedRecommendations(Long userId, int limit) {
+        // Neighbors come from the in-memory model; the database only supplies the seeds and hydrates the result
+        List<Long> favoriteBookIds = favoriteRepository.findBookIdsByUserId(userId);
+        List<Long> bookIds = favoriteBookIds.isEmpty()
+                ? List.of()
+                : itemSimilarityIndex.recommend(favoriteBookIds, limit);
+
+        if (bookIds.isEmpty()) {
+            // No favorites, or none that anyone else favorited too
+            List<BookDTO> popularBooks = getPopularBooksInPopularGenres(limit);
+            return List.of(RecommendationDTO.builder()
+                    .type("popular")
+                    .title("Popular Books")
+                    .description("Trending books in our community")
+                    .books(popularBooks)
+                    .build());
+        }
+
+        List<BookDTO> books = toBookDTOs(findBooksInOrder(bookIds));
+
+        return List.of(RecommendationDTO.builder()
+                .type("item-based")
+                .title("Readers who liked your favorites also liked")
+                .description("Books often favorited together with yours")
+                .books(books)
+                .build());
+    }
+
+    private Map<BookGenre.Genre, Double> calculateGenreWeights(List<Favorite> userFavorites, BookGenreMap favoriteGenres) {
         Map<BookGenre.Genre, Double> genreWeights = new HashMap<>();
         LocalDateTime now = LocalDateTime.now();
         
         for (Favorite favorite : userFavorites) {
             Book book = favorite.getBook();
-            if (book.getGenres() != null) {
-                for (BookGenre bookGenre : book.getGenres()) {
-                    BookGenre.Genre genre = bookGenre.getGenre();
-                    
-                    // Base weight from frequency
-                    double weight = genreWeights.getOrDefault(genre, 0.0) + 1.0;
-                    
-                    // Add recency bonus (recent favorites get higher weight)
-                    long daysSinceFavorite = java.time.Duration.between(favorite.getCreatedAt(), now).toDays();
-                    double recencyBonus = Math.max(0.1, 1.0 - (daysSinceFavorite / 30.0)); // Decay over 30 days
-                    
-                    // Add rating bonus
-                    double ratingBonus = 0.0;
-                    Double avgRating = book.getAverageRating();
-                    if (avgRating != null) {
-                        ratingBonus = (avgRating - 3.0) / 2.0;
-                        ratingBonus = Math.max(0.0, Math.min(1.0, ratingBonus)); // Clamp between 0 and 1
-                    }
-                    
-                    weight += recencyBonus + ratingBonus;
-                    genreWeights.put(genre, weight);
+            for (BookGenre.Genre genre : favoriteGenres.get(book.getId())) {
+                // Base weight from frequency
+                double weight = genreWeights.getOrDefault(genre, 0.0) + 1.0;
+                
+                // Add recency bonus (recent favorites get higher weight)
+                long daysSinceFavorite = java.time.Duration.between(favorite.getCreatedAt(), now).toDays();
+                double recencyBonus = Math.max(0.1, 1.0 - (daysSinceFavorite / 30.0)); // Decay over 30 days
+                
+                // Add rating bonus
+                double ratingBonus = 0.0;
+                Double avgRating = book.getAverageRating();
+                if (avgRating != null) {
+                    ratingBonus = (avgRating - 3.0) / 2.0;
+                    ratingBonus = Math.max(0.0, Math.min(1.0, ratingBonus)); // Clamp between 0 and 1
                 }
+                
+                weight += recencyBonus + ratingBonus;
+                genreWeights.put(genre, weight);
             }
         }
         
@@ -240,53 +295,49 @@ public class RecommendationServiceImpl implements RecommendationService {
             return getPopularBooksInPopularGenres(limit);
         }
         
-        // Get books from top genres (no rating filter, will sort by rating later)
-        Page<Book> genreBooks = bookRepository.findBooks(
-                null, null, topGenres, null, null, null, PageRequest.of(0, limit * 2)
-        );
+        // Wide candidate pool as (id, rating) rows only; entities are loaded for the winners alone
+        List<Object[]> candidates = bookRepository.findRecommendationCandidates(
+                topGenres, PageRequest.of(0, Math.max(candidatePoolSize, limit * 2)));
         
-        System.out.println("DEBUG: Found " + genreBooks.getTotalElements() + " books in top genres");
+        System.out.println("DEBUG: Found " + candidates.size() + " candidate books in top genres");
         
-        // Filter and sort by genre weight and rating
-        List<BookDTO> result = genreBooks.getContent().stream()
-                .filter(book -> !excludeBookIds.contains(book.getId()))
-                .sorted((b1, b2) -> {
-                    // Sort by genre weight first, then by rating
-                    double weight1 = getBookGenreWeight(b1, genreWeights);
-                    double weight2 = getBookGenreWeight(b2, genreWeights);
-                    
-                    if (Double.compare(weight1, weight2) != 0) {
-                        return Double.compare(weight2, weight1); // Descending
-                    }
-                    
-                    // If same weight, sort by rating
-                    Double avgRating1 = b1.getAverageRating();
-                    Double avgRating2 = b2.getAverageRating();
-                    double rating1 = avgRating1 != null ? avgRating1 : 0.0;
-                    double rating2 = avgRating2 != null ? avgRating2 : 0.0;
-                    return Double.compare(rating2, rating1); // Descending
-                })
-                .limit(limit)
-                .map(EntityMapper::toBookDTO)
-                .collect(Collectors.toList());
+        // Score each candidate once: its best genre weight, then its rating
+        double[] weightByGenre = new double[BookGenre.Genre.values().length];
+        genreWeights.forEach((genre, weight) -> weightByGenre[genre.ordinal()] = weight);
+        long[] ids = new long[candidates.size()];
+        double[] ratings = new double[candidates.size()];
+        double[] weights = new double[candidates.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (Long) candidates.get(i)[0];
+            ratings[i] = ((Number) candidates.get(i)[1]).doubleValue();
+        }
+        BookGenreMap candidateGenres = loadGenres(Arrays.stream(ids).boxed().collect(Collectors.toList()));
+        for (int i = 0; i < ids.length; i++) {
+            for (int bits = candidateGenres.mask(ids[i]); bits != 0; bits &= bits - 1) {
+                weights[i] = Math.max(weights[i], weightByGenre[Integer.numberOfTrailingZeros(bits)]);
+            }
+        }
         
-        System.out.println("DEBUG: After filtering and sorting: " + result.size() + " books");
-        return result;
-    }
-    
-    private double getBookGenreWeight(Book book, Map<BookGenre.Genre, Double> genreWeights) {
-        if (book.getGenres() == null || book.getGenres().isEmpty()) {
-            return 0.0;
+        TopKHeap top = new TopKHeap(limit);
+        for (int i = 0; i < ids.length; i++) {
+            if (!excludeBookIds.contains(ids[i])) {
+                top.offer(ids[i], weights[i], ratings[i]);
+            }
         }
+        List<Long> bookIds = top.toList();
         
-        // Return the highest weight among the book's genres
-        return book.getGenres().stream()
-                .mapToDouble(bg -> genreWeights.getOrDefault(bg.getGenre(), 0.0))
-                .max()
-                .orElse(0.0);
+        // Winners come from the candidate pool, whose genres are already loaded
+        List<BookDTO> result = EntityMapper.toBookDTOs(findBooksInOrder(bookIds), candidateGenres);
+        
+        System.out.println("DEBUG: After filtering and sorting: " + result.size() + " books");
+        return result;
     }
     
     private List<BookDTO> getPopularBooksInPopularGenres(int limit) {
+        return toBookDTOs(bookCache.mostFavorited(limit, () -> findMostFavorited(limit)));
+    }
+
+    private List<BookSummary> findMostFavorited(int limit) {
         // Get most favorited books as a fallback
         Page<Object[]> mostFavorited = favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit));
         List<Long> bookIds = mostFavorited.getContent().stream()
@@ -295,18 +346,37 @@ public class RecommendationServiceImpl implements RecommendationService {
         
         if (bookIds.isEmpty()) {
             // If no favorites exist, return most reviewed books
-            Page<Book> mostReviewed = bookRepository.findBooks(
+            Page<BookSummary> mostReviewed = bookRepository.findBooks(
                 null, null, null, null, null, null, PageRequest.of(0, limit)
             );
-            return mostReviewed.getContent().stream()
-                    .map(EntityMapper::toBookDTO)
-                    .collect(Collectors.toList());
+            return mostReviewed.getContent();
         }
         
         // Get book details for most favorited books
-        List<Book> books = bookRepository.findAllById(bookIds);
-        return books.stream()
-                .map(EntityMapper::toBookDTO)
+        return bookRepository.findSummariesByIdIn(bookIds);
+    }
+
+    private List<BookSummary> findBooksInOrder(List<Long> bookIds) {
+        Map<Long, BookSummary> booksById = bookRepository.findSummariesByIdIn(bookIds).stream()
+                .collect(Collectors.toMap(BookSummary::id, book -> book));
+        return bookIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
+
+    // Genres for all listed books in one IN query instead of a lazy load per book
+    private List<BookDTO> toBookDTOs(List<BookSummary> books) {
+        if (books.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> bookIds = books.stream().map(BookSummary::id).collect(Collectors.toList());
+        return EntityMapper.toBookDTOs(books, loadGenres(bookIds));
+    }
+
+    // From the genre bitmaps once built, otherwise batched IN queries
+    private BookGenreMap loadGenres(Collection<Long> bookIds) {
+        return genreBitmapIndex.genresOf(bookIds)
+                .orElseGet(() -> BookGenreMap.load(bookGenreRepository, bookIds));
+    }
 }
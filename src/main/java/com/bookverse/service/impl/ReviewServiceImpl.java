@@ -12,14 +12,25 @@ import com.bookverse.repository.ReviewRepository;
 import com.bookverse.repository.UserRepository;
 import com.bookverse.service.ReviewService;
 import com.bookverse.service.mapper.EntityMapper;
-import jakarta.transaction.Transactional;
+import com.bookverse.service.paging.CountCache;
+import com.bookverse.service.paging.CountMode;
+import com.bookverse.service.paging.SeekCursor;
+import com.bookverse.service.rating.BookRatingAggregator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +40,10 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
+    private final CountCache countCache;
+    private final BookRatingAggregator bookRatingAggregator;
+
+    private static final Sort.Order NEWEST_FIRST = Sort.Order.desc("createdAt");
 
     @Override
     @Transactional
@@ -47,9 +62,7 @@ public class ReviewServiceImpl implements ReviewService {
         Review saved = reviewRepository.save(review);
         
         // Update book's rating stats after adding review
-        book.addReview(saved);
-        book.updateRatingStats();
-        bookRepository.save(book);
+        bookRatingAggregator.applyRatingChange(bookId, null, saved.getRating());
         
         return EntityMapper.toReviewDTO(saved);
     }
@@ -63,14 +76,13 @@ public class ReviewServiceImpl implements ReviewService {
             throw new SecurityException("Cannot edit a review you do not own");
         }
         
-        Book book = review.getBook();
+        Integer previousRating = review.getRating();
         review.setRating(request.getRating());
         review.setReviewText(request.getReviewText());
         Review saved = reviewRepository.save(review);
         
         // Update book's rating stats after updating review
-        book.updateRatingStats();
-        bookRepository.save(book);
+        bookRatingAggregator.applyRatingChange(review.getBook().getId(), previousRating, saved.getRating());
         
         return EntityMapper.toReviewDTO(saved);
     }
@@ -85,31 +97,113 @@ public class ReviewServiceImpl implements ReviewService {
         }
         
         Book book = review.getBook();
+        Long bookId = book.getId();
+        Integer rating = review.getRating();
         
-        // Remove the review from the book's list first
-        book.removeReview(review);
+        // Remove the review from the book's list first when it is loaded (loading it would read every review)
+        if (Hibernate.isInitialized(book.getReviews())) {
+            book.removeReview(review);
+        }
         
         // Delete the review
         reviewRepository.delete(review);
         
         // Update book's rating stats after deleting review
-        book.updateRatingStats();
-        bookRepository.save(book);
+        bookRatingAggregator.applyRatingChange(bookId, rating, null);
     }
 
     @Override
     public PageResponse<ReviewDTO> getReviewsForBook(Long bookId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Review> result = reviewRepository.findByBookIdOrderByCreatedAtDesc(bookId, pageable);
-        List<ReviewDTO> items = result.getContent().stream().map(EntityMapper::toReviewDTO).collect(Collectors.toList());
-        return EntityMapper.toPageResponse(items, page, size, result.getTotalElements());
+        return getReviewsForBook(bookId, page, size, null, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<ReviewDTO> getReviewsForBook(Long bookId, int page, int size, String cursor, String total) {
+        // Cursor pages skip the count unless one is asked for
+        CountMode mode = CountMode.fromParam(total, StringUtils.hasText(cursor) ? CountMode.NONE : CountMode.EXACT);
+        LongSupplier exactCount = () -> reviewRepository.countByBookId(bookId);
+        LongSupplier approximateCount = () -> {
+            Integer reviewCount = bookRepository.findReviewCountById(bookId);
+            return reviewCount != null ? reviewCount : 0;
+        };
+        if (StringUtils.hasText(cursor)) {
+            SeekCursor after = SeekCursor.decode(cursor, NEWEST_FIRST);
+            List<Review> rows = reviewRepository.findByBookIdBefore(
+                    bookId, parseCreatedAt(after), after.id(), PageRequest.of(0, size + 1));
+            return toCursorPage(rows, size, mode, exactCount, approximateCount);
+        }
+        if (mode == CountMode.EXACT) {
+            Page<Review> result = reviewRepository.findByBookIdOrderByCreatedAtDesc(bookId, offsetPage(page, size));
+            return toPage(result.getContent(), result.hasNext(), page, size, mode, result::getTotalElements, null);
+        }
+        Slice<Review> slice = reviewRepository.findSliceByBookIdOrderByCreatedAtDesc(bookId, offsetPage(page, size));
+        return toPage(slice.getContent(), slice.hasNext(), page, size, mode, exactCount, approximateCount);
     }
 
     @Override
     public PageResponse<ReviewDTO> getReviewsForUser(Long userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Review> result = reviewRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
-        List<ReviewDTO> items = result.getContent().stream().map(EntityMapper::toReviewDTO).collect(Collectors.toList());
-        return EntityMapper.toPageResponse(items, page, size, result.getTotalElements());
+        return getReviewsForUser(userId, page, size, null, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<ReviewDTO> getReviewsForUser(Long userId, int page, int size, String cursor, String total) {
+        CountMode mode = CountMode.fromParam(total, StringUtils.hasText(cursor) ? CountMode.NONE : CountMode.EXACT);
+        LongSupplier exactCount = () -> reviewRepository.countByUserId(userId);
+        LongSupplier approximateCount = () -> countCache.get("reviews:user:" + userId, exactCount);
+        if (StringUtils.hasText(cursor)) {
+            SeekCursor after = SeekCursor.decode(cursor, NEWEST_FIRST);
+            List<Review> rows = reviewRepository.findByUserIdBefore(
+                    userId, parseCreatedAt(after), after.id(), PageRequest.of(0, size + 1));
+            return toCursorPage(rows, size, mode, exactCount, approximateCount);
+        }
+        if (mode == CountMode.EXACT) {
+            Page<Review> result = reviewRepository.findByUserIdOrderByCreatedAtDesc(userId, offsetPage(page, size));
+            return toPage(result.getContent(), result.hasNext(), page, size, mode, result::getTotalElements, null);
+        }
+        Slice<Review> slice = reviewRepository.findSliceByUserIdOrderByCreatedAtDesc(userId, offsetPage(page, size));
+        return toPage(slice.getContent(), slice.hasNext(), page, size, mode, exactCount, approximateCount);
+    }
+
+    // Break createdAt ties on id so offset pages agree with the keyset order
+    private static Pageable offsetPage(int page, int size) {
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    // Rows were fetched with one extra to learn whether another page exists
+    private static PageResponse<ReviewDTO> toCursorPage(List<Review> rows, int size, CountMode mode,
+                                                        LongSupplier exactCount, LongSupplier approximateCount) {
+        boolean hasNext = rows.size() > size;
+        return toPage(hasNext ? rows.subList(0, size) : rows, hasNext, -1, size, mode, exactCount, approximateCount);
+    }
+
+    private static PageResponse<ReviewDTO> toPage(List<Review> rows, boolean hasNext, int page, int size, CountMode mode,
+                                                  LongSupplier exactCount, LongSupplier approximateCount) {
+        long total = -1;
+        if (mode == CountMode.EXACT) {
+            total = exactCount.getAsLong();
+        } else if (mode == CountMode.APPROXIMATE) {
+            total = approximateCount.getAsLong();
+            if (page >= 0) {
+                // A stale estimate must still cover the rows already seen
+                total = Math.max(total, (long) page * size + rows.size() + (hasNext ? 1 : 0));
+            }
+        }
+        String nextCursor = hasNext && !rows.isEmpty() ? cursorAfter(rows.get(rows.size() - 1)) : null;
+        List<ReviewDTO> items = rows.stream().map(EntityMapper::toReviewDTO).collect(Collectors.toList());
+        return EntityMapper.toPageResponse(items, page, size, total, mode.totalType(), hasNext, nextCursor);
+    }
+
+    private static String cursorAfter(Review review) {
+        return SeekCursor.of(NEWEST_FIRST, review.getCreatedAt(), review.getId()).encode();
+    }
+
+    private static LocalDateTime parseCreatedAt(SeekCursor cursor) {
+        try {
+            return LocalDateTime.parse(cursor.value());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 }
@@ -1,35 +1,85 @@
 package com.bookverse.service.impl;
 
+import com.bookverse.security.JwtTokenProvider;
+import com.bookverse.service.MetricsSource;
 import com.bookverse.service.TokenBlacklistService;
+import com.bookverse.service.blacklist.GenerationalBloomFilter;
+import com.bookverse.service.blacklist.RevocationSet;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
+// Per-JVM blacklist; see PersistentTokenBlacklistServiceImpl for one shared across instances
 @Service
-public class TokenBlacklistServiceImpl implements TokenBlacklistService {
-    
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
-    
+@ConditionalOnProperty(name = "app.security.blacklist.store", havingValue = "memory", matchIfMissing = true)
+public class TokenBlacklistServiceImpl implements TokenBlacklistService, MetricsSource {
+
+    private final RevocationSet revocations;
+    private final JwtTokenProvider tokenProvider;
+    private final long fallbackTtlMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public TokenBlacklistServiceImpl(JwtTokenProvider tokenProvider,
+                                     @Value("${app.security.blacklist.tick-ms:1000}") long tickMillis,
+                                     @Value("${app.security.blacklist.wheel-size:512}") int wheelSize,
+                                     @Value("${jwt.expiration}") long fallbackTtlMillis,
+                                     @Value("${app.security.blacklist.bloom.expected-insertions:100000}") int expectedInsertions,
+                                     @Value("${app.security.blacklist.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                                     @Value("${app.security.blacklist.bloom.generations:4}") int generations) {
+        this(tokenProvider, tickMillis, wheelSize, fallbackTtlMillis,
+                new GenerationalBloomFilter(expectedInsertions, falsePositiveRate, generations, fallbackTtlMillis),
+                System::currentTimeMillis);
+    }
+
+    TokenBlacklistServiceImpl(JwtTokenProvider tokenProvider, long tickMillis, int wheelSize, long fallbackTtlMillis,
+                              GenerationalBloomFilter revokedFilter, LongSupplier clock) {
+        this.tokenProvider = tokenProvider;
+        this.fallbackTtlMillis = fallbackTtlMillis;
+        this.clock = clock;
+        this.revocations = new RevocationSet(tickMillis, wheelSize, revokedFilter, clock.getAsLong());
+    }
+
     @Override
     public void blacklistToken(String token) {
         if (token != null) {
-            blacklistedTokens.add(token);
+            revocations.add(token, expiresAt(tokenProvider, token, clock.getAsLong() + fallbackTtlMillis));
         }
     }
-    
+
     @Override
     public boolean isBlacklisted(String token) {
-        if (token == null) {
-            return false;
-        }
-        return blacklistedTokens.contains(token);
+        return token != null && revocations.contains(token, clock.getAsLong());
     }
-    
+
     @Override
+    @Scheduled(fixedDelayString = "${app.security.blacklist.tick-ms:1000}")
     public void cleanupExpiredTokens() {
-        // In a production environment, you might want to implement
-        // token expiration checking and cleanup of expired tokens
-        // For now, we'll keep it simple with just the in-memory set
+        revocations.expire(clock.getAsLong());
+    }
+
+    @Override
+    public String metricsName() {
+        return "tokenBlacklist";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        return revocations.metrics();
+    }
+
+    // Tokens we cannot read an expiry from are held for a full token lifetime
+    static long expiresAt(JwtTokenProvider tokenProvider, String token, long fallback) {
+        return tokenProvider.parseClaims(token)
+                .map(Claims::getExpiration)
+                .map(Date::getTime)
+                .orElse(fallback);
     }
 }
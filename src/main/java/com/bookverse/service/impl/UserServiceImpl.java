@@ -6,13 +6,14 @@ import com.bookverse.dto.UserRegistrationDTO;
 import com.bookverse.dto.UserUpdateDTO;
 import com.bookverse.entity.User;
 import com.bookverse.repository.UserRepository;
+import com.bookverse.security.PasswordHashingExecutor;
+import com.bookverse.security.UserDetailsCache;
 import com.bookverse.service.UserService;
 import com.bookverse.service.mapper.EntityMapper;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -22,27 +23,29 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHasher;
+    private final UserDetailsCache userDetailsCache;
 
+    // Not transactional: hashing may queue, and must not hold a pooled connection meanwhile.
+    // The unique email constraint still rejects a concurrent duplicate at insert
     @Override
-    @Transactional
     public UserDTO register(UserRegistrationDTO request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already in use");
         }
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.encode(request.getPassword()));
         user.setName(request.getName());
         User saved = userRepository.save(user);
         return EntityMapper.toUserDTO(saved);
     }
 
+    // Not transactional, like register: the lookup commits before the password check starts
     @Override
-    @Transactional(readOnly = true)
     public Optional<UserDTO> login(UserLoginDTO request) {
         return userRepository.findByEmail(request.getEmail())
-                .filter(u -> passwordEncoder.matches(request.getPassword(), u.getPassword()))
+                .filter(u -> passwordHasher.matches(request.getPassword(), u.getPassword()))
                 .map(EntityMapper::toUserDTO);
     }
 
@@ -64,8 +67,9 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(userId).map(EntityMapper::toUserDTO);
     }
 
+    // Not transactional, like register: the lookups commit before the new password is hashed,
+    // so no pooled connection is held meanwhile, and save merges the changes in its own transaction
     @Override
-    @Transactional
     public Optional<UserDTO> updateProfile(String email, UserUpdateDTO request) {
         return userRepository.findByEmail(email)
                 .map(user -> {
@@ -80,9 +84,10 @@ public class UserServiceImpl implements UserService {
                         user.setEmail(request.getEmail());
                     }
                     if (request.getPassword() != null) {
-                        user.setPassword(passwordEncoder.encode(request.getPassword()));
+                        user.setPassword(passwordHasher.encode(request.getPassword()));
                     }
                     User saved = userRepository.save(user);
+                    userDetailsCache.evict(email);
                     return EntityMapper.toUserDTO(saved);
                 });
     }
@@ -93,6 +98,7 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmail(email)
                 .map(user -> {
                     userRepository.delete(user);
+                    userDetailsCache.evict(email);
                     return true;
                 })
                 .orElse(false);
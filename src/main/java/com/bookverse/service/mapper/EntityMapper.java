@@ -6,8 +6,13 @@ import com.bookverse.entity.BookGenre;
 import com.bookverse.entity.Favorite;
 import com.bookverse.entity.Review;
 import com.bookverse.entity.User;
+import com.bookverse.repository.BookSummary;
+import com.bookverse.service.genre.BookGenreMap;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -37,6 +42,29 @@ public final class EntityMapper {
                 .build();
     }
 
+    public static BookDTO toBookDTO(BookSummary book, List<String> genres) {
+        if (book == null) return null;
+        return BookDTO.builder()
+                .id(book.id())
+                .title(book.title())
+                .author(book.author())
+                .coverImageUrl(book.coverImageUrl())
+                .publishedYear(book.publishedYear())
+                .averageRating(book.averageRating())
+                .reviewCount(book.reviewCount())
+                .genres(genres)
+                .build();
+    }
+
+    public static List<BookDTO> toBookDTOs(List<BookSummary> books, BookGenreMap genres) {
+        List<BookDTO> result = new ArrayList<>(books.size());
+        for (BookSummary book : books) {
+            List<String> names = genres.get(book.id()).stream().map(Enum::name).collect(Collectors.toList());
+            result.add(toBookDTO(book, names));
+        }
+        return result;
+    }
+
     public static BookDetailDTO toBookDetailDTO(Book book) {
         if (book == null) return null;
         return BookDetailDTO.builder()
@@ -49,6 +77,7 @@ public final class EntityMapper {
                 .averageRating(book.getAverageRating())
                 .reviewCount(book.getReviewCount())
                 .genres(safeGenres(book))
+                .ratingDistribution(ratingDistribution(book))
                 .build();
     }
 
@@ -89,15 +118,45 @@ public final class EntityMapper {
                 .collect(Collectors.toList());
     }
 
+    // Read from the maintained per-star counts, ordered 1..5
+    private static Map<Integer, Integer> ratingDistribution(Book book) {
+        int[] histogram = book.getRatingHistogram();
+        Map<Integer, Integer> distribution = new LinkedHashMap<>();
+        for (int rating = 1; rating <= 5; rating++) {
+            distribution.put(rating, histogram[rating]);
+        }
+        return distribution;
+    }
+
     public static <T> PageResponse<T> toPageResponse(List<T> items, int page, int size, long total) {
+        return toPageResponse(items, page, size, total, null);
+    }
+
+    public static <T> PageResponse<T> toPageResponse(List<T> items, int page, int size, long total, String nextCursor) {
         int totalPages = (int) Math.ceil(total / (double) size);
+        return toPageResponse(items, page, size, total, PaginationDTO.TotalType.EXACT, page + 1 < totalPages, nextCursor);
+    }
+
+    // Keyset page: no page number
+    public static <T> PageResponse<T> toCursorPageResponse(List<T> items, int size, long total,
+                                                           PaginationDTO.TotalType totalType, String nextCursor) {
+        return toPageResponse(items, -1, size, total, totalType, nextCursor != null, nextCursor);
+    }
+
+    // total is ignored (-1) when totalType is UNKNOWN; hasNext then comes from fetching one row past the page
+    public static <T> PageResponse<T> toPageResponse(List<T> items, int page, int size, long total,
+                                                     PaginationDTO.TotalType totalType, boolean hasNext, String nextCursor) {
+        boolean counted = totalType != PaginationDTO.TotalType.UNKNOWN;
         PaginationDTO pagination = PaginationDTO.builder()
                 .page(page)
                 .size(size)
-                .totalElements(total)
-                .totalPages(totalPages)
+                .totalElements(counted ? total : -1)
+                .totalPages(counted ? (int) Math.ceil(total / (double) size) : -1)
+                .totalType(totalType)
+                .hasNext(hasNext)
                 .first(page == 0)
-                .last(page + 1 >= totalPages)
+                .last(!hasNext)
+                .nextCursor(hasNext ? nextCursor : null)
                 .build();
         return PageResponse.<T>builder().items(items).pagination(pagination).build();
     }
@@ -0,0 +1,46 @@
+package com.bookverse.service.paging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived totals for {@link CountMode#APPROXIMATE} listings. A total is counted once per
+ * key and reused until it expires, so scrolling a listing does not repeat its COUNT per page.
+ */
+@Component
+public class CountCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public CountCache(@Value("${app.pagination.count-cache.ttl-seconds:60}") long ttlSeconds,
+                      @Value("${app.pagination.count-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public long get(String key, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.count();
+        }
+        long count = counter.getAsLong();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(count, now + ttlMillis));
+        return count;
+    }
+
+    private record Entry(long count, long expiresAt) {
+    }
+}
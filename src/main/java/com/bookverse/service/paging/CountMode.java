@@ -0,0 +1,39 @@
+package com.bookverse.service.paging;
+
+import com.bookverse.dto.PaginationDTO;
+
+import java.util.Locale;
+
+/**
+ * How a paginated listing fills in its total, selected per request with {@code total}.
+ */
+public enum CountMode {
+
+    // Separate COUNT query
+    EXACT,
+
+    // Cached count or denormalized statistic; the page itself is fetched as a slice
+    APPROXIMATE,
+
+    // No count at all, only whether another page exists
+    NONE;
+
+    public static CountMode fromParam(String value, CountMode defaultMode) {
+        if (value == null || value.isBlank()) {
+            return defaultMode;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid total mode: " + value + " (expected exact, approximate or none)");
+        }
+    }
+
+    public PaginationDTO.TotalType totalType() {
+        return switch (this) {
+            case EXACT -> PaginationDTO.TotalType.EXACT;
+            case APPROXIMATE -> PaginationDTO.TotalType.APPROXIMATE;
+            case NONE -> PaginationDTO.TotalType.UNKNOWN;
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.bookverse.service.paging;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Position of the last row served by a keyset page: the sort it was issued for plus that
+ * row's sort value and id. The next page seeks to rows strictly after {@code (value, id)}
+ * in sort order instead of skipping an OFFSET.
+ *
+ * The optional source names what answered the page when several backends can, since they
+ * need not agree on which rows match or how values compare; callers only resume a cursor
+ * on the source that issued it.
+ */
+public record SeekCursor(String sort, String source, String value, long id) {
+
+    public static SeekCursor of(Sort.Order order, Object value, long id) {
+        return of(order, null, value, id);
+    }
+
+    public static SeekCursor of(Sort.Order order, String source, Object value, long id) {
+        return new SeekCursor(sortKey(order), source, value != null ? value.toString() : "", id);
+    }
+
+    // Opaque to clients: URL-safe Base64 of "sort[@source]|id|value"; value goes last so it may contain '|'
+    public String encode() {
+        String raw = sort + (source != null ? "@" + source : "") + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SeekCursor decode(String token, Sort.Order order) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int at = parts[0].indexOf('@');
+        String sort = at >= 0 ? parts[0].substring(0, at) : parts[0];
+        if (parts.length != 3 || !sort.equals(sortKey(order))) {
+            // Cursors are only valid for the sort they were issued with
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new SeekCursor(sort, at >= 0 ? parts[0].substring(at + 1) : null, parts[2], Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public int intValue() {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public double doubleValue() {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String sortKey(Sort.Order order) {
+        return order.getProperty() + ":" + order.getDirection().name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Paging package for keyset (seek) pagination.
+ * Contains the cursor tokens handed to clients to resume a listing where the last page ended.
+ */
+package com.bookverse.service.paging;
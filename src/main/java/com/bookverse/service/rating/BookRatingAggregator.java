@@ -0,0 +1,73 @@
+package com.bookverse.service.rating;
+
+import com.bookverse.repository.BookRepository;
+import com.bookverse.service.cache.BookCache;
+import com.bookverse.service.search.BookSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Maintains {@code books.review_count}, {@code rating_sum}, {@code average_rating} and the
+ * per-star {@code rating_N_count} histogram by applying each review write as a delta in one
+ * UPDATE, so the cost does not grow with the number of reviews a book has.
+ *
+ * With {@code app.rating.write-behind.enabled} the delta is buffered after commit instead and
+ * {@link RatingWriteBehindFlusher} applies it, so bursts on one book stop queueing on its row lock.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookRatingAggregator {
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final RatingDeltaBuffer ratingDeltaBuffer;
+    private final BookCache bookCache;
+
+    @Value("${app.rating.write-behind.enabled:false}")
+    private boolean writeBehind = false;
+
+    // A null removedRating is a new review, a null addedRating a deleted one, both set an edit
+    public void applyRatingChange(Long bookId, Integer removedRating, Integer addedRating) {
+        int countDelta = (addedRating != null ? 1 : 0) - (removedRating != null ? 1 : 0);
+        long sumDelta = (addedRating != null ? addedRating : 0) - (removedRating != null ? removedRating : 0);
+        if (countDelta == 0 && sumDelta == 0) {
+            return;
+        }
+        if (writeBehind) {
+            // Only committed reviews may reach the buffer; a rolled back write leaves no delta
+            afterCommit(() -> ratingDeltaBuffer.add(bookId, removedRating, addedRating));
+            return;
+        }
+        bookRepository.applyRatingDelta(bookId, countDelta, sumDelta,
+                removedRating != null ? removedRating : 0, addedRating != null ? addedRating : 0);
+
+        // The bulk UPDATE skips entity listeners; our row lock is held until commit, so the
+        // values read back here are the committed ones
+        List<Object[]> rows = bookRepository.findRatingStats(bookId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        Double averageRating = (Double) rows.get(0)[0];
+        Integer reviewCount = (Integer) rows.get(0)[1];
+        bookCache.onRatingChanged(bookId, averageRating);
+        afterCommit(() -> bookSearchIndex.updateRatingStats(bookId, averageRating, reviewCount));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookverse.service.rating;
+
+/**
+ * Net change to one book's rating aggregates: review count, rating sum and the per-star
+ * histogram buckets. Deltas commute, so any number of review writes merge into one.
+ */
+final class RatingDelta {
+
+    private int countDelta;
+    private long sumDelta;
+    // Indexed by star rating; index 0 is unused
+    private final int[] bucketDeltas = new int[6];
+
+    void apply(Integer removedRating, Integer addedRating) {
+        if (removedRating != null) {
+            countDelta--;
+            sumDelta -= removedRating;
+            bucket(removedRating, -1);
+        }
+        if (addedRating != null) {
+            countDelta++;
+            sumDelta += addedRating;
+            bucket(addedRating, 1);
+        }
+    }
+
+    void merge(RatingDelta other) {
+        countDelta += other.countDelta;
+        sumDelta += other.sumDelta;
+        for (int rating = 1; rating <= 5; rating++) {
+            bucketDeltas[rating] += other.bucketDeltas[rating];
+        }
+    }
+
+    boolean isZero() {
+        if (countDelta != 0 || sumDelta != 0) {
+            return false;
+        }
+        for (int rating = 1; rating <= 5; rating++) {
+            if (bucketDeltas[rating] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int countDelta() {
+        return countDelta;
+    }
+
+    long sumDelta() {
+        return sumDelta;
+    }
+
+    int bucketDelta(int rating) {
+        return bucketDeltas[rating];
+    }
+
+    private void bucket(int rating, int delta) {
+        if (rating >= 1 && rating <= 5) {
+            bucketDeltas[rating] += delta;
+        }
+    }
+}
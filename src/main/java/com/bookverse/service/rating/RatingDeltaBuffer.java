@@ -0,0 +1,91 @@
+package com.bookverse.service.rating;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Committed rating changes waiting for the write-behind flush, one merged {@link RatingDelta}
+ * per book. Books are spread over lock stripes, so reviews of different books rarely contend
+ * and a burst on one book only ever touches one small map entry instead of the books row.
+ */
+@Component
+public class RatingDeltaBuffer {
+
+    private final Stripe[] stripes;
+
+    @Autowired
+    public RatingDeltaBuffer(@Value("${app.rating.write-behind.stripes:16}") int stripes) {
+        // Power of two so the stripe is a mask of the book id hash
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public void add(Long bookId, Integer removedRating, Integer addedRating) {
+        Stripe stripe = stripeFor(bookId);
+        synchronized (stripe) {
+            stripe.pending.computeIfAbsent(bookId, id -> new RatingDelta()).apply(removedRating, addedRating);
+        }
+    }
+
+    // Puts back deltas whose flush failed, merging with anything buffered since
+    void requeue(Map<Long, RatingDelta> deltas) {
+        deltas.forEach((bookId, delta) -> {
+            Stripe stripe = stripeFor(bookId);
+            synchronized (stripe) {
+                stripe.pending.merge(bookId, delta, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                });
+            }
+        });
+    }
+
+    // Swaps out every stripe's pending map; the result is ordered by book id so batched
+    // UPDATEs always lock books rows in the same order
+    Map<Long, RatingDelta> drain() {
+        Map<Long, RatingDelta> drained = new TreeMap<>();
+        for (Stripe stripe : stripes) {
+            Map<Long, RatingDelta> pending;
+            synchronized (stripe) {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                pending = stripe.pending;
+                stripe.pending = new HashMap<>();
+            }
+            pending.forEach((bookId, delta) -> {
+                if (!delta.isZero()) {
+                    drained.put(bookId, delta);
+                }
+            });
+        }
+        return drained;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.pending.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(Long bookId) {
+        int h = bookId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        private Map<Long, RatingDelta> pending = new HashMap<>();
+    }
+}
@@ -0,0 +1,137 @@
+package com.bookverse.service.rating;
+
+import com.bookverse.repository.BookRepository;
+import com.bookverse.service.cache.BookCache;
+import com.bookverse.service.search.BookSearchIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies buffered rating deltas to {@code books} in batched UPDATEs on a fixed delay.
+ *
+ * The reviews table stays the source of truth: deltas still in memory when the process dies
+ * are lost, and {@link #reconcile()} recomputes the aggregates from reviews to restore them.
+ * Reconciling is opt-in: it rewrites every book, and any other instance still holding
+ * buffered deltas would apply them on top of the recomputed totals and count them twice,
+ * so it is only safe while this is the only instance running.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rating.write-behind.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RatingWriteBehindFlusher {
+
+    static final String APPLY_DELTA_SQL = "UPDATE books SET " +
+            "review_count = COALESCE(review_count, 0) + ?, " +
+            "rating_sum = COALESCE(rating_sum, 0) + ?, " +
+            "average_rating = CASE WHEN COALESCE(review_count, 0) + ? > 0 " +
+            "THEN (COALESCE(rating_sum, 0) + ?) * 1.0 / (COALESCE(review_count, 0) + ?) ELSE 0.0 END, " +
+            "rating_1_count = COALESCE(rating_1_count, 0) + ?, " +
+            "rating_2_count = COALESCE(rating_2_count, 0) + ?, " +
+            "rating_3_count = COALESCE(rating_3_count, 0) + ?, " +
+            "rating_4_count = COALESCE(rating_4_count, 0) + ?, " +
+            "rating_5_count = COALESCE(rating_5_count, 0) + ? " +
+            "WHERE id = ?";
+
+    static final String RECONCILE_SQL = "UPDATE books SET " +
+            "review_count = (SELECT COUNT(*) FROM reviews r WHERE r.book_id = books.id), " +
+            "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.book_id = books.id), " +
+            "average_rating = COALESCE((SELECT AVG(r.rating * 1.0) FROM reviews r WHERE r.book_id = books.id), 0.0), " +
+            "rating_1_count = (SELECT COUNT(*) FROM reviews r WHERE r.book_id = books.id AND r.rating = 1), " +
+            "rating_2_count = (SELECT COUNT(*) FROM reviews r WHERE r.book_id = books.id AND r.rating = 2), " +
+            "rating_3_count = (SELECT COUNT(*) FROM reviews r WHERE r.book_id = books.id AND r.rating = 3), " +
+            "rating_4_count = (SELECT COUNT(*) FROM reviews r WHERE r.book_id = books.id AND r.rating = 4), " +
+            "rating_5_count = (SELECT COUNT(*) FROM reviews r WHERE r.book_id = books.id AND r.rating = 5)";
+
+    private final RatingDeltaBuffer ratingDeltaBuffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCache bookCache;
+
+    @Value("${app.rating.write-behind.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.rating.write-behind.reconcile-on-startup:false}")
+    private boolean reconcileOnStartup = false;
+
+    @PostConstruct
+    public void onStartup() {
+        if (reconcileOnStartup) {
+            log.warn("Reconciling rating aggregates on startup; other instances must not be running");
+            long start = System.currentTimeMillis();
+            int books = reconcile();
+            log.info("Reconciled rating aggregates of {} books from reviews in {} ms",
+                    books, System.currentTimeMillis() - start);
+        }
+    }
+
+    // Recomputes every book's aggregates from the reviews table; single-instance only, see above
+    public int reconcile() {
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(RECONCILE_SQL));
+        return updated != null ? updated : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rating.write-behind.flush-interval-ms:500}")
+    public int flush() {
+        Map<Long, RatingDelta> deltas = ratingDeltaBuffer.drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((bookId, delta) -> rows.add(new Object[]{
+                delta.countDelta(), delta.sumDelta(),
+                delta.countDelta(), delta.sumDelta(), delta.countDelta(),
+                delta.bucketDelta(1), delta.bucketDelta(2), delta.bucketDelta(3),
+                delta.bucketDelta(4), delta.bucketDelta(5),
+                bookId}));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Nothing was committed; retry with the next flush
+            ratingDeltaBuffer.requeue(deltas);
+            log.warn("Rating write-behind flush of {} books failed, requeued: {}", deltas.size(), e.getMessage());
+            return 0;
+        }
+        refreshSearchIndex(new ArrayList<>(deltas.keySet()));
+        return deltas.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (ratingDeltaBuffer.size() > 0) {
+            log.warn("{} books still had buffered rating deltas at shutdown; a reconcile will restore them",
+                    ratingDeltaBuffer.size());
+        } else if (flushed > 0) {
+            log.info("Flushed rating deltas of {} books on shutdown", flushed);
+        }
+    }
+
+    // The batch bypasses entity listeners, so push the new values to the index and cache directly
+    private void refreshSearchIndex(List<Long> bookIds) {
+        for (int from = 0; from < bookIds.size(); from += batchSize) {
+            for (Object[] row : bookRepository.findRatingStatsByIds(bookIds.subList(from, Math.min(bookIds.size(), from + batchSize)))) {
+                bookSearchIndex.updateRatingStats((Long) row[0], (Double) row[1], (Integer) row[2]);
+                bookCache.onRatingChanged((Long) row[0], (Double) row[1]);
+            }
+        }
+    }
+}
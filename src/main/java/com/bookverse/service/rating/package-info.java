@@ -0,0 +1,6 @@
+/**
+ * Rating package for book rating aggregates.
+ * Contains the components that keep each book's review count, average rating and rating histogram in step
+ * with review writes, either immediately or through the write-behind buffer.
+ */
+package com.bookverse.service.rating;
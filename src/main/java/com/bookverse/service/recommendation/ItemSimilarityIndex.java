@@ -0,0 +1,34 @@
+package com.bookverse.service.recommendation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Holds the current {@link ItemSimilarityModel}. Rebuilds swap in a whole new model, so
+ * requests never see a partially built one and never wait on a rebuild.
+ */
+@Component
+public class ItemSimilarityIndex {
+
+    private volatile ItemSimilarityModel model = ItemSimilarityModel.EMPTY;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public ItemSimilarityModel getModel() {
+        return model;
+    }
+
+    public void publish(ItemSimilarityModel next) {
+        model = next;
+        ready = true;
+    }
+
+    public List<Long> recommend(Collection<Long> seedBookIds, int limit) {
+        return model.recommend(seedBookIds, limit);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bookverse.service.recommendation;
+
+import com.bookverse.repository.FavoriteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSimilarityLoader {
+
+    private final FavoriteRepository favoriteRepository;
+    private final ItemSimilarityIndex itemSimilarityIndex;
+
+    @Value("${app.recommendation.item-similarity.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.recommendation.item-similarity.metric:cosine}")
+    private String metric = "cosine";
+
+    @Value("${app.recommendation.item-similarity.max-neighbors:20}")
+    private int maxNeighbors = 20;
+
+    @Value("${app.recommendation.item-similarity.min-co-occurrences:1}")
+    private int minCoOccurrences = 1;
+
+    @Value("${app.recommendation.item-similarity.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // Favorites drift slowly; a periodic full rebuild keeps the model simple and lock-free
+    @Scheduled(fixedDelayString = "${app.recommendation.item-similarity.refresh-interval-ms:600000}",
+            initialDelayString = "${app.recommendation.item-similarity.refresh-interval-ms:600000}")
+    public void refresh() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, List<Long>> baskets = new HashMap<>();
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = favoriteRepository.findFavoriteRowsAfter(afterId, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                baskets.computeIfAbsent((Long) row[1], userId -> new ArrayList<>()).add((Long) row[2]);
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        ItemSimilarityModel.Builder builder = new ItemSimilarityModel.Builder();
+        baskets.values().forEach(builder::addBasket);
+        ItemSimilarityModel model = builder.build(SimilarityMetric.fromProperty(metric), maxNeighbors, minCoOccurrences);
+        itemSimilarityIndex.publish(model);
+        log.info("Built item similarity model for {} books ({} neighbors) in {} ms",
+                model.size(), model.neighborCount(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,181 @@
+package com.bookverse.service.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable top-K neighbor lists per book, built from co-favorite counts.
+ *
+ * Books are dense docs ordered by book id, so a lookup is a binary search over
+ * {@code bookIds}; doc {@code d}'s neighbors are {@code neighbors[offsets[d] .. offsets[d + 1])}
+ * with matching {@code scores}, best first.
+ */
+public final class ItemSimilarityModel {
+
+    static final ItemSimilarityModel EMPTY = new ItemSimilarityModel(new long[0], new int[]{0}, new int[0], new float[0]);
+
+    private final long[] bookIds;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final float[] scores;
+
+    private ItemSimilarityModel(long[] bookIds, int[] offsets, int[] neighbors, float[] scores) {
+        this.bookIds = bookIds;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.scores = scores;
+    }
+
+    public int size() {
+        return bookIds.length;
+    }
+
+    public int neighborCount() {
+        return neighbors.length;
+    }
+
+    // Neighbor book ids of one book, most similar first
+    public List<Long> neighborsOf(Long bookId) {
+        int doc = Arrays.binarySearch(bookIds, bookId);
+        if (doc < 0) {
+            return List.of();
+        }
+        List<Long> result = new ArrayList<>(offsets[doc + 1] - offsets[doc]);
+        for (int i = offsets[doc]; i < offsets[doc + 1]; i++) {
+            result.add(bookIds[neighbors[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Sums the similarity of every neighbor of the seed books and returns the best
+     * {@code limit} book ids, excluding the seeds themselves. Ties go to the lower book id.
+     */
+    public List<Long> recommend(Collection<Long> seedBookIds, int limit) {
+        Map<Integer, Double> totals = new HashMap<>();
+        Set<Integer> seeds = new HashSet<>();
+        for (Long seed : seedBookIds) {
+            int doc = Arrays.binarySearch(bookIds, seed);
+            if (doc < 0) {
+                continue;
+            }
+            seeds.add(doc);
+            for (int i = offsets[doc]; i < offsets[doc + 1]; i++) {
+                totals.merge(neighbors[i], (double) scores[i], Double::sum);
+            }
+        }
+        seeds.forEach(totals::remove);
+        TopKHeap top = new TopKHeap(limit);
+        totals.forEach((doc, total) -> top.offer(bookIds[doc], total));
+        return top.toList();
+    }
+
+    /**
+     * Collects favorite baskets (the books one user favorited) and turns their pair counts
+     * into neighbor lists. Runs off the request path, so boxed maps are acceptable here.
+     */
+    public static final class Builder {
+
+        // Bounds the quadratic pair count of a single very large basket
+        static final int MAX_BASKET = 500;
+
+        private final Map<Long, Integer> docsByBookId = new HashMap<>();
+        private final List<Long> bookIdsByDoc = new ArrayList<>();
+        private final List<Integer> degrees = new ArrayList<>();
+        // (lowerDoc << 32 | higherDoc) -> number of baskets holding both
+        private final Map<Long, Integer> coOccurrences = new HashMap<>();
+
+        public void addBasket(Collection<Long> basket) {
+            int[] docs = basket.stream()
+                    .distinct()
+                    .limit(MAX_BASKET)
+                    .mapToInt(this::docOf)
+                    .sorted()
+                    .toArray();
+            for (int i = 0; i < docs.length; i++) {
+                degrees.set(docs[i], degrees.get(docs[i]) + 1);
+                for (int j = i + 1; j < docs.length; j++) {
+                    coOccurrences.merge(((long) docs[i] << 32) | docs[j], 1, Integer::sum);
+                }
+            }
+        }
+
+        public ItemSimilarityModel build(SimilarityMetric metric, int maxNeighbors, int minCoOccurrences) {
+            int n = bookIdsByDoc.size();
+            if (n == 0) {
+                return EMPTY;
+            }
+            // Renumber docs in book id order so lookups can binary search
+            Integer[] byBookId = new Integer[n];
+            for (int doc = 0; doc < n; doc++) {
+                byBookId[doc] = doc;
+            }
+            Arrays.sort(byBookId, (a, b) -> Long.compare(bookIdsByDoc.get(a), bookIdsByDoc.get(b)));
+            long[] bookIds = new long[n];
+            int[] renumbered = new int[n];
+            for (int i = 0; i < n; i++) {
+                bookIds[i] = bookIdsByDoc.get(byBookId[i]);
+                renumbered[byBookId[i]] = i;
+            }
+
+            List<List<Neighbor>> candidates = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                candidates.add(new ArrayList<>());
+            }
+            coOccurrences.forEach((pair, count) -> {
+                if (count < minCoOccurrences) {
+                    return;
+                }
+                int a = (int) (pair >>> 32);
+                int b = (int) (long) pair;
+                float score = (float) metric.score(count, degrees.get(a), degrees.get(b));
+                candidates.get(renumbered[a]).add(new Neighbor(renumbered[b], score));
+                candidates.get(renumbered[b]).add(new Neighbor(renumbered[a], score));
+            });
+
+            int[] offsets = new int[n + 1];
+            int total = 0;
+            for (int doc = 0; doc < n; doc++) {
+                List<Neighbor> list = candidates.get(doc);
+                list.sort(Neighbor.BEST_FIRST);
+                if (list.size() > maxNeighbors) {
+                    list.subList(maxNeighbors, list.size()).clear();
+                }
+                total += list.size();
+                offsets[doc + 1] = total;
+            }
+            int[] neighbors = new int[total];
+            float[] scores = new float[total];
+            for (int doc = 0; doc < n; doc++) {
+                int i = offsets[doc];
+                for (Neighbor candidate : candidates.get(doc)) {
+                    neighbors[i] = candidate.doc();
+                    scores[i] = candidate.score();
+                    i++;
+                }
+            }
+            return new ItemSimilarityModel(bookIds, offsets, neighbors, scores);
+        }
+
+        private int docOf(Long bookId) {
+            return docsByBookId.computeIfAbsent(bookId, id -> {
+                bookIdsByDoc.add(id);
+                degrees.add(0);
+                return bookIdsByDoc.size() - 1;
+            });
+        }
+
+        // Docs are in book id order, so the tie-break favors the lower book id
+        private record Neighbor(int doc, float score) {
+            static final Comparator<Neighbor> BEST_FIRST =
+                    Comparator.<Neighbor>comparingDouble(Neighbor::score).reversed().thenComparingInt(Neighbor::doc);
+        }
+    }
+}
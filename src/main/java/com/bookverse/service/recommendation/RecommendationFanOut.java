@@ -0,0 +1,115 @@
+package com.bookverse.service.recommendation;
+
+import com.bookverse.dto.RecommendationDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Computes independent recommendation sections concurrently on a bounded pool, so an
+ * aggregate response takes as long as its slowest section instead of their sum.
+ *
+ * Sections that time out or fail are left out of the result (partial results); a section
+ * rejecting its input with {@link IllegalArgumentException} still fails the whole call.
+ * A timed-out section is interrupted, and its transaction times out at the same deadline, so
+ * a query still running is cancelled by the driver instead of holding its connection.
+ */
+@Component
+@Slf4j
+public class RecommendationFanOut implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final PlatformTransactionManager transactionManager;
+    private final long timeoutMillis;
+
+    @Autowired
+    public RecommendationFanOut(PlatformTransactionManager transactionManager,
+                                @Value("${app.recommendation.fan-out.threads:4}") int threads,
+                                @Value("${app.recommendation.fan-out.queue-capacity:100}") int queueCapacity,
+                                @Value("${app.recommendation.fan-out.timeout-ms:2000}") long timeoutMillis) {
+        AtomicInteger counter = new AtomicInteger();
+        // Full queue rejects: that section is dropped rather than queueing unbounded work
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "recommendation-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.transactionManager = transactionManager;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Runs every section at once and returns their results in the given order
+    public List<RecommendationDTO> collect(Map<String, Supplier<List<RecommendationDTO>>> sections) {
+        // One shared deadline: all sections started together, so each gets the full timeout
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, Future<List<RecommendationDTO>>> futures = new LinkedHashMap<>();
+        sections.forEach((name, section) -> futures.put(name, submit(section, deadline)));
+
+        List<RecommendationDTO> results = new ArrayList<>();
+        futures.forEach((name, future) -> {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                results.addAll(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Recommendation section '{}' timed out after {} ms, omitting it", name, timeoutMillis);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IllegalArgumentException invalid) {
+                    throw invalid;
+                }
+                log.warn("Recommendation section '{}' failed, omitting it: {}", name, e.getCause().toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+            }
+        });
+        return results;
+    }
+
+    // A plain Future: unlike CompletableFuture, cancelling it interrupts the worker
+    private Future<List<RecommendationDTO>> submit(Supplier<List<RecommendationDTO>> section, long deadline) {
+        try {
+            return executor.submit(() -> readOnlyTransaction(deadline).execute(status -> section.get()));
+        } catch (RuntimeException rejected) {
+            return CompletableFuture.failedFuture(rejected);
+        }
+    }
+
+    // Worker threads are outside the request's open EntityManager, so lazy associations touched
+    // while mapping need a transaction of their own. It times out at the section's deadline and
+    // the timeout is applied to every query as the JDBC query timeout, in whole seconds rounded up
+    private TransactionTemplate readOnlyTransaction(long deadline) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (remainingMillis + 999) / 1000));
+        return transaction;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
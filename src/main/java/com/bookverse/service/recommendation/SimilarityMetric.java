@@ -0,0 +1,28 @@
+package com.bookverse.service.recommendation;
+
+import java.util.Locale;
+
+/**
+ * How a co-favorite count between two books is normalized, selected with
+ * {@code app.recommendation.item-similarity.metric}. Both keep books that everyone
+ * favorites from dominating every neighbor list.
+ */
+public enum SimilarityMetric {
+
+    // co / sqrt(favoritesA * favoritesB)
+    COSINE,
+
+    // co / (favoritesA + favoritesB - co)
+    JACCARD;
+
+    public static SimilarityMetric fromProperty(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    double score(int coOccurrences, int degreeA, int degreeB) {
+        return switch (this) {
+            case COSINE -> coOccurrences / Math.sqrt((double) degreeA * degreeB);
+            case JACCARD -> coOccurrences / (double) (degreeA + degreeB - coOccurrences);
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.bookverse.service.recommendation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the best {@code k} of a stream of scored ids in a bounded min-heap over parallel
+ * primitive arrays: O(n log k) with no boxing, instead of sorting all n candidates.
+ *
+ * Candidates rank by {@code primary} desc, then {@code secondary} desc, then id asc,
+ * so results are deterministic. The heap root is always the worst kept candidate.
+ */
+public final class TopKHeap {
+
+    private final long[] ids;
+    private final double[] primary;
+    private final double[] secondary;
+    private int size;
+
+    public TopKHeap(int k) {
+        int capacity = Math.max(0, k);
+        this.ids = new long[capacity];
+        this.primary = new double[capacity];
+        this.secondary = new double[capacity];
+    }
+
+    public void offer(long id, double primaryScore) {
+        offer(id, primaryScore, 0.0);
+    }
+
+    public void offer(long id, double primaryScore, double secondaryScore) {
+        if (size < ids.length) {
+            set(size, id, primaryScore, secondaryScore);
+            siftUp(size++);
+        } else if (size > 0 && better(id, primaryScore, secondaryScore, 0)) {
+            set(0, id, primaryScore, secondaryScore);
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Drains the heap, best first
+    public List<Long> toList() {
+        long[] drained = new long[size];
+        for (int i = size - 1; i >= 0; i--) {
+            drained[i] = ids[0];
+            size--;
+            if (size > 0) {
+                set(0, ids[size], primary[size], secondary[size]);
+                siftDown(0);
+            }
+        }
+        List<Long> result = new ArrayList<>(drained.length);
+        for (long id : drained) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int worst = right < size && worse(right, left) ? right : left;
+            if (!worse(worst, i)) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    // Whether slot a ranks below slot b
+    private boolean worse(int a, int b) {
+        return better(ids[b], primary[b], secondary[b], a);
+    }
+
+    // Whether the candidate ranks above the one in slot
+    private boolean better(long id, double p, double s, int slot) {
+        int cmp = Double.compare(p, primary[slot]);
+        if (cmp == 0) {
+            cmp = Double.compare(s, secondary[slot]);
+        }
+        if (cmp == 0) {
+            cmp = Long.compare(ids[slot], id);
+        }
+        return cmp > 0;
+    }
+
+    private void set(int slot, long id, double p, double s) {
+        ids[slot] = id;
+        primary[slot] = p;
+        secondary[slot] = s;
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        double p = primary[a];
+        double s = secondary[a];
+        set(a, ids[b], primary[b], secondary[b]);
+        set(b, id, p, s);
+    }
+}
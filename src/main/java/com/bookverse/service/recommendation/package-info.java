@@ -0,0 +1,5 @@
+/**
+ * Recommendation package for precomputed recommendation models.
+ * Contains the item-to-item similarity model built from favorites and the components that load and serve it.
+ */
+package com.bookverse.service.recommendation;
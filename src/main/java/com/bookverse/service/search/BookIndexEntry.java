@@ -0,0 +1,51 @@
+package com.bookverse.service.search;
+
+import com.bookverse.entity.Book;
+import com.bookverse.entity.BookGenre;
+import org.hibernate.Hibernate;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Flat copy of the searchable columns of a {@link Book}.
+ * A {@code null} genre set means "keep whatever the index already has".
+ */
+public record BookIndexEntry(
+        Long bookId,
+        String title,
+        String author,
+        Integer publishedYear,
+        Double averageRating,
+        Integer reviewCount,
+        Set<BookGenre.Genre> genres) {
+
+    public static BookIndexEntry from(Book book) {
+        Set<BookGenre.Genre> genres = null;
+        // Never trigger a lazy load from an entity callback
+        if (book.getGenres() != null && Hibernate.isInitialized(book.getGenres())) {
+            genres = EnumSet.noneOf(BookGenre.Genre.class);
+            for (BookGenre bookGenre : book.getGenres()) {
+                if (bookGenre.getGenre() != null) {
+                    genres.add(bookGenre.getGenre());
+                }
+            }
+        }
+        return new BookIndexEntry(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getPublishedYear(),
+                book.getAverageRating(),
+                book.getReviewCount(),
+                genres);
+    }
+
+    static byte genreMask(Set<BookGenre.Genre> genres) {
+        int mask = 0;
+        for (BookGenre.Genre genre : genres) {
+            mask |= 1 << genre.ordinal();
+        }
+        return (byte) mask;
+    }
+}
@@ -0,0 +1,612 @@
+package com.bookverse.service.search;
+
+import com.bookverse.dto.SearchCriteriaDTO;
+import com.bookverse.entity.BookGenre;
+import com.bookverse.service.paging.SeekCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Heap-resident search index over the book catalog.
+ *
+ * Books are assigned dense int doc ids; title and author terms (word tokens or
+ * trigrams, depending on the {@link SearchEngine}) map to sorted int posting lists,
+ * and the filter/sort columns live in parallel primitive arrays.
+ * Searches only touch the database to hydrate the returned page of ids.
+ */
+@Component
+@Slf4j
+public class BookSearchIndex {
+
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+
+    private final SearchEngine engine;
+    private final Object writeLock = new Object();
+    private volatile Segment segment;
+    private volatile boolean ready;
+
+    // Non-null while a rebuild is loading; those updates are replayed onto the new segment
+    private List<Consumer<Segment>> pendingUpdates;
+
+    @Autowired
+    public BookSearchIndex(@Value("${app.search.engine:token}") String engine) {
+        this(SearchEngine.fromProperty(engine));
+    }
+
+    public BookSearchIndex(SearchEngine engine) {
+        this.engine = engine;
+        this.segment = new Segment(engine);
+    }
+
+    public SearchEngine getEngine() {
+        return engine;
+    }
+
+    // Tags cursors issued from this index's answers: the engines match and order text
+    // differently from each other and from SQL, so a cursor only resumes on the engine that issued it
+    public String cursorSource() {
+        return engine.name().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return segment.liveCount;
+    }
+
+    public Builder newBuilder() {
+        synchronized (writeLock) {
+            pendingUpdates = new ArrayList<>();
+        }
+        return new Builder();
+    }
+
+    public void publish(Builder builder) {
+        Segment next = builder.build();
+        // Sort the rank tables here, on the rebuilding thread, instead of in the first searches
+        for (SortKey key : SortKey.values()) {
+            if (key.ranked) {
+                next.ranks(key, next.docCount);
+            }
+        }
+        synchronized (writeLock) {
+            if (pendingUpdates != null) {
+                pendingUpdates.forEach(update -> update.accept(next));
+                pendingUpdates = null;
+            }
+            segment = next;
+            ready = true;
+        }
+        log.info("Book search index published with {} books", next.liveCount);
+    }
+
+    public void upsert(BookIndexEntry entry) {
+        if (entry.bookId() == null) {
+            return;
+        }
+        apply(s -> s.upsert(entry));
+    }
+
+    public void remove(Long bookId) {
+        apply(s -> s.remove(bookId));
+    }
+
+    // For writes that bypass the entity listener, such as bulk rating updates
+    public void updateRatingStats(Long bookId, Double averageRating, Integer reviewCount) {
+        apply(s -> s.updateRatingStats(bookId, averageRating, reviewCount));
+    }
+
+    private void apply(Consumer<Segment> update) {
+        if (engine == SearchEngine.SQL) {
+            return;
+        }
+        synchronized (writeLock) {
+            update.accept(segment);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        }
+    }
+
+    /**
+     * Answers a search from memory, or returns empty when the index cannot answer it
+     * exactly (SQL engine, not built yet, unsupported sort, untokenizable query) so the
+     * caller falls back to SQL.
+     */
+    public Optional<SearchHits> search(SearchCriteriaDTO criteria, Sort sort, int offset, int limit) {
+        return search(criteria, sort, null, offset, limit);
+    }
+
+    // Keyset variant: hits start strictly after the cursor, total still counts every match
+    public Optional<SearchHits> search(SearchCriteriaDTO criteria, Sort sort, SeekCursor after, int limit) {
+        return search(criteria, sort, after, 0, limit);
+    }
+
+    private Optional<SearchHits> search(SearchCriteriaDTO criteria, Sort sort, SeekCursor after, int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("title"));
+        SortKey sortKey = SortKey.of(order.getProperty());
+        if (sortKey == null) {
+            return Optional.empty();
+        }
+
+        Segment s = segment;
+        int docCount = s.docCount; // read first: publishes the column arrays below
+
+        BitSet candidates = null;
+        if (StringUtils.hasText(criteria.getQuery())) {
+            candidates = s.match(s.titleTerms, s.titleKeys, criteria.getQuery(), docCount);
+            if (candidates == null) {
+                return Optional.empty();
+            }
+        }
+        if (StringUtils.hasText(criteria.getAuthor())) {
+            BitSet authorDocs = s.match(s.authorTerms, s.authorKeys, criteria.getAuthor(), docCount);
+            if (authorDocs == null) {
+                return Optional.empty();
+            }
+            if (candidates == null) {
+                candidates = authorDocs;
+            } else {
+                candidates.and(authorDocs);
+            }
+        }
+
+        int genreMask = 0;
+        if (criteria.getGenres() != null) {
+            for (BookGenre.Genre genre : criteria.getGenres()) {
+                genreMask |= 1 << genre.ordinal();
+            }
+        }
+        int minYear = criteria.getMinYear() != null ? criteria.getMinYear() : Integer.MIN_VALUE;
+        int maxYear = criteria.getMaxYear() != null ? criteria.getMaxYear() : Integer.MAX_VALUE;
+        boolean yearFilter = criteria.getMinYear() != null || criteria.getMaxYear() != null;
+        double minRating = criteria.getMinRating() != null ? criteria.getMinRating() : Double.NEGATIVE_INFINITY;
+
+        Ranks idRanks = s.ranks(SortKey.ID, docCount);
+        int[] primary = sortKey.ranked ? s.ranks(sortKey, docCount).rank() : null;
+        boolean descending = order.isDescending();
+        int capacity = candidates != null ? candidates.cardinality() : docCount;
+        int[] matched = new int[capacity];
+        // Each rating is read once, so a concurrent write cannot change it between filter and sort
+        double[] matchedRatings = new double[capacity];
+        int total = 0;
+        int count = 0;
+        int doc = candidates != null ? candidates.nextSetBit(0) : 0;
+        while (doc >= 0 && doc < docCount) {
+            double rating = s.ratings[doc];
+            if (!s.deleted[doc]
+                    && (genreMask == 0 || (s.genreMasks[doc] & genreMask) != 0)
+                    && (!yearFilter || (s.years[doc] != NO_YEAR && s.years[doc] >= minYear && s.years[doc] <= maxYear))
+                    && rating >= minRating) {
+                total++;
+                if (after == null || sortKey.isAfter(s, doc, rating, after, descending)) {
+                    matched[count] = doc;
+                    matchedRatings[count++] = rating;
+                }
+            }
+            doc = candidates != null ? candidates.nextSetBit(doc + 1) : doc + 1;
+        }
+
+        long[] keys = new long[count];
+        if (sortKey == SortKey.RATING) {
+            // Ratings change in place, so they are ranked among the matches instead of in a cached table
+            primary = rankAmong(matchedRatings, count);
+            for (int i = 0; i < count; i++) {
+                keys[i] = ((long) primary[i] << 32) | idRanks.rank()[matched[i]];
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                keys[i] = sortKey.key(s, matched[i], primary, idRanks.rank());
+            }
+        }
+        Arrays.sort(keys);
+        int[] docsByIdRank = idRanks.inverse();
+        List<Long> bookIds = new ArrayList<>(Math.max(0, Math.min(limit, count - offset)));
+        for (int i = offset; i < count && bookIds.size() < limit; i++) {
+            long key = keys[descending ? count - 1 - i : i];
+            bookIds.add(s.bookIds[docsByIdRank[(int) (key & 0xFFFFFFFFL)]]);
+        }
+        return Optional.of(new SearchHits(total, bookIds));
+    }
+
+    // Dense rank of each value among the first count values, in Double.compare order
+    private static int[] rankAmong(double[] values, int count) {
+        double[] distinct = Arrays.copyOf(values, count);
+        Arrays.sort(distinct);
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (n == 0 || Double.compare(distinct[n - 1], distinct[i]) != 0) {
+                distinct[n++] = distinct[i];
+            }
+        }
+        int[] ranks = new int[count];
+        for (int i = 0; i < count; i++) {
+            ranks[i] = Arrays.binarySearch(distinct, 0, n, values[i]);
+        }
+        return ranks;
+    }
+
+    /**
+     * Sort keys the index can answer. Every key is made unique by breaking ties on the
+     * book id rank, packed into the low 32 bits of a sortable long. Ranked keys sort by a
+     * cached rank table over columns that never change once a doc is appended.
+     */
+    enum SortKey {
+        TITLE(true),
+        AUTHOR(true),
+        RATING(false),
+        ID(true),
+        PUBLISHED_YEAR(false);
+
+        private final boolean ranked;
+
+        SortKey(boolean ranked) {
+            this.ranked = ranked;
+        }
+
+        static SortKey of(String property) {
+            return switch (property) {
+                case "title" -> TITLE;
+                case "author" -> AUTHOR;
+                case "id" -> ID;
+                case "publishedYear" -> PUBLISHED_YEAR;
+                case "averageRating" -> RATING;
+                default -> null;
+            };
+        }
+
+        long key(Segment s, int doc, int[] primary, int[] idRanks) {
+            long tieBreak = idRanks[doc];
+            return switch (this) {
+                case ID -> tieBreak;
+                case PUBLISHED_YEAR -> ((long) s.years[doc] << 32) | tieBreak;
+                default -> ((long) primary[doc] << 32) | tieBreak;
+            };
+        }
+
+        // Whether doc sorts strictly after the cursor's (value, book id) in the given direction
+        boolean isAfter(Segment s, int doc, double rating, SeekCursor cursor, boolean descending) {
+            int cmp = switch (this) {
+                case TITLE -> s.titleKeys[doc].compareTo(Segment.normalize(cursor.value()));
+                case AUTHOR -> s.authorKeys[doc].compareTo(Segment.normalize(cursor.value()));
+                case PUBLISHED_YEAR -> Integer.compare(s.years[doc], cursor.intValue());
+                case RATING -> Double.compare(rating, cursor.doubleValue());
+                case ID -> 0;
+            };
+            if (cmp == 0) {
+                cmp = Long.compare(s.bookIds[doc], cursor.id());
+            }
+            return descending ? cmp < 0 : cmp > 0;
+        }
+
+        Comparator<Integer> comparator(Segment s) {
+            Comparator<Integer> byId = Comparator.<Integer>comparingLong(doc -> s.bookIds[doc]).thenComparingInt(doc -> doc);
+            return switch (this) {
+                case TITLE -> Comparator.<Integer, String>comparing(doc -> s.titleKeys[doc]).thenComparing(byId);
+                case AUTHOR -> Comparator.<Integer, String>comparing(doc -> s.authorKeys[doc]).thenComparing(byId);
+                default -> byId;
+            };
+        }
+    }
+
+    // A table built for more docs than a reader sees still orders that reader's docs correctly
+    record Ranks(int docCount, int[] rank, int[] inverse) {
+    }
+
+    /**
+     * Accumulates a full index off to the side; posting lists are built as growable
+     * arrays and frozen once, instead of copy-on-write appends per book.
+     */
+    public final class Builder {
+        private final Segment target = new Segment(engine);
+        private final Map<String, IntList> titlePostings = new HashMap<>();
+        private final Map<String, IntList> authorPostings = new HashMap<>();
+
+        public void add(BookIndexEntry entry) {
+            if (entry.bookId() == null || target.docsByBookId.containsKey(entry.bookId())) {
+                return;
+            }
+            int doc = target.appendDoc(entry, entry.genres() != null ? BookIndexEntry.genreMask(entry.genres()) : 0);
+            for (String term : engine.terms(entry.title())) {
+                titlePostings.computeIfAbsent(term, t -> new IntList()).add(doc);
+            }
+            for (String term : engine.terms(entry.author())) {
+                authorPostings.computeIfAbsent(term, t -> new IntList()).add(doc);
+            }
+        }
+
+        private Segment build() {
+            titlePostings.forEach((term, docs) -> target.titleTerms.put(term, docs.toArray()));
+            authorPostings.forEach((term, docs) -> target.authorTerms.put(term, docs.toArray()));
+            return target;
+        }
+    }
+
+    /**
+     * Columns are only grown and written under the index write lock, and {@code docCount}
+     * is written last, so readers that read it first see fully populated arrays.
+     */
+    static final class Segment {
+        private final SearchEngine engine;
+        final NavigableMap<String, int[]> titleTerms = new ConcurrentSkipListMap<>();
+        final NavigableMap<String, int[]> authorTerms = new ConcurrentSkipListMap<>();
+        final Map<Long, Integer> docsByBookId = new ConcurrentHashMap<>();
+        private final Map<SortKey, Ranks> ranks = new ConcurrentHashMap<>();
+
+        long[] bookIds = new long[16];
+        String[] titleKeys = new String[16];
+        String[] authorKeys = new String[16];
+        int[] years = new int[16];
+        byte[] genreMasks = new byte[16];
+        double[] ratings = new double[16];
+        int[] reviewCounts = new int[16];
+        boolean[] deleted = new boolean[16];
+        volatile int docCount;
+        volatile int liveCount;
+
+        Segment(SearchEngine engine) {
+            this.engine = engine;
+        }
+
+        int appendDoc(BookIndexEntry entry, byte genreMask) {
+            int doc = docCount;
+            if (doc == bookIds.length) {
+                int capacity = doc * 2;
+                bookIds = Arrays.copyOf(bookIds, capacity);
+                titleKeys = Arrays.copyOf(titleKeys, capacity);
+                authorKeys = Arrays.copyOf(authorKeys, capacity);
+                years = Arrays.copyOf(years, capacity);
+                genreMasks = Arrays.copyOf(genreMasks, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                reviewCounts = Arrays.copyOf(reviewCounts, capacity);
+                deleted = Arrays.copyOf(deleted, capacity);
+            }
+            bookIds[doc] = entry.bookId();
+            titleKeys[doc] = normalize(entry.title());
+            authorKeys[doc] = normalize(entry.author());
+            genreMasks[doc] = genreMask;
+            writeStats(doc, entry);
+            docsByBookId.put(entry.bookId(), doc);
+            liveCount++;
+            docCount = doc + 1;
+            return doc;
+        }
+
+        void upsert(BookIndexEntry entry) {
+            Integer existing = docsByBookId.get(entry.bookId());
+            if (existing != null
+                    && normalize(entry.title()).equals(titleKeys[existing])
+                    && normalize(entry.author()).equals(authorKeys[existing])) {
+                // Text unchanged: update the columns in place
+                writeStats(existing, entry);
+                if (entry.genres() != null) {
+                    genreMasks[existing] = BookIndexEntry.genreMask(entry.genres());
+                }
+                return;
+            }
+            byte genreMask = entry.genres() != null
+                    ? BookIndexEntry.genreMask(entry.genres())
+                    : existing != null ? genreMasks[existing] : 0;
+            if (existing != null) {
+                remove(entry.bookId());
+            }
+            int doc = appendDoc(entry, genreMask);
+            for (String term : engine.terms(entry.title())) {
+                titleTerms.merge(term, new int[]{doc}, Segment::appendPosting);
+            }
+            for (String term : engine.terms(entry.author())) {
+                authorTerms.merge(term, new int[]{doc}, Segment::appendPosting);
+            }
+        }
+
+        void remove(Long bookId) {
+            Integer doc = docsByBookId.remove(bookId);
+            if (doc != null && !deleted[doc]) {
+                // Tombstone only; postings are compacted by the next rebuild
+                deleted[doc] = true;
+                liveCount--;
+            }
+        }
+
+        void updateRatingStats(Long bookId, Double averageRating, Integer reviewCount) {
+            Integer doc = docsByBookId.get(bookId);
+            if (doc != null) {
+                ratings[doc] = averageRating != null ? averageRating : 0.0;
+                reviewCounts[doc] = reviewCount != null ? reviewCount : 0;
+            }
+        }
+
+        private void writeStats(int doc, BookIndexEntry entry) {
+            years[doc] = entry.publishedYear() != null ? entry.publishedYear() : NO_YEAR;
+            ratings[doc] = entry.averageRating() != null ? entry.averageRating() : 0.0;
+            reviewCounts[doc] = entry.reviewCount() != null ? entry.reviewCount() : 0;
+        }
+
+        BitSet match(NavigableMap<String, int[]> terms, String[] keys, String text, int docCount) {
+            return engine == SearchEngine.TRIGRAM
+                    ? matchSubstring(terms, keys, normalize(text), docCount)
+                    : matchTokens(terms, text, docCount);
+        }
+
+        private BitSet matchTokens(NavigableMap<String, int[]> terms, String text, int docCount) {
+            Set<String> tokens = SearchEngine.tokenize(text);
+            if (tokens.isEmpty()) {
+                return null;
+            }
+            BitSet result = null;
+            for (String token : tokens) {
+                // Each query token matches every indexed term it is a prefix of
+                BitSet docs = new BitSet(docCount);
+                for (int[] postings : terms.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                    for (int doc : postings) {
+                        if (doc >= docCount) {
+                            break;
+                        }
+                        docs.set(doc);
+                    }
+                }
+                if (result == null) {
+                    result = docs;
+                } else {
+                    result.and(docs);
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        private BitSet matchSubstring(NavigableMap<String, int[]> terms, String[] keys, String needle, int docCount) {
+            BitSet result = new BitSet(docCount);
+            if (needle.length() < 3) {
+                // Too short to have a trigram: verify every doc, still without leaving memory
+                for (int doc = 0; doc < docCount; doc++) {
+                    if (keys[doc].contains(needle)) {
+                        result.set(doc);
+                    }
+                }
+                return result;
+            }
+            List<int[]> postings = new ArrayList<>();
+            for (String gram : SearchEngine.trigrams(needle)) {
+                int[] docs = terms.get(gram);
+                if (docs == null) {
+                    return result;
+                }
+                postings.add(docs);
+            }
+            // Intersect shortest-first, then verify: shared trigrams do not imply containment
+            postings.sort(Comparator.comparingInt(docs -> docs.length));
+            int[] candidates = postings.get(0);
+            for (int i = 1; i < postings.size() && candidates.length > 0; i++) {
+                candidates = intersect(candidates, postings.get(i));
+            }
+            for (int doc : candidates) {
+                if (doc < docCount && keys[doc].contains(needle)) {
+                    result.set(doc);
+                }
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        Ranks ranks(SortKey key, int docCount) {
+            Ranks cached = ranks.get(key);
+            if (cached != null && cached.docCount() >= docCount) {
+                return cached;
+            }
+            // Docs are append-only and their ranked columns never change, so a table only goes
+            // stale when docs are appended: sort just those and merge them into the cached order
+            Comparator<Integer> comparator = key.comparator(this);
+            int[] inverse = cached != null
+                    ? merge(cached.inverse(), sortRange(cached.docCount(), docCount, comparator), comparator)
+                    : sortRange(0, docCount, comparator);
+            int[] rank = new int[docCount];
+            for (int i = 0; i < docCount; i++) {
+                rank[inverse[i]] = i;
+            }
+            Ranks computed = new Ranks(docCount, rank, inverse);
+            // Concurrent readers may both extend the table; keep whichever covers more docs
+            return ranks.merge(key, computed, (a, b) -> a.docCount() >= b.docCount() ? a : b);
+        }
+
+        private static int[] sortRange(int from, int to, Comparator<Integer> comparator) {
+            Integer[] order = new Integer[to - from];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = from + i;
+            }
+            Arrays.sort(order, comparator);
+            int[] sorted = new int[order.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = order[i];
+            }
+            return sorted;
+        }
+
+        private static int[] merge(int[] a, int[] b, Comparator<Integer> comparator) {
+            int[] out = new int[a.length + b.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.length && j < b.length) {
+                out[n++] = comparator.compare(a[i], b[j]) <= 0 ? a[i++] : b[j++];
+            }
+            while (i < a.length) {
+                out[n++] = a[i++];
+            }
+            while (j < b.length) {
+                out[n++] = b[j++];
+            }
+            return out;
+        }
+
+        private static int[] appendPosting(int[] postings, int[] single) {
+            int[] grown = Arrays.copyOf(postings, postings.length + 1);
+            grown[postings.length] = single[0];
+            return grown;
+        }
+
+        private static String normalize(String text) {
+            return SearchEngine.normalize(text);
+        }
+    }
+
+    static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bookverse.service.search;
+
+import com.bookverse.entity.Book;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link BookSearchIndex} in step with book writes.
+ * Changes are applied after commit so searches never see rolled-back data.
+ */
+public class BookSearchIndexListener {
+
+    // Resolved lazily: entity listeners are created while the EntityManagerFactory is still starting
+    private final ObjectProvider<BookSearchIndex> bookSearchIndex;
+
+    public BookSearchIndexListener(ObjectProvider<BookSearchIndex> bookSearchIndex) {
+        this.bookSearchIndex = bookSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Book book) {
+        BookIndexEntry entry = BookIndexEntry.from(book);
+        afterCommit(() -> bookSearchIndex.ifAvailable(index -> index.upsert(entry)));
+    }
+
+    @PostRemove
+    public void onRemove(Book book) {
+        Long bookId = book.getId();
+        afterCommit(() -> bookSearchIndex.ifAvailable(index -> index.remove(bookId)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
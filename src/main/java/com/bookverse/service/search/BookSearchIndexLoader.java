@@ -0,0 +1,75 @@
+package com.bookverse.service.search;
+
+import com.bookverse.entity.BookGenre;
+import com.bookverse.repository.BookGenreRepository;
+import com.bookverse.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchIndexLoader {
+
+    private final BookRepository bookRepository;
+    private final BookGenreRepository bookGenreRepository;
+    private final BookSearchIndex bookSearchIndex;
+
+    @Value("${app.search.index.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (bookSearchIndex.getEngine() != SearchEngine.SQL) {
+            rebuild();
+        }
+    }
+
+    // Until the first rebuild is published, searches keep going to SQL
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        BookSearchIndex.Builder builder = bookSearchIndex.newBuilder();
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = bookRepository.findIndexRowsAfter(afterId, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Long> bookIds = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                bookIds.add((Long) row[0]);
+            }
+            Map<Long, Set<BookGenre.Genre>> genres = new HashMap<>();
+            for (Object[] row : bookGenreRepository.findGenresByBookIds(bookIds)) {
+                genres.computeIfAbsent((Long) row[0], id -> EnumSet.noneOf(BookGenre.Genre.class))
+                        .add((BookGenre.Genre) row[1]);
+            }
+            for (Object[] row : rows) {
+                Long bookId = (Long) row[0];
+                builder.add(new BookIndexEntry(
+                        bookId,
+                        (String) row[1],
+                        (String) row[2],
+                        (Integer) row[3],
+                        (Double) row[4],
+                        (Integer) row[5],
+                        genres.getOrDefault(bookId, Set.of())));
+            }
+            afterId = bookIds.get(bookIds.size() - 1);
+        }
+        bookSearchIndex.publish(builder);
+        log.info("Rebuilt book search index in {} ms", System.currentTimeMillis() - start);
+    }
+}
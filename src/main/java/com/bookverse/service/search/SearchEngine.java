@@ -0,0 +1,58 @@
+package com.bookverse.service.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * How {@code BookServiceImpl.searchBooks} matches title and author text, selected with
+ * {@code app.search.engine}.
+ */
+public enum SearchEngine {
+
+    // LIKE '%...%' against the database, no in-memory index
+    SQL,
+
+    // Word tokens; each query word matches indexed words it is a prefix of
+    TOKEN,
+
+    // Character trigrams; arbitrary substrings, verified against the stored text
+    TRIGRAM;
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public static SearchEngine fromProperty(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // Terms a text is indexed under
+    Set<String> terms(String text) {
+        return this == TRIGRAM ? trigrams(normalize(text)) : tokenize(text);
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SPLIT.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static Set<String> trigrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    static String normalize(String text) {
+        return text != null ? text.toLowerCase(Locale.ROOT) : "";
+    }
+}
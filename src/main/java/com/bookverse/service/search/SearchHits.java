@@ -0,0 +1,9 @@
+package com.bookverse.service.search;
+
+import java.util.List;
+
+/**
+ * One page of book ids answered by the in-memory index, in result order.
+ */
+public record SearchHits(long total, List<Long> bookIds) {
+}
@@ -0,0 +1,5 @@
+/**
+ * Search package for in-memory catalog indexes.
+ * Contains the book search index used ahead of the database for BookVerse searches.
+ */
+package com.bookverse.service.search;
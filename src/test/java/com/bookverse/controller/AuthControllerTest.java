@@ -2,6 +2,7 @@ package com.bookverse.controller;
 
 import com.bookverse.dto.*;
 import com.bookverse.security.JwtTokenProvider;
+import com.bookverse.security.LoginRateLimiter;
 import com.bookverse.service.TokenBlacklistService;
 import com.bookverse.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,6 +35,9 @@ class AuthControllerTest {
     @Mock
     private TokenBlacklistService tokenBlacklistService;
 
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @Mock
     private HttpServletRequest request;
 
@@ -89,7 +93,7 @@ class AuthControllerTest {
         when(tokenProvider.generateToken(anyString())).thenReturn("jwt-token");
 
         // Act
-        ResponseEntity<ApiResponse<AuthResponse>> response = authController.login(loginDTO);
+        ResponseEntity<ApiResponse<AuthResponse>> response = authController.login(loginDTO, request);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -109,7 +113,7 @@ class AuthControllerTest {
         when(userService.login(any(UserLoginDTO.class))).thenReturn(Optional.empty());
 
         // Act
-        ResponseEntity<ApiResponse<AuthResponse>> response = authController.login(loginDTO);
+        ResponseEntity<ApiResponse<AuthResponse>> response = authController.login(loginDTO, request);
 
         // Assert
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
@@ -119,6 +123,25 @@ class AuthControllerTest {
         verifyNoInteractions(tokenProvider);
     }
 
+    @Test
+    void login_WhenRateLimited_ShouldReturnTooManyRequestsWithoutCheckingCredentials() {
+        // Arrange
+        UserLoginDTO loginDTO = new UserLoginDTO();
+        loginDTO.setEmail("john@example.com");
+        loginDTO.setPassword("password123");
+        when(request.getRemoteAddr()).thenReturn("203.0.113.7");
+        when(loginRateLimiter.tryAcquire("203.0.113.7", "john@example.com")).thenReturn(12L);
+
+        // Act
+        ResponseEntity<ApiResponse<AuthResponse>> response = authController.login(loginDTO, request);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("12", response.getHeaders().getFirst("Retry-After"));
+        assertFalse(response.getBody().isSuccess());
+        verifyNoInteractions(userService, tokenProvider);
+    }
+
     @Test
     void logout_WithValidBearerToken_ShouldBlacklistTokenAndReturnSuccess() {
         // Arrange
@@ -3,13 +3,21 @@ package com.bookverse.controller;
 import com.bookverse.dto.*;
 import com.bookverse.entity.BookGenre;
 import com.bookverse.service.BookService;
+import com.bookverse.service.catalog.CatalogExporter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +32,9 @@ class BookControllerTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private CatalogExporter catalogExporter;
+
     @InjectMocks
     private BookController bookController;
 
@@ -39,7 +50,7 @@ class BookControllerTest {
 
         // Act
         ResponseEntity<ApiResponse<PageResponse<BookDTO>>> response = bookController.list(
-            "test", "Test Author", Arrays.asList(BookGenre.Genre.ROMANCE), 1900, 2024, 4.0, "title", "asc", 0, 20);
+            "test", "Test Author", Arrays.asList(BookGenre.Genre.ROMANCE), 1900, 2024, 4.0, "title", "asc", 0, 20, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -57,15 +68,48 @@ class BookControllerTest {
         when(bookService.getBookDetails(1L)).thenReturn(bookDetail);
 
         // Act
-        ResponseEntity<ApiResponse<BookDetailDTO>> response = bookController.details(1L);
+        ResponseEntity<ApiResponse<BookDetailDTO>> response = bookController.details(1L, get("/books/1", null));
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(bookDetail, response.getBody().getData());
+        assertEquals(ETags.of("book-1", bookDetail), response.getHeaders().getETag());
+        assertEquals("max-age=30, private", response.getHeaders().getCacheControl());
         verify(bookService).getBookDetails(1L);
     }
 
+    @Test
+    void details_WhenETagMatches_ShouldAnswerNotModified() {
+        // Arrange
+        BookDetailDTO bookDetail = BookDetailDTO.builder().id(1L).title("Test Book").averageRating(4.0).reviewCount(2).build();
+        when(bookService.getBookDetails(1L)).thenReturn(bookDetail);
+        ServletWebRequest request = get("/books/1", ETags.of("book-1", bookDetail));
+
+        // Act
+        ResponseEntity<ApiResponse<BookDetailDTO>> response = bookController.details(1L, request);
+
+        // Assert
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), request.getResponse().getStatus());
+    }
+
+    @Test
+    void details_WhenRatingChangedElsewhere_ShouldNotMatchTheOldETag() {
+        // Arrange: the client's copy predates a review written through another instance
+        BookDetailDTO before = BookDetailDTO.builder().id(1L).title("Test Book").averageRating(4.0).reviewCount(2).build();
+        BookDetailDTO after = BookDetailDTO.builder().id(1L).title("Test Book").averageRating(3.0).reviewCount(3).build();
+        when(bookService.getBookDetails(1L)).thenReturn(after);
+
+        // Act
+        ResponseEntity<ApiResponse<BookDetailDTO>> response = bookController.details(1L, get("/books/1", ETags.of("book-1", before)));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(after, response.getBody().getData());
+        assertNotEquals(ETags.of("book-1", before), response.getHeaders().getETag());
+    }
+
     @Test
     void getBookReviews_ShouldReturnReviews() {
         // Arrange
@@ -96,12 +140,40 @@ class BookControllerTest {
         when(bookService.getFeaturedBooks()).thenReturn(featuredBooks);
 
         // Act
-        ResponseEntity<ApiResponse<List<BookDTO>>> response = bookController.getFeaturedBooks();
+        ResponseEntity<ApiResponse<List<BookDTO>>> response = bookController.getFeaturedBooks(get("/books/featured", "\"featured-x-0\""));
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(1, response.getBody().getData().size());
+        assertEquals(ETags.of("featured", featuredBooks), response.getHeaders().getETag());
+        assertEquals("max-age=300, private", response.getHeaders().getCacheControl());
         verify(bookService).getFeaturedBooks();
     }
+
+    @Test
+    void export_ShouldStreamNdjsonFromExporter() {
+        // Arrange
+        WebRequest request = mock(WebRequest.class);
+        StreamingResponseBody body = out -> { };
+        when(catalogExporter.streamBooks(request)).thenReturn(body);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = bookController.export(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst("Content-Disposition").contains("books.ndjson"));
+        assertSame(body, response.getBody());
+        verifyNoInteractions(bookService);
+    }
+
+    private static ServletWebRequest get(String uri, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
 }
@@ -1,6 +1,7 @@
 package com.bookverse.controller;
 
 import com.bookverse.repository.BookRepository;
+import com.bookverse.service.MetricsSource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -9,6 +10,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -45,4 +49,17 @@ class HealthControllerTest {
         assertTrue(response.getBody().contains("Database Error"));
         verify(bookRepository).count();
     }
+
+    @Test
+    void metrics_ShouldGroupCountersBySourceName() {
+        MetricsSource source = mock(MetricsSource.class);
+        when(source.metricsName()).thenReturn("userDetailsCache");
+        when(source.metrics()).thenReturn(Map.of("hits", 3L));
+        HealthController controller = new HealthController(bookRepository, List.of(source));
+
+        ResponseEntity<Map<String, Map<String, Number>>> response = controller.metrics();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, response.getBody().get("userDetailsCache").get("hits"));
+    }
 }
@@ -7,13 +7,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +41,9 @@ class RecommendationControllerTest {
         userBased.setType("user-genre-based");
         userBased.setTitle("Because you like these genres");
 
-        List<RecommendationDTO> topRatedList = Arrays.asList(topRated);
-        List<RecommendationDTO> userBasedList = Arrays.asList(userBased);
+        List<RecommendationDTO> allRecommendations = Arrays.asList(topRated, userBased);
 
-        when(recommendationService.getTopRated(10)).thenReturn(topRatedList);
-        when(recommendationService.getUserBasedRecommendations(1L, 10)).thenReturn(userBasedList);
+        when(recommendationService.getAllRecommendations(1L, 10)).thenReturn(allRecommendations);
 
         // Act
         ResponseEntity<ApiResponse<List<RecommendationDTO>>> response = recommendationController.getAllRecommendations(1L, 10);
@@ -49,8 +52,7 @@ class RecommendationControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(2, response.getBody().getData().size());
-        verify(recommendationService).getTopRated(10);
-        verify(recommendationService).getUserBasedRecommendations(1L, 10);
+        verify(recommendationService).getAllRecommendations(1L, 10);
     }
 
     @Test
@@ -61,7 +63,7 @@ class RecommendationControllerTest {
         topRated.setTitle("Top Rated Books");
 
         List<RecommendationDTO> topRatedList = Arrays.asList(topRated);
-        when(recommendationService.getTopRated(10)).thenReturn(topRatedList);
+        when(recommendationService.getAllRecommendations(null, 10)).thenReturn(topRatedList);
 
         // Act
         ResponseEntity<ApiResponse<List<RecommendationDTO>>> response = recommendationController.getAllRecommendations(null, 10);
@@ -70,7 +72,7 @@ class RecommendationControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(1, response.getBody().getData().size());
-        verify(recommendationService).getTopRated(10);
+        verify(recommendationService).getAllRecommendations(null, 10);
         verifyNoMoreInteractions(recommendationService);
     }
 
@@ -82,17 +84,38 @@ class RecommendationControllerTest {
         recommendation.setTitle("Top Rated Books");
         List<RecommendationDTO> recommendations = Arrays.asList(recommendation);
         when(recommendationService.getTopRated(10)).thenReturn(recommendations);
+        ServletWebRequest request = new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/recommendations/top-rated"), new MockHttpServletResponse());
 
         // Act
-        ResponseEntity<ApiResponse<List<RecommendationDTO>>> response = recommendationController.topRated(10);
+        ResponseEntity<ApiResponse<List<RecommendationDTO>>> response = recommendationController.topRated(10, request);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(1, response.getBody().getData().size());
+        assertEquals(ETags.of("top-rated-10", recommendations), response.getHeaders().getETag());
+        assertEquals("max-age=60, private", response.getHeaders().getCacheControl());
         verify(recommendationService).getTopRated(10);
     }
 
+    @Test
+    void topRated_WhenETagMatches_ShouldAnswerNotModified() {
+        // Arrange
+        List<RecommendationDTO> recommendations = List.of(RecommendationDTO.builder().type("top-rated").build());
+        when(recommendationService.getTopRated(10)).thenReturn(recommendations);
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/recommendations/top-rated");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, ETags.of("top-rated-10", recommendations));
+        ServletWebRequest request = new ServletWebRequest(servletRequest, new MockHttpServletResponse());
+
+        // Act
+        ResponseEntity<ApiResponse<List<RecommendationDTO>>> response = recommendationController.topRated(10, request);
+
+        // Assert
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), request.getResponse().getStatus());
+    }
+
     @Test
     void genreBased_ShouldReturnGenreBasedRecommendations() {
         // Arrange
@@ -149,4 +172,23 @@ class RecommendationControllerTest {
         assertEquals(1, response.getBody().getData().size());
         verify(recommendationService).getGenreBasedFromFavorites(1L, 10);
     }
+
+    @Test
+    void itemBased_ShouldReturnItemBasedRecommendations() {
+        // Arrange
+        RecommendationDTO recommendation = new RecommendationDTO();
+        recommendation.setType("item-based");
+        recommendation.setTitle("Readers who liked your favorites also liked");
+        List<RecommendationDTO> recommendations = Arrays.asList(recommendation);
+        when(recommendationService.getItemBasedRecommendations(1L, 10)).thenReturn(recommendations);
+
+        // Act
+        ResponseEntity<ApiResponse<List<RecommendationDTO>>> response = recommendationController.itemBased(1L, 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isSuccess());
+        assertEquals("item-based", response.getBody().getData().get(0).getType());
+        verify(recommendationService).getItemBasedRecommendations(1L, 10);
+    }
 }
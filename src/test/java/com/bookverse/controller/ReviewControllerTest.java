@@ -2,13 +2,17 @@ package com.bookverse.controller;
 
 import com.bookverse.dto.*;
 import com.bookverse.service.ReviewService;
+import com.bookverse.service.catalog.CatalogExporter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Arrays;
 
@@ -22,6 +26,9 @@ class ReviewControllerTest {
     @Mock
     private ReviewService reviewService;
 
+    @Mock
+    private CatalogExporter catalogExporter;
+
     @InjectMocks
     private ReviewController reviewController;
 
@@ -33,16 +40,16 @@ class ReviewControllerTest {
         review.setBookTitle("Test Book");
         PaginationDTO pagination = PaginationDTO.builder().page(0).size(20).totalElements(1).totalPages(1).first(true).last(false).build();
         PageResponse<ReviewDTO> pageResponse = PageResponse.of(Arrays.asList(review), pagination);
-        when(reviewService.getReviewsForBook(1L, 0, 20)).thenReturn(pageResponse);
+        when(reviewService.getReviewsForBook(1L, 0, 20, null, null)).thenReturn(pageResponse);
 
         // Act
-        ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> response = reviewController.getByBook(1L, 0, 20);
+        ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> response = reviewController.getByBook(1L, 0, 20, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(1, response.getBody().getData().getItems().size());
-        verify(reviewService).getReviewsForBook(1L, 0, 20);
+        verify(reviewService).getReviewsForBook(1L, 0, 20, null, null);
     }
 
     @Test
@@ -53,16 +60,16 @@ class ReviewControllerTest {
         review.setBookTitle("Test Book");
         PaginationDTO pagination = PaginationDTO.builder().page(0).size(20).totalElements(1).totalPages(1).first(true).last(false).build();
         PageResponse<ReviewDTO> pageResponse = PageResponse.of(Arrays.asList(review), pagination);
-        when(reviewService.getReviewsForUser(1L, 0, 20)).thenReturn(pageResponse);
+        when(reviewService.getReviewsForUser(1L, 0, 20, null, null)).thenReturn(pageResponse);
 
         // Act
-        ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> response = reviewController.getByUser(1L, 0, 20);
+        ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> response = reviewController.getByUser(1L, 0, 20, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(1, response.getBody().getData().getItems().size());
-        verify(reviewService).getReviewsForUser(1L, 0, 20);
+        verify(reviewService).getReviewsForUser(1L, 0, 20, null, null);
     }
 
     @Test
@@ -122,4 +129,22 @@ class ReviewControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(reviewService).deleteReview(1L, 1L);
     }
+
+    @Test
+    void export_ShouldStreamNdjsonFromExporter() {
+        // Arrange
+        WebRequest request = mock(WebRequest.class);
+        StreamingResponseBody body = out -> { };
+        when(catalogExporter.streamReviews(request)).thenReturn(body);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = reviewController.export(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst("Content-Disposition").contains("reviews.ndjson"));
+        assertSame(body, response.getBody());
+        verifyNoInteractions(reviewService);
+    }
 }
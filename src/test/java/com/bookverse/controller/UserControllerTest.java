@@ -379,16 +379,16 @@ class UserControllerTest {
         review.setBookTitle("Test Book");
         PaginationDTO pagination = PaginationDTO.builder().page(0).size(20).totalElements(1).totalPages(1).first(true).last(false).build();
         PageResponse<ReviewDTO> pageResponse = PageResponse.of(Arrays.asList(review), pagination);
-        when(reviewService.getReviewsForUser(1L, 0, 20)).thenReturn(pageResponse);
+        when(reviewService.getReviewsForUser(1L, 0, 20, null, null)).thenReturn(pageResponse);
 
         // Act
-        ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> response = userController.getUserReviews(1L, 0, 20);
+        ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> response = userController.getUserReviews(1L, 0, 20, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(1, response.getBody().getData().getItems().size());
-        verify(reviewService).getReviewsForUser(1L, 0, 20);
+        verify(reviewService).getReviewsForUser(1L, 0, 20, null, null);
     }
 
     @Test
@@ -399,16 +399,16 @@ class UserControllerTest {
         review.setBookTitle("Test Book");
         PaginationDTO pagination = PaginationDTO.builder().page(0).size(20).totalElements(1).totalPages(1).first(true).last(false).build();
         PageResponse<ReviewDTO> pageResponse = PageResponse.of(Arrays.asList(review), pagination);
-        when(reviewService.getReviewsForUser(1L, 0, 20)).thenReturn(pageResponse);
+        when(reviewService.getReviewsForUser(1L, 0, 20, null, null)).thenReturn(pageResponse);
 
         // Act
-        ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> response = userController.getUserReviews(1L, 0, 20);
+        ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> response = userController.getUserReviews(1L, 0, 20, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals(1, response.getBody().getData().getItems().size());
-        verify(reviewService).getReviewsForUser(1L, 0, 20);
+        verify(reviewService).getReviewsForUser(1L, 0, 20, null, null);
     }
 
     @Test
@@ -0,0 +1,160 @@
+package com.bookverse.datasource;
+
+import com.bookverse.dto.BookDetailDTO;
+import com.bookverse.service.cache.BookCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each H2 in-memory database stands in for one server and knows its own name
+class ReadWriteRoutingDataSourceTest {
+
+    private final String run = UUID.randomUUID().toString();
+
+    @Test
+    void readOnlyTransactions_ShouldAlternateBetweenReplicas() {
+        // Arrange
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", server("replica-0"));
+        replicas.put("replica-1", server("replica-1"));
+        ReplicaRouter router = new ReplicaRouter(server("primary"), replicas, 1000);
+        router.afterPropertiesSet();
+        Routed routed = new Routed(router);
+
+        // Act
+        List<String> servers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            servers.add(routed.read());
+        }
+
+        // Assert
+        assertEquals(List.of("replica-0", "replica-1", "replica-0", "replica-1"), servers);
+        assertEquals(4L, router.metrics().get("replicaReads"));
+    }
+
+    @Test
+    void writeTransactions_ShouldUsePrimary() {
+        // Arrange
+        ReplicaRouter router = new ReplicaRouter(server("primary"), Map.of("replica-0", server("replica-0")), 1000);
+        router.afterPropertiesSet();
+        Routed routed = new Routed(router);
+
+        // Act
+        String server = routed.write();
+
+        // Assert
+        assertEquals("primary", server);
+        assertEquals(0L, router.metrics().get("replicaReads"));
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaIsDown_ShouldFallBackToPrimary() {
+        // Arrange
+        // IFEXISTS refuses to create the database, so every connection attempt fails
+        DataSource down = new DriverManagerDataSource("jdbc:h2:mem:missing-" + run + ";IFEXISTS=TRUE", "sa", "");
+        ReplicaRouter router = new ReplicaRouter(server("primary"), Map.of("replica-0", down), 1000);
+        router.afterPropertiesSet();
+        Routed routed = new Routed(router);
+
+        // Act
+        String server = routed.read();
+
+        // Assert
+        assertEquals("primary", server);
+        assertEquals(0, router.metrics().get("usableReplicas").intValue());
+        assertEquals(1L, router.metrics().get("primaryFallbacks"));
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaFailsAfterProbe_ShouldFailOverToPrimary() {
+        // Arrange
+        DriverManagerDataSource replica = server("replica-0");
+        ReplicaRouter router = new ReplicaRouter(server("primary"), Map.of("replica-0", replica), 1000);
+        router.afterPropertiesSet();
+        replica.setUrl("jdbc:h2:mem:gone-" + run + ";IFEXISTS=TRUE");
+        Routed routed = new Routed(router);
+
+        // Act
+        String first = routed.read();
+        String second = routed.read();
+
+        // Assert
+        assertEquals("primary", first);
+        assertEquals("primary", second);
+        assertEquals(1L, router.metrics().get("failovers"));
+        assertEquals(0, router.metrics().get("replica-0.healthy").intValue());
+    }
+
+    @Test
+    void bookCacheLoad_WithLaggingReplica_ShouldReadPrimary() {
+        // Arrange: each server answers with its own name, so a replica answer stands for a row
+        // the replica has not caught up on yet
+        ReplicaRouter router = new ReplicaRouter(server("primary"), Map.of("replica-0", server("replica-0")), 1000);
+        router.afterPropertiesSet();
+        Routed routed = new Routed(router);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("replicaRouter", router));
+        BookCache cache = new BookCache(true, 300, 100, 60, 100, beans.getBeanProvider(ReplicaRouter.class),
+                routed.transactionManager);
+
+        // Act: a miss inside a read-only transaction, as the services load them
+        BookDetailDTO cached = routed.readOnly.execute(status -> cache.details(1L, () -> BookDetailDTO.builder()
+                .title(routed.jdbc.queryForObject("SELECT name FROM server", String.class))
+                .build()));
+        String uncached = routed.read();
+
+        // Assert
+        assertEquals("primary", cached.getTitle());
+        assertEquals("primary", cache.details(1L, () -> fail("should be cached")).getTitle());
+        assertEquals("replica-0", uncached);
+    }
+
+    private DriverManagerDataSource server(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + run + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE server (name VARCHAR(20))");
+        jdbc.update("INSERT INTO server (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    // The routing data source wired the way the application wires it
+    private static final class Routed {
+
+        final JdbcTemplate jdbc;
+        final DataSourceTransactionManager transactionManager;
+        final TransactionTemplate readOnly;
+        final TransactionTemplate readWrite;
+
+        Routed(ReplicaRouter router) {
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(router);
+            routing.afterPropertiesSet();
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            this.transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        String read() {
+            return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM server", String.class));
+        }
+
+        String write() {
+            return readWrite.execute(status -> jdbc.queryForObject("SELECT name FROM server", String.class));
+        }
+    }
+}
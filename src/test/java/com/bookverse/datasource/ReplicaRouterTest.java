@@ -0,0 +1,102 @@
+package com.bookverse.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaRouterTest {
+
+    @Test
+    void nextReplica_ShouldSkipReplicaLaggingBeyondLimit() throws SQLException {
+        // Arrange
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", postgresReplica(12_000.0));
+        replicas.put("replica-1", postgresReplica(250.0));
+        ReplicaRouter router = new ReplicaRouter(mock(DataSource.class), replicas, 5000);
+        router.probe();
+
+        // Act
+        String first = router.nextReplica();
+        String second = router.nextReplica();
+
+        // Assert
+        assertEquals("replica-1", first);
+        assertEquals("replica-1", second);
+        assertEquals(12_000L, router.metrics().get("replica-0.lagMillis"));
+        assertEquals(1L, router.metrics().get("usableReplicas"));
+    }
+
+    @Test
+    void nextReplica_WhenAllReplicasLag_ShouldReturnPrimary() throws SQLException {
+        // Arrange
+        ReplicaRouter router = new ReplicaRouter(mock(DataSource.class),
+                Map.of("replica-0", postgresReplica(60_000.0)), 5000);
+        router.probe();
+
+        // Act
+        String key = router.nextReplica();
+
+        // Assert
+        assertEquals(ReplicaRouter.PRIMARY, key);
+        assertEquals(1L, router.metrics().get("primaryFallbacks"));
+    }
+
+    @Test
+    void nextReplica_BeforeFirstProbe_ShouldReturnPrimary() {
+        // Arrange
+        ReplicaRouter router = new ReplicaRouter(mock(DataSource.class), Map.of("replica-0", mock(DataSource.class)), 5000);
+
+        // Act
+        String key = router.nextReplica();
+
+        // Assert
+        assertEquals(ReplicaRouter.PRIMARY, key);
+    }
+
+    @Test
+    void probe_WhenReplicaRecovers_ShouldReturnItToRotation() throws SQLException {
+        // Arrange
+        DataSource replica = postgresReplica(0.0);
+        ReplicaRouter router = new ReplicaRouter(mock(DataSource.class), Map.of("replica-0", replica), 5000);
+        router.probe();
+        router.markUnavailable("replica-0", new SQLException("connection refused"));
+        String whileDown = router.nextReplica();
+
+        // Act
+        router.probe();
+        String afterProbe = router.nextReplica();
+
+        // Assert
+        assertEquals(ReplicaRouter.PRIMARY, whileDown);
+        assertEquals("replica-0", afterProbe);
+        assertEquals(1L, router.metrics().get("failovers"));
+    }
+
+    // A standby whose lag query reports the given replay delay in ms
+    private static DataSource postgresReplica(double lagMillis) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getDouble(1)).thenReturn(lagMillis);
+        return dataSource;
+    }
+}
@@ -7,11 +7,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,6 +25,9 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache(300, 100);
+
     @InjectMocks
     private CustomUserDetailsService userDetailsService;
 
@@ -265,11 +271,44 @@ class CustomUserDetailsServiceTest {
         assertEquals(userDetails1.getPassword(), userDetails2.getPassword());
         assertEquals(userDetails1.getAuthorities(), userDetails2.getAuthorities());
 
-        // Verify repository calls
-        verify(userRepository, times(2)).findByEmail(email);
+        // Second call is served from the cache
+        verify(userRepository, times(1)).findByEmail(email);
         verifyNoMoreInteractions(userRepository);
     }
 
+    @Test
+    void loadUserByUsername_AfterEvict_ShouldReloadFromRepository() {
+        // Arrange
+        String email = "test@example.com";
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername(email);
+
+        // Act
+        userDetailsCache.evict(email);
+        userDetailsService.loadUserByUsername(email);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(email);
+        assertEquals(1L, userDetailsCache.metrics().get("evictions"));
+        assertEquals(2L, userDetailsCache.metrics().get("misses"));
+    }
+
+    @Test
+    void loadUserByUsername_WithCachedUser_ShouldReturnIndependentCopies() {
+        // Arrange
+        String email = "test@example.com";
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
+        UserDetails first = userDetailsService.loadUserByUsername(email);
+        ((org.springframework.security.core.userdetails.User) first).eraseCredentials();
+
+        // Act
+        UserDetails second = userDetailsService.loadUserByUsername(email);
+
+        // Assert
+        assertEquals("encodedPassword", second.getPassword());
+        assertEquals(1L, userDetailsCache.metrics().get("hits"));
+    }
+
     @Test
     void loadUserByUsername_ShouldAlwaysReturnROLE_USERAuthority() {
         // Arrange
@@ -285,4 +324,19 @@ class CustomUserDetailsServiceTest {
         assertTrue(userDetails.getAuthorities().stream()
             .anyMatch(authority -> "ROLE_USER".equals(authority.getAuthority())));
     }
+
+    @Test
+    void loadUserByUsername_WhenEmailIsAdmin_ShouldAddROLE_ADMIN() {
+        // Arrange
+        ReflectionTestUtils.setField(userDetailsService, "adminEmails", Set.of(" TEST@example.com"));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // Act
+        UserDetails userDetails = userDetailsService.loadUserByUsername("test@example.com");
+
+        // Assert
+        assertEquals(2, userDetails.getAuthorities().size());
+        assertTrue(userDetails.getAuthorities().stream()
+            .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority())));
+    }
 }
@@ -1,6 +1,8 @@
 package com.bookverse.security;
 
 import com.bookverse.service.TokenBlacklistService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +21,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -56,6 +59,7 @@ class JwtAuthenticationFilterTest {
     private static final String VALID_TOKEN = "valid.jwt.token";
     private static final String INVALID_TOKEN = "invalid.jwt.token";
     private static final String USER_EMAIL = "test@example.com";
+    private static final Claims CLAIMS = Jwts.claims().subject(USER_EMAIL).build();
 
     @BeforeEach
     void setUp() {
@@ -66,9 +70,8 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithValidToken_ShouldSetAuthentication() throws ServletException, IOException {
         // Arrange
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenReturn(true);
+        when(tokenProvider.parseClaims(VALID_TOKEN)).thenReturn(Optional.of(CLAIMS));
         when(tokenBlacklistService.isBlacklisted(VALID_TOKEN)).thenReturn(false);
-        when(tokenProvider.getSubject(VALID_TOKEN)).thenReturn(USER_EMAIL);
         when(userDetailsService.loadUserByUsername(USER_EMAIL)).thenReturn(userDetails);
         when(userDetails.getAuthorities()).thenReturn(java.util.Collections.emptyList());
 
@@ -76,9 +79,8 @@ class JwtAuthenticationFilterTest {
         filter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(tokenProvider).validateToken(VALID_TOKEN);
+        verify(tokenProvider).parseClaims(VALID_TOKEN);
         verify(tokenBlacklistService).isBlacklisted(VALID_TOKEN);
-        verify(tokenProvider).getSubject(VALID_TOKEN);
         verify(userDetailsService).loadUserByUsername(USER_EMAIL);
         verify(securityContext).setAuthentication(any(UsernamePasswordAuthenticationToken.class));
         verify(filterChain).doFilter(request, response);
@@ -88,15 +90,14 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithInvalidToken_ShouldNotSetAuthentication() throws ServletException, IOException {
         // Arrange
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + INVALID_TOKEN);
-        when(tokenProvider.validateToken(INVALID_TOKEN)).thenReturn(false);
+        when(tokenProvider.parseClaims(INVALID_TOKEN)).thenReturn(Optional.empty());
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(tokenProvider).validateToken(INVALID_TOKEN);
+        verify(tokenProvider).parseClaims(INVALID_TOKEN);
         verify(tokenBlacklistService, never()).isBlacklisted(anyString());
-        verify(tokenProvider, never()).getSubject(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
@@ -106,16 +107,15 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithBlacklistedToken_ShouldNotSetAuthentication() throws ServletException, IOException {
         // Arrange
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenReturn(true);
+        when(tokenProvider.parseClaims(VALID_TOKEN)).thenReturn(Optional.of(CLAIMS));
         when(tokenBlacklistService.isBlacklisted(VALID_TOKEN)).thenReturn(true);
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(tokenProvider).validateToken(VALID_TOKEN);
+        verify(tokenProvider).parseClaims(VALID_TOKEN);
         verify(tokenBlacklistService).isBlacklisted(VALID_TOKEN);
-        verify(tokenProvider, never()).getSubject(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
@@ -130,9 +130,8 @@ class JwtAuthenticationFilterTest {
         filter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(tokenProvider, never()).validateToken(anyString());
+        verify(tokenProvider, never()).parseClaims(anyString());
         verify(tokenBlacklistService, never()).isBlacklisted(anyString());
-        verify(tokenProvider, never()).getSubject(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
@@ -147,9 +146,8 @@ class JwtAuthenticationFilterTest {
         filter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(tokenProvider, never()).validateToken(anyString());
+        verify(tokenProvider, never()).parseClaims(anyString());
         verify(tokenBlacklistService, never()).isBlacklisted(anyString());
-        verify(tokenProvider, never()).getSubject(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
@@ -159,15 +157,14 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithEmptyBearerToken_ShouldProcessEmptyToken() throws ServletException, IOException {
         // Arrange
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer ");
-        when(tokenProvider.validateToken("")).thenReturn(false);
+        when(tokenProvider.parseClaims("")).thenReturn(Optional.empty());
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(tokenProvider).validateToken("");
+        verify(tokenProvider).parseClaims("");
         verify(tokenBlacklistService, never()).isBlacklisted(anyString());
-        verify(tokenProvider, never()).getSubject(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
@@ -177,9 +174,8 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithValidTokenButUserNotFound_ShouldThrowException() {
         // Arrange
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenReturn(true);
+        when(tokenProvider.parseClaims(VALID_TOKEN)).thenReturn(Optional.of(CLAIMS));
         when(tokenBlacklistService.isBlacklisted(VALID_TOKEN)).thenReturn(false);
-        when(tokenProvider.getSubject(VALID_TOKEN)).thenReturn(USER_EMAIL);
         when(userDetailsService.loadUserByUsername(USER_EMAIL))
                 .thenThrow(new org.springframework.security.core.userdetails.UsernameNotFoundException("User not found"));
 
@@ -192,9 +188,8 @@ class JwtAuthenticationFilterTest {
             }
         });
 
-        verify(tokenProvider).validateToken(VALID_TOKEN);
+        verify(tokenProvider).parseClaims(VALID_TOKEN);
         verify(tokenBlacklistService).isBlacklisted(VALID_TOKEN);
-        verify(tokenProvider).getSubject(VALID_TOKEN);
         verify(userDetailsService).loadUserByUsername(USER_EMAIL);
         verify(securityContext, never()).setAuthentication(any());
     }
@@ -203,9 +198,8 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithValidTokenAndUserDetails_ShouldSetCorrectAuthentication() throws ServletException, IOException {
         // Arrange
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenReturn(true);
+        when(tokenProvider.parseClaims(VALID_TOKEN)).thenReturn(Optional.of(CLAIMS));
         when(tokenBlacklistService.isBlacklisted(VALID_TOKEN)).thenReturn(false);
-        when(tokenProvider.getSubject(VALID_TOKEN)).thenReturn(USER_EMAIL);
         when(userDetailsService.loadUserByUsername(USER_EMAIL)).thenReturn(userDetails);
         when(userDetails.getAuthorities()).thenReturn(java.util.Collections.emptyList());
 
@@ -226,7 +220,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_ShouldAlwaysCallFilterChain() throws ServletException, IOException {
         // Arrange
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + INVALID_TOKEN);
-        when(tokenProvider.validateToken(INVALID_TOKEN)).thenReturn(false);
+        when(tokenProvider.parseClaims(INVALID_TOKEN)).thenReturn(Optional.empty());
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
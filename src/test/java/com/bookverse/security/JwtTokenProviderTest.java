@@ -1,5 +1,6 @@
 package com.bookverse.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -8,6 +9,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -279,4 +283,66 @@ class JwtTokenProviderTest {
         // but we can verify the token is valid immediately after generation
         assertTrue(endTime - startTime < VALIDITY_IN_MILLIS);
     }
+
+    @Test
+    void parseClaims_WithValidToken_ShouldReturnClaimsAndCacheToken() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken("test@example.com");
+
+        // Act
+        Optional<Claims> first = jwtTokenProvider.parseClaims(token);
+        Optional<Claims> second = jwtTokenProvider.parseClaims(token);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertEquals("test@example.com", first.get().getSubject());
+        assertSame(first.get(), second.get());
+        assertEquals(1, jwtTokenProvider.cachedTokenCount());
+    }
+
+    @Test
+    void parseClaims_WithTamperedToken_ShouldReturnEmptyAndNotCache() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken("test@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act
+        Optional<Claims> claims = jwtTokenProvider.parseClaims(tampered);
+
+        // Assert
+        assertTrue(claims.isEmpty());
+        assertEquals(0, jwtTokenProvider.cachedTokenCount());
+    }
+
+    @Test
+    void parseClaims_AfterCachedTokenExpires_ShouldReturnEmpty() {
+        // Arrange
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET_KEY, 60000, 100, now::get);
+        String token = provider.generateToken("test@example.com");
+        assertTrue(provider.parseClaims(token).isPresent());
+
+        // Act
+        now.addAndGet(61000);
+        Optional<Claims> claims = provider.parseClaims(token);
+
+        // Assert
+        assertTrue(claims.isEmpty());
+        assertEquals(0, provider.cachedTokenCount());
+    }
+
+    @Test
+    void parseClaims_WhenCacheIsFull_ShouldStayBounded() {
+        // Arrange
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET_KEY, VALIDITY_IN_MILLIS, 2, now::get);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertTrue(provider.parseClaims(provider.generateToken("user" + i + "@example.com")).isPresent());
+        }
+
+        // Assert
+        assertTrue(provider.cachedTokenCount() <= 2);
+    }
 }
@@ -0,0 +1,54 @@
+package com.bookverse.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_WhenAccountLimitExceeded_ShouldRejectAcrossIps() {
+        // Arrange
+        LoginRateLimiter limiter = new LoginRateLimiter(true, 100, 100, 2, 2, 1000, now::get);
+        limiter.tryAcquire("10.0.0.1", "victim@example.com");
+        limiter.tryAcquire("10.0.0.2", "victim@example.com");
+
+        // Act
+        long retryAfter = limiter.tryAcquire("10.0.0.3", "Victim@Example.com");
+
+        // Assert
+        assertEquals(30, retryAfter);
+        assertEquals(1L, limiter.metrics().get("rejectedByAccount"));
+    }
+
+    @Test
+    void tryAcquire_WhenIpLimitExceeded_ShouldRejectWithoutSpendingAccountAllowance() {
+        // Arrange
+        LoginRateLimiter limiter = new LoginRateLimiter(true, 1, 60, 1, 1, 1000, now::get);
+        limiter.tryAcquire("10.0.0.1", "a@example.com");
+
+        // Act
+        long rejected = limiter.tryAcquire("10.0.0.1", "b@example.com");
+        long otherIp = limiter.tryAcquire("10.0.0.2", "b@example.com");
+
+        // Assert
+        assertEquals(1, rejected);
+        assertEquals(0, otherIp);
+        assertEquals(1L, limiter.metrics().get("rejectedByIp"));
+    }
+
+    @Test
+    void tryAcquire_WhenDisabled_ShouldAlwaysAllow() {
+        // Arrange
+        LoginRateLimiter limiter = new LoginRateLimiter(false, 1, 1, 1, 1, 1000, now::get);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1", "a@example.com"));
+        }
+    }
+}
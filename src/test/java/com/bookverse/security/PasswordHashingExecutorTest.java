@@ -0,0 +1,105 @@
+package com.bookverse.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHashingExecutorTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void encode_ShouldDelegateOnWorkerThreadAndRecordMetrics() {
+        // Arrange
+        executor = new PasswordHashingExecutor(passwordEncoder, 1, 1, 5000);
+        when(passwordEncoder.encode("secret")).thenAnswer(inv -> Thread.currentThread().getName());
+
+        // Act
+        String result = executor.encode("secret");
+
+        // Assert
+        assertTrue(result.startsWith("password-hashing-"));
+        assertEquals(1L, executor.metrics().get("completed"));
+    }
+
+    @Test
+    void matches_ShouldReturnDelegateResult() {
+        // Arrange
+        executor = new PasswordHashingExecutor(passwordEncoder, 1, 1, 5000);
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(executor.matches("secret", "hash"));
+    }
+
+    @Test
+    void matches_WhenPoolAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+        // Arrange: one worker busy, one task queued
+        executor = new PasswordHashingExecutor(passwordEncoder, 1, 1, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(passwordEncoder.matches("busy", "hash")).thenAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.matches("busy", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.matches("busy", "hash"));
+        while ((int) executor.metrics().get("queued") == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> executor.matches("busy", "hash"));
+        assertEquals(1L, executor.metrics().get("rejected"));
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_WhenHashingTakesLongerThanTimeout_ShouldReject() {
+        // Arrange
+        executor = new PasswordHashingExecutor(passwordEncoder, 1, 1, 50);
+        when(passwordEncoder.matches("slow", "hash")).thenAnswer(inv -> {
+            Thread.sleep(2000);
+            return true;
+        });
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> executor.matches("slow", "hash"));
+        assertEquals(1L, executor.metrics().get("timedOut"));
+    }
+
+    @Test
+    void encode_WhenDelegateThrows_ShouldPropagateSameException() {
+        // Arrange
+        executor = new PasswordHashingExecutor(passwordEncoder, 1, 1, 5000);
+        when(passwordEncoder.encode("bad")).thenThrow(new IllegalArgumentException("bad password"));
+
+        // Act & Assert
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> executor.encode("bad"));
+        assertEquals("bad password", thrown.getMessage());
+    }
+}
@@ -0,0 +1,94 @@
+package com.bookverse.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_WithinCapacity_ShouldAllowBurst() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, 100, now::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertTrue(limiter.tryAcquire("key") > 0);
+    }
+
+    @Test
+    void tryAcquire_WhenEmpty_ShouldReportWaitUntilNextToken() {
+        // Arrange: one token per second
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, 100, now::get);
+        limiter.tryAcquire("key");
+
+        // Act
+        long wait = limiter.tryAcquire("key");
+
+        // Assert
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+    }
+
+    @Test
+    void tryAcquire_AfterRefillInterval_ShouldAllowAgain() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 100, now::get);
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        assertTrue(limiter.tryAcquire("key") > 0);
+
+        // Act
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertTrue(limiter.tryAcquire("key") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldTrackKeysIndependently() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, 100, now::get);
+        limiter.tryAcquire("a");
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyFullyRefilledKeys() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60, 100, now::get);
+        limiter.tryAcquire("old");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("recent");
+
+        // Act
+        int evicted = limiter.evictIdle();
+
+        // Assert
+        assertEquals(1, evicted);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_WhenKeyLimitReached_ShouldAllowWithoutTracking() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, 2, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(2, limiter.size());
+    }
+}
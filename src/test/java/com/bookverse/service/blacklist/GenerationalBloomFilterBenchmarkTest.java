@@ -0,0 +1,57 @@
+package com.bookverse.service.blacklist;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rough cost of a "not revoked" check through the filter versus the digest-and-map path.
+ * Run with {@code -Dbenchmark=true}; skipped in normal builds.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GenerationalBloomFilterBenchmarkTest {
+
+    private static final int REVOKED = 10_000;
+    private static final int LOOKUPS = 2_000_000;
+    private static final String TOKEN_PREFIX = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ1c2VyQGV4YW1wbGUuY29tIiwiaWF0IjoxNzAwMDAwMDAwLCJleHAiOjE3MDAwODY0MDB9.";
+
+    @Test
+    void compareFilterAndDigestLookups() {
+        GenerationalBloomFilter filter = new GenerationalBloomFilter(100_000, 0.01, 4, 86_400_000);
+        Map<TokenDigest, Long> exact = new ConcurrentHashMap<>();
+        for (int i = 0; i < REVOKED; i++) {
+            String token = TOKEN_PREFIX + "revoked" + i;
+            filter.put(token, 86_400_000L + i);
+            exact.put(TokenDigest.of(token), 86_400_000L + i);
+        }
+        String[] active = new String[1024];
+        for (int i = 0; i < active.length; i++) {
+            active[i] = TOKEN_PREFIX + "active-signature-" + i;
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long filterHits = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (filter.mightContain(active[i & 1023])) {
+                    filterHits++;
+                }
+            }
+            long filterNanos = System.nanoTime() - start;
+
+            long mapHits = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (exact.containsKey(TokenDigest.of(active[i & 1023]))) {
+                    mapHits++;
+                }
+            }
+            long mapNanos = System.nanoTime() - start;
+
+            System.out.printf("round %d: filter %.1f ns/op (%d maybe), digest+map %.1f ns/op (%d hits)%n",
+                    round, (double) filterNanos / LOOKUPS, filterHits, (double) mapNanos / LOOKUPS, mapHits);
+        }
+    }
+}
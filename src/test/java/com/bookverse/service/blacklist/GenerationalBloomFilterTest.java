@@ -0,0 +1,100 @@
+package com.bookverse.service.blacklist;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationalBloomFilterTest {
+
+    private static final long WINDOW = 3_000_000;
+
+    @Test
+    void mightContain_WithInsertedTokens_ShouldNeverReturnFalse() {
+        // Arrange
+        GenerationalBloomFilter filter = new GenerationalBloomFilter(1000, 0.01, 4, WINDOW);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("token-" + i, i * 3000L);
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("token-" + i));
+        }
+    }
+
+    @Test
+    void mightContain_WithUnknownTokens_ShouldStayNearConfiguredFalsePositiveRate() {
+        // Arrange
+        GenerationalBloomFilter filter = new GenerationalBloomFilter(1000, 0.01, 4, WINDOW);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("revoked-" + i, i * 3000L);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("active-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_WhenEmpty_ShouldReturnFalse() {
+        // Arrange
+        GenerationalBloomFilter filter = new GenerationalBloomFilter(1000, 0.01, 4, WINDOW);
+
+        // Act & Assert
+        assertFalse(filter.mightContain("any.token"));
+    }
+
+    @Test
+    void expire_ShouldClearOnlyGenerationsWhoseTokensAllExpired() {
+        // Arrange: epochs are 1,000,000 ms long, so these land in different generations
+        GenerationalBloomFilter filter = new GenerationalBloomFilter(1000, 0.01, 4, WINDOW);
+        filter.put("early", 500_000);
+        filter.put("late", 2_500_000);
+
+        // Act
+        int cleared = filter.expire(1_000_000);
+
+        // Assert
+        assertEquals(1, cleared);
+        assertFalse(filter.mightContain("early"));
+        assertTrue(filter.mightContain("late"));
+    }
+
+    @Test
+    void expire_WithTokenSharingGenerationButExpiringLater_ShouldKeepGeneration() {
+        // Arrange: epochs 0 and 4 map to the same generation of four
+        GenerationalBloomFilter filter = new GenerationalBloomFilter(1000, 0.01, 4, WINDOW);
+        filter.put("expired", 500_000);
+        filter.put("live", 4_500_000);
+
+        // Act
+        int cleared = filter.expire(1_000_000);
+
+        // Assert
+        assertEquals(0, cleared);
+        assertTrue(filter.mightContain("live"));
+    }
+
+    @Test
+    void constructor_ShouldSizeGenerationsFromExpectedInsertions() {
+        // Arrange & Act
+        GenerationalBloomFilter filter = new GenerationalBloomFilter(3000, 0.01, 4, WINDOW);
+
+        // Assert: 1000 per generation at 1% needs ~9,600 bits, rounded up to a power of two
+        assertEquals(16384, filter.bitsPerGeneration());
+        assertTrue(filter.hashCount() >= 7);
+    }
+
+    @Test
+    void constructor_WithInvalidConfiguration_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new GenerationalBloomFilter(1000, 0.01, 1, WINDOW));
+        assertThrows(IllegalArgumentException.class, () -> new GenerationalBloomFilter(1000, 1.5, 4, WINDOW));
+    }
+}
@@ -0,0 +1,93 @@
+package com.bookverse.service.blacklist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void advance_ShouldReleaseOnlyKeysWhoseDeadlinePassed() {
+        // Arrange
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("early", 250);
+        wheel.schedule("late", 650);
+        List<String> expired = new ArrayList<>();
+
+        // Act
+        int released = wheel.advance(300, expired::add);
+
+        // Assert
+        assertEquals(1, released);
+        assertEquals(List.of("early"), expired);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldNotReleaseKeyBeforeItsDeadline() {
+        // Arrange
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("key", 250);
+        List<String> expired = new ArrayList<>();
+
+        // Act
+        wheel.advance(249, expired::add);
+
+        // Assert
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    void advance_WithDeadlineBeyondOneRevolution_ShouldWaitForItsOwnTick() {
+        // Arrange: 8 buckets of 100ms, so ticks 1 and 17 share a bucket
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("near", 100);
+        wheel.schedule("far", 1700);
+        List<String> expired = new ArrayList<>();
+
+        // Act
+        wheel.advance(150, expired::add);
+        List<String> afterFirstRevolution = new ArrayList<>(expired);
+        wheel.advance(1700, expired::add);
+
+        // Assert
+        assertEquals(List.of("near"), afterFirstRevolution);
+        assertEquals(List.of("near", "far"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_AfterLongPause_ShouldReleaseEverythingDue() {
+        // Arrange
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 4, 0);
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(i, i * 10L);
+        }
+        List<Integer> expired = new ArrayList<>();
+
+        // Act
+        wheel.advance(10_000, expired::add);
+
+        // Assert
+        assertEquals(20, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_WithPastDeadline_ShouldReleaseOnNextTick() {
+        // Arrange
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.advance(1000, key -> { });
+        wheel.schedule("stale", 200);
+        List<String> expired = new ArrayList<>();
+
+        // Act
+        wheel.advance(1100, expired::add);
+
+        // Assert
+        assertEquals(List.of("stale"), expired);
+    }
+}
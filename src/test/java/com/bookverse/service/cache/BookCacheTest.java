@@ -0,0 +1,151 @@
+package com.bookverse.service.cache;
+
+import com.bookverse.dto.BookDetailDTO;
+import com.bookverse.repository.BookSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCacheTest {
+
+    private BookCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BookCache(true, 300, 100, 60, 100);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void onRatingChanged_ShouldDropDetailsAndListsHoldingTheBook() {
+        // Arrange
+        cache.details(1L, details(1L));
+        cache.details(2L, details(2L));
+        cache.topRated(2, summaries(book(1L, 4.5), book(2L, 4.0)));
+        cache.mostFavorited(2, summaries(book(1L, 4.5), book(3L, 3.0)));
+        loads.set(0);
+
+        // Act
+        cache.onRatingChanged(1L, 4.6);
+
+        // Assert
+        cache.details(1L, details(1L));
+        cache.details(2L, details(2L));
+        cache.topRated(2, summaries());
+        cache.mostFavorited(2, summaries());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onRatingChanged_ForUnlistedBook_ShouldKeepTopRatedUnlessItCanEnter() {
+        // Arrange
+        cache.topRated(2, summaries(book(1L, 4.5), book(2L, 4.0)));
+        cache.topRated(5, summaries(book(1L, 4.5), book(2L, 4.0)));
+        loads.set(0);
+
+        // Act
+        cache.onRatingChanged(9L, 3.5);
+
+        // Assert: the full list keeps its entry, the short one may now include book 9
+        cache.topRated(2, summaries());
+        assertEquals(0, loads.get());
+        cache.topRated(5, summaries());
+        assertEquals(1, loads.get());
+
+        // Act
+        cache.onRatingChanged(9L, 4.0);
+
+        // Assert
+        cache.topRated(2, summaries());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onFavoriteRemoved_ShouldOnlyDropListsHoldingTheBook() {
+        // Arrange
+        cache.mostFavorited(2, summaries(book(1L, 4.5), book(2L, 4.0)));
+        loads.set(0);
+
+        // Act
+        cache.onFavoriteRemoved(7L);
+        cache.mostFavorited(2, summaries());
+        cache.onFavoriteRemoved(2L);
+        cache.mostFavorited(2, summaries());
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onFavoriteAdded_ShouldDropEveryMostFavoritedList() {
+        // Arrange
+        cache.mostFavorited(2, summaries(book(1L, 4.5), book(2L, 4.0)));
+        cache.topRated(2, summaries(book(1L, 4.5), book(2L, 4.0)));
+        loads.set(0);
+
+        // Act
+        cache.onFavoriteAdded(7L);
+        cache.mostFavorited(2, summaries());
+        cache.topRated(2, summaries());
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void metrics_ShouldReportHitRatioPerCache() {
+        // Arrange
+        cache.details(1L, details(1L));
+        cache.details(1L, details(1L));
+        cache.details(1L, details(1L));
+        cache.details(2L, details(2L));
+
+        // Act
+        Map<String, Number> metrics = cache.metrics();
+
+        // Assert
+        assertEquals(0.5, metrics.get("detailsHitRatio"));
+        assertEquals(2, metrics.get("detailsSize"));
+        assertEquals(0.0, metrics.get("topRatedHitRatio"));
+    }
+
+    @Test
+    void details_WhenDisabled_ShouldAlwaysLoad() {
+        // Arrange
+        BookCache disabled = new BookCache(false, 300, 100, 60, 100);
+
+        // Act
+        disabled.details(1L, details(1L));
+        disabled.details(1L, details(1L));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<BookDetailDTO> details(Long id) {
+        return () -> {
+            loads.incrementAndGet();
+            BookDetailDTO dto = new BookDetailDTO();
+            dto.setId(id);
+            return dto;
+        };
+    }
+
+    private Supplier<List<BookSummary>> summaries(BookSummary... books) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(books);
+        };
+    }
+
+    private static BookSummary book(Long id, double averageRating) {
+        return new BookSummary(id, "Book " + id, "Author", null, 2000, averageRating, 1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.bookverse.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadThroughCacheTest {
+
+    @Test
+    void get_ShouldLoadOnceAndCountHitsAndMisses() {
+        // Arrange
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        String first = cache.get(1L, () -> "book-" + loads.incrementAndGet());
+        String second = cache.get(1L, () -> "book-" + loads.incrementAndGet());
+        Map<String, Number> metrics = new HashMap<>();
+        cache.addMetrics("details", metrics);
+
+        // Assert
+        assertEquals("book-1", first);
+        assertEquals("book-1", second);
+        assertEquals(1, loads.get());
+        assertEquals(1L, metrics.get("detailsHits"));
+        assertEquals(1L, metrics.get("detailsMisses"));
+        assertEquals(0.5, metrics.get("detailsHitRatio"));
+    }
+
+    @Test
+    void get_WhenEvictedDuringLoad_ShouldNotStoreTheLoadedValue() {
+        // Arrange
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(60_000, 10);
+
+        // Act
+        String raced = cache.get(1L, () -> {
+            cache.evict(1L);
+            return "old";
+        });
+        String reloaded = cache.get(1L, () -> "new");
+
+        // Assert
+        assertEquals("old", raced);
+        assertEquals("new", reloaded);
+    }
+
+    @Test
+    void evictIf_ShouldDropOnlyMatchingEntries() {
+        // Arrange
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache<>(60_000, 10);
+        cache.get(1, () -> "one");
+        cache.get(2, () -> "two");
+
+        // Act
+        cache.evictIf((key, value) -> value.equals("two"));
+
+        // Assert
+        assertEquals(1, cache.size());
+        assertEquals("one", cache.get(1, () -> "reloaded"));
+        assertEquals("reloaded", cache.get(2, () -> "reloaded"));
+    }
+
+    @Test
+    void get_WithExpiredEntryOrLoaderFailure_ShouldReload() {
+        // Arrange
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(0, 10);
+        cache.get(1L, () -> "first");
+
+        // Act & Assert
+        assertEquals("second", cache.get(1L, () -> "second"));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(2L, () -> {
+            throw new IllegalArgumentException("Book not found");
+        }));
+        assertEquals(1, cache.size());
+    }
+}
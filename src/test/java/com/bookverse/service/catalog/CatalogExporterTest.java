@@ -0,0 +1,236 @@
+package com.bookverse.service.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogExporterTest {
+
+    private static final Timestamp CREATED = Timestamp.valueOf(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new CatalogExporter(jdbcTemplate, new ObjectMapper(), transactionManager, 250, 1);
+    }
+
+    @Test
+    void exportBooks_ShouldWriteOneLinePerBookWithItsGenres() throws Exception {
+        // Arrange
+        stubRows(List.of(
+                book(1L, "Dune", 4.5, "FANTASY"),
+                book(1L, "Dune", 4.5, "SCI_FI"),
+                book(2L, "Emma \"Quoted\"", null, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exporter.exportBooks(out);
+
+        // Assert
+        assertEquals(2, count);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"title\":\"Dune\",\"author\":\"Author\",\"description\":null,\"coverImageUrl\":null," +
+                "\"publishedYear\":1965,\"createdAt\":\"2024-01-02T03:04:05\",\"averageRating\":4.5,\"reviewCount\":2," +
+                "\"genres\":[\"FANTASY\",\"SCI_FI\"]}", lines[0]);
+        assertTrue(lines[1].contains("\"title\":\"Emma \\\"Quoted\\\"\""));
+        assertTrue(lines[1].contains("\"averageRating\":null"));
+        assertTrue(lines[1].endsWith("\"genres\":[]}"));
+    }
+
+    @Test
+    void exportReviews_ShouldUseForwardOnlyCursorWithFetchSize() throws Exception {
+        // Arrange
+        Map<String, Object> review = new HashMap<>();
+        review.put("id", 7L);
+        review.put("book_id", 1L);
+        review.put("user_id", 3L);
+        review.put("rating", 5);
+        review.put("review_text", "Loved it");
+        review.put("created_at", CREATED);
+        review.put("updated_at", CREATED);
+        stubRows(List.of(review));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+
+        // Act
+        long count = exporter.exportReviews(out);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals("{\"id\":7,\"bookId\":1,\"userId\":3,\"rating\":5,\"reviewText\":\"Loved it\"," +
+                "\"createdAt\":\"2024-01-02T03:04:05\",\"updatedAt\":\"2024-01-02T03:04:05\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        assertSame(statement, creator.getValue().createPreparedStatement(connection));
+        verify(connection).prepareStatement(CatalogExporter.REVIEWS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(statement).setFetchSize(250);
+    }
+
+    @Test
+    void exportBooks_WhenClientDisconnects_ShouldThrowIOException() {
+        // Arrange
+        stubRows(List.of(book(1L, "Dune", 4.5, "FANTASY"), book(2L, "Emma", 4.0, null)));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        IOException thrown = assertThrows(IOException.class, () -> exporter.exportBooks(broken));
+        assertEquals("Broken pipe", thrown.getMessage());
+    }
+
+    @Test
+    void streamBooks_WhenBudgetIsTaken_ShouldRejectUntilTheRunningExportEnds() throws Exception {
+        // Arrange
+        stubRows(List.of(book(1L, "Dune", 4.5, "FANTASY")));
+        StreamingResponseBody running = exporter.streamBooks(asyncRequest());
+
+        // Act
+        assertThrows(RejectedExecutionException.class, () -> exporter.streamReviews(asyncRequest()));
+        running.writeTo(new ByteArrayOutputStream());
+        StreamingResponseBody next = exporter.streamBooks(asyncRequest());
+
+        // Assert
+        assertNotNull(next);
+    }
+
+    @Test
+    void streamBooks_WhenBodyIsDroppedWithoutRunning_ShouldFreeTheSlotOnceTheRequestCompletes() throws Exception {
+        // Arrange
+        ServletWebRequest request = asyncRequest();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        AsyncTaskExecutor fullQueue = mock(AsyncTaskExecutor.class);
+        when(fullQueue.submit(any(Callable.class))).thenThrow(new RejectedExecutionException("Queue full"));
+        asyncManager.setTaskExecutor(fullQueue);
+        StreamingResponseBody dropped = exporter.streamBooks(request);
+
+        // Act
+        asyncManager.startCallableProcessing(() -> {
+            dropped.writeTo(new ByteArrayOutputStream());
+            return null;
+        });
+        assertThrows(RejectedExecutionException.class, () -> exporter.streamBooks(asyncRequest()));
+        request.getRequest().getAsyncContext().complete();
+        StreamingResponseBody next = exporter.streamBooks(asyncRequest());
+
+        // Assert
+        assertNotNull(next);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void streamBooks_WhenBodyRunsAndRequestCompletes_ShouldReturnTheSlotOnlyOnce() throws Exception {
+        // Arrange
+        stubRows(List.of(book(1L, "Dune", 4.5, "FANTASY")));
+        ServletWebRequest request = asyncRequest();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        StreamingResponseBody body = exporter.streamBooks(request);
+        asyncManager.setTaskExecutor(mock(AsyncTaskExecutor.class));
+        asyncManager.startCallableProcessing(() -> null);
+
+        // Act
+        body.writeTo(new ByteArrayOutputStream());
+        request.getRequest().getAsyncContext().complete();
+        exporter.streamBooks(asyncRequest());
+
+        // Assert
+        assertThrows(RejectedExecutionException.class, () -> exporter.streamReviews(asyncRequest()));
+    }
+
+    // A request that can go async, as the servlet container hands it to the controller
+    private static ServletWebRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        return new ServletWebRequest(request, response);
+    }
+
+    // Feeds the rows to the handler as a cursor would
+    private void stubRows(List<Map<String, Object>> rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map<String, Object> row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static Map<String, Object> book(Long id, String title, Double rating, String genre) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("title", title);
+        row.put("author", "Author");
+        row.put("published_year", 1965);
+        row.put("created_at", CREATED);
+        row.put("average_rating", rating);
+        row.put("review_count", 2);
+        row.put("genre", genre);
+        return row;
+    }
+
+    // Answers every getter by column label from the map
+    private static ResultSet resultSet(Map<String, Object> row) {
+        return mock(ResultSet.class, invocation -> {
+            Object value = invocation.getArguments().length == 1 ? row.get((String) invocation.getArgument(0)) : null;
+            return switch (invocation.getMethod().getName()) {
+                case "getLong" -> value != null ? ((Number) value).longValue() : 0L;
+                case "getString", "getObject", "getTimestamp" -> value;
+                default -> null;
+            };
+        });
+    }
+}
@@ -0,0 +1,181 @@
+package com.bookverse.service.catalog;
+
+import com.bookverse.entity.CatalogImportCheckpoint;
+import com.bookverse.repository.CatalogImportCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImporterTest {
+
+    private static final String CSV = "title,author,published_year,genres\n" +
+            "First,Author A,2001,FANTASY|MYSTERY\n" +
+            "Second,Author B,2002,\n" +
+            "Broken,Author C,someday,FANTASY\n" +
+            "Third,Author D,2003,ROMANCE\n";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CatalogImportCheckpointRepository checkpointRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private CatalogImporter importer;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        importer = new CatalogImporter(jdbcTemplate, new TransactionTemplate(transactionManager), checkpointRepository);
+        ReflectionTestUtils.setField(importer, "batchSize", 2);
+        file = Files.writeString(tempDir.resolve("catalog.csv"), CSV);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importFile_WithGeneratedKeys_ShouldBatchBooksAndGenresAndCheckpointEachBatch() throws IOException {
+        // Arrange
+        when(checkpointRepository.findById("catalog")).thenReturn(Optional.empty());
+        returnSavedCheckpoints();
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+        AtomicLong nextId = new AtomicLong(100);
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> {
+                    int rows = invocation.getArgument(1, BatchPreparedStatementSetter.class).getBatchSize();
+                    List<Map<String, Object>> keys = invocation.getArgument(2, KeyHolder.class).getKeyList();
+                    for (int i = 0; i < rows; i++) {
+                        keys.add(Map.of("id", nextId.getAndIncrement()));
+                    }
+                    return new int[rows];
+                });
+
+        // Act
+        CatalogImportResult result = importer.importFile(file, "catalog");
+
+        // Assert
+        assertEquals(3, result.imported());
+        assertEquals(0, result.resumed());
+        assertEquals(1, result.rejected());
+        verify(jdbcTemplate, times(2)).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+        verify(jdbcTemplate).update("INSERT INTO book_genres (book_id, genre) VALUES (?, ?), (?, ?)",
+                100L, "FANTASY", 100L, "MYSTERY");
+        verify(jdbcTemplate).update("INSERT INTO book_genres (book_id, genre) VALUES (?, ?)", 102L, "ROMANCE");
+
+        ArgumentCaptor<CatalogImportCheckpoint> checkpoints = ArgumentCaptor.forClass(CatalogImportCheckpoint.class);
+        verify(checkpointRepository, times(2)).save(checkpoints.capture());
+        CatalogImportCheckpoint first = checkpoints.getAllValues().get(0);
+        assertEquals(2L, first.getRecordsRead());
+        assertEquals(2L, first.getBooksImported());
+        CatalogImportCheckpoint last = checkpoints.getAllValues().get(1);
+        assertEquals(4L, last.getRecordsRead());
+        assertEquals(3L, last.getBooksImported());
+        assertEquals(1L, last.getRecordsRejected());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importFile_OnPostgres_ShouldPreallocateIdsAndUseMultiRowInserts() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(importer, "batchSize", 10);
+        when(checkpointRepository.findById("catalog")).thenReturn(Optional.empty());
+        returnSavedCheckpoints();
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(CatalogImporter.ALLOCATE_IDS_SQL, Long.class, 3)).thenReturn(List.of(7L, 8L, 9L));
+
+        // Act
+        CatalogImportResult result = importer.importFile(file, "catalog");
+
+        // Assert
+        assertEquals(3, result.imported());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), args.capture());
+        assertTrue(sql.getAllValues().get(0).startsWith("INSERT INTO books (id, title"));
+        Object[] bookArgs = args.getAllValues().get(0);
+        assertEquals(21, bookArgs.length);
+        assertEquals(7L, bookArgs[0]);
+        assertEquals("First", bookArgs[1]);
+        assertEquals(9L, bookArgs[14]);
+        assertEquals(List.of(7L, "FANTASY", 7L, "MYSTERY", 9L, "ROMANCE"), List.of(args.getAllValues().get(1)));
+        verify(jdbcTemplate, never()).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importFile_WithCheckpoint_ShouldResumeAfterCommittedRecords() throws IOException {
+        // Arrange
+        when(checkpointRepository.findById("catalog"))
+                .thenReturn(Optional.of(new CatalogImportCheckpoint("catalog", 3L, 2L, 1L, null)));
+        returnSavedCheckpoints();
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(CatalogImporter.ALLOCATE_IDS_SQL, Long.class, 1)).thenReturn(List.of(50L));
+
+        // Act
+        CatalogImportResult result = importer.importFile(file, "catalog");
+
+        // Assert
+        assertEquals(1, result.imported());
+        assertEquals(3, result.resumed());
+        assertEquals(0, result.rejected());
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(anyString(), args.capture());
+        assertEquals("Third", args.getAllValues().get(0)[1]);
+        ArgumentCaptor<CatalogImportCheckpoint> checkpoint = ArgumentCaptor.forClass(CatalogImportCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(4L, checkpoint.getValue().getRecordsRead());
+        assertEquals(3L, checkpoint.getValue().getBooksImported());
+        assertEquals(1L, checkpoint.getValue().getRecordsRejected());
+    }
+
+    @Test
+    void importFile_WhenComplete_ShouldWriteNothing() throws IOException {
+        // Arrange
+        when(checkpointRepository.findById("catalog"))
+                .thenReturn(Optional.of(new CatalogImportCheckpoint("catalog", 4L, 3L, 1L, null)));
+
+        // Act
+        CatalogImportResult result = importer.importFile(file, "catalog");
+
+        // Assert
+        assertEquals(0, result.imported());
+        assertEquals(4, result.resumed());
+        verify(checkpointRepository, never()).save(any());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void returnSavedCheckpoints() {
+        when(checkpointRepository.save(any(CatalogImportCheckpoint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+}
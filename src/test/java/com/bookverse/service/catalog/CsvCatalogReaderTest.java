@@ -0,0 +1,85 @@
+package com.bookverse.service.catalog;
+
+import com.bookverse.entity.BookGenre;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvCatalogReaderTest {
+
+    @Test
+    void next_ShouldParseQuotedFieldsAndGenres() throws IOException {
+        // Arrange
+        String csv = "Title,Author,Description,Cover_Image_Url,Published_Year,Genres\r\n" +
+                "\"Dune, Part One\",Frank Herbert,\"A \"\"spice\"\" saga\nover two lines\",,1965,SCI_FI|fantasy\r\n" +
+                "\r\n" +
+                "Emma,Jane Austen,,,1815,ROMANCE\r\n";
+
+        // Act
+        CsvCatalogReader reader = new CsvCatalogReader(new StringReader(csv));
+        CatalogRecord first = reader.next();
+        CatalogRecord second = reader.next();
+        CatalogRecord end = reader.next();
+
+        // Assert
+        assertEquals("Dune, Part One", first.title());
+        assertEquals("A \"spice\" saga\nover two lines", first.description());
+        assertNull(first.coverImageUrl());
+        assertEquals(1965, first.publishedYear());
+        assertEquals(Set.of(BookGenre.Genre.SCI_FI, BookGenre.Genre.FANTASY), first.genres());
+        assertEquals("Emma", second.title());
+        assertEquals(5, reader.line());
+        assertNull(end);
+    }
+
+    @Test
+    void next_WithInvalidRecord_ShouldRejectItAndContinue() throws IOException {
+        // Arrange
+        String csv = "title,author,published_year,genres\n" +
+                "Bad Year,Someone,soon,FANTASY\n" +
+                "Too,Many,Fields,1999,FANTASY\n" +
+                "Unknown Genre,Someone,2001,POETRY\n" +
+                "Good,Someone,2002,MYSTERY\n";
+        CsvCatalogReader reader = new CsvCatalogReader(new StringReader(csv));
+
+        // Act & Assert
+        IllegalArgumentException year = assertThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(year.getMessage().contains("publishedYear"));
+        IllegalArgumentException fields = assertThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(fields.getMessage().startsWith("Line 3"));
+        IllegalArgumentException genre = assertThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(genre.getMessage().contains("POETRY"));
+        assertEquals("Good", reader.next().title());
+    }
+
+    @Test
+    void skip_ShouldStepOverRecordsWithoutValidating() throws IOException {
+        // Arrange
+        String csv = "title,author,published_year\n" +
+                "Invalid,,\n" +
+                "\"Multi\nLine\",Someone,2000\n" +
+                "Third,Someone,2001\n";
+        CsvCatalogReader reader = new CsvCatalogReader(new StringReader(csv));
+
+        // Act
+        boolean first = reader.skip();
+        boolean second = reader.skip();
+        CatalogRecord third = reader.next();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals("Third", third.title());
+        assertFalse(reader.skip());
+    }
+
+    @Test
+    void constructor_WithEmptyInput_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new CsvCatalogReader(new StringReader("")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookverse.service.catalog;
+
+import com.bookverse.entity.BookGenre;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonlCatalogReaderTest {
+
+    @Test
+    void next_ShouldParseObjectsWithGenreArrays() throws IOException {
+        // Arrange
+        String jsonl = "{\"title\":\"Dune\",\"author\":\"Frank Herbert\",\"publishedYear\":1965," +
+                "\"coverImageUrl\":null,\"genres\":[\"SCI_FI\",\"FANTASY\"]}\n" +
+                "\n" +
+                "{\"title\":\"Emma\",\"author\":\"Jane Austen\",\"published_year\":\"1815\",\"genres\":\"ROMANCE\"}\n";
+        JsonlCatalogReader reader = reader(jsonl);
+
+        // Act
+        CatalogRecord first = reader.next();
+        CatalogRecord second = reader.next();
+
+        // Assert
+        assertEquals("Dune", first.title());
+        assertNull(first.coverImageUrl());
+        assertEquals(Set.of(BookGenre.Genre.SCI_FI, BookGenre.Genre.FANTASY), first.genres());
+        assertEquals(1815, second.publishedYear());
+        assertEquals(Set.of(BookGenre.Genre.ROMANCE), second.genres());
+        assertEquals(3, reader.line());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_WithMalformedLine_ShouldRejectItAndContinue() throws IOException {
+        // Arrange
+        String jsonl = "{\"title\":\"Broken\"\n" +
+                "[1, 2]\n" +
+                "{\"title\":\"Good\",\"author\":\"Someone\",\"publishedYear\":2000}\n";
+        JsonlCatalogReader reader = reader(jsonl);
+
+        // Act & Assert
+        IllegalArgumentException json = assertThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(json.getMessage().startsWith("Line 1: invalid JSON"));
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("Good", reader.next().title());
+    }
+
+    private static JsonlCatalogReader reader(String jsonl) {
+        return new JsonlCatalogReader(new BufferedReader(new StringReader(jsonl)));
+    }
+}
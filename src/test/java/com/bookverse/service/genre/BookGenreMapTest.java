@@ -0,0 +1,84 @@
+package com.bookverse.service.genre;
+
+import com.bookverse.entity.BookGenre;
+import com.bookverse.repository.BookGenreRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BookGenreMapTest {
+
+    @Test
+    void add_ShouldAccumulateGenresPerBook() {
+        // Arrange
+        BookGenreMap map = new BookGenreMap();
+
+        // Act
+        map.add(7L, BookGenre.Genre.MYSTERY);
+        map.add(7L, BookGenre.Genre.ROMANCE);
+        map.add(7L, BookGenre.Genre.MYSTERY);
+        map.add(9L, BookGenre.Genre.FANTASY);
+
+        // Assert
+        assertEquals(2, map.size());
+        assertEquals(EnumSet.of(BookGenre.Genre.ROMANCE, BookGenre.Genre.MYSTERY), map.get(7L));
+        assertEquals(1 << BookGenre.Genre.FANTASY.ordinal(), map.mask(9L));
+        assertTrue(map.get(8L).isEmpty());
+        assertEquals(0, map.mask(8L));
+    }
+
+    @Test
+    void add_BeyondInitialCapacity_ShouldKeepEveryBook() {
+        // Arrange
+        BookGenreMap map = new BookGenreMap(1);
+        BookGenre.Genre[] genres = BookGenre.Genre.values();
+
+        // Act
+        for (long id = 0; id < 10_000; id++) {
+            map.add(id * 31, genres[(int) (id % genres.length)]);
+        }
+
+        // Assert
+        assertEquals(10_000, map.size());
+        for (long id = 0; id < 10_000; id++) {
+            assertEquals(EnumSet.of(genres[(int) (id % genres.length)]), map.get(id * 31));
+        }
+    }
+
+    @Test
+    void genres_ShouldDecodeMaskInEnumOrder() {
+        // Arrange
+        int mask = (1 << BookGenre.Genre.MYSTERY.ordinal()) | (1 << BookGenre.Genre.SCI_FI.ordinal());
+
+        // Act & Assert
+        assertEquals(EnumSet.of(BookGenre.Genre.SCI_FI, BookGenre.Genre.MYSTERY), BookGenreMap.genres(mask));
+        assertTrue(BookGenreMap.genres(0).isEmpty());
+    }
+
+    @Test
+    void load_ShouldQueryInBatchesAndSkipEmptyInput() {
+        // Arrange
+        BookGenreRepository repository = mock(BookGenreRepository.class);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, BookGenre.Genre.ROMANCE});
+        rows.add(new Object[]{1L, null});
+        when(repository.findGenresByBookIds(anyList())).thenReturn(rows).thenReturn(List.of());
+        List<Long> ids = LongStream.rangeClosed(1, BookGenreMap.BATCH_SIZE + 1).boxed().toList();
+
+        // Act
+        BookGenreMap map = BookGenreMap.load(repository, ids);
+        BookGenreMap empty = BookGenreMap.load(repository, List.of());
+
+        // Assert
+        assertEquals(EnumSet.of(BookGenre.Genre.ROMANCE), map.get(1L));
+        assertEquals(0, empty.size());
+        verify(repository, times(2)).findGenresByBookIds(anyList());
+    }
+}
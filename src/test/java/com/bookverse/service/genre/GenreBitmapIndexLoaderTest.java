@@ -0,0 +1,46 @@
+package com.bookverse.service.genre;
+
+import com.bookverse.entity.BookGenre;
+import com.bookverse.repository.BookGenreRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenreBitmapIndexLoaderTest {
+
+    @Mock
+    private BookGenreRepository bookGenreRepository;
+
+    @Test
+    void rebuild_ShouldPageThroughGenreRowsAndPublish() {
+        // Arrange
+        GenreBitmapIndex index = new GenreBitmapIndex();
+        GenreBitmapIndexLoader loader = new GenreBitmapIndexLoader(bookGenreRepository, index);
+        when(bookGenreRepository.findGenreRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new Object[]{10L, 1L, BookGenre.Genre.ROMANCE},
+                new Object[]{11L, 2L, BookGenre.Genre.ROMANCE}));
+        when(bookGenreRepository.findGenreRowsAfter(eq(11L), any(Pageable.class))).thenReturn(List.<Object[]>of(
+                new Object[]{12L, 2L, BookGenre.Genre.MYSTERY}));
+        when(bookGenreRepository.findGenreRowsAfter(eq(12L), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        loader.rebuild();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(2, index.countAny(List.of(BookGenre.Genre.ROMANCE)).getAsLong());
+        assertEquals(2, index.countAny(List.of(BookGenre.Genre.ROMANCE, BookGenre.Genre.MYSTERY)).getAsLong());
+        verify(bookGenreRepository, times(3)).findGenreRowsAfter(any(), any(Pageable.class));
+    }
+}
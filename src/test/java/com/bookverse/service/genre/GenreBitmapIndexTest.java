@@ -0,0 +1,99 @@
+package com.bookverse.service.genre;
+
+import com.bookverse.entity.BookGenre;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenreBitmapIndexTest {
+
+    private GenreBitmapIndex built() {
+        GenreBitmapIndex index = new GenreBitmapIndex();
+        GenreBitmapIndex.Builder builder = index.newBuilder();
+        builder.add(1L, BookGenre.Genre.ROMANCE);
+        builder.add(2L, BookGenre.Genre.MYSTERY);
+        builder.add(2L, BookGenre.Genre.FANTASY);
+        builder.add(3L, BookGenre.Genre.FANTASY);
+        index.publish(builder);
+        return index;
+    }
+
+    @Test
+    void lookups_BeforeFirstPublish_ShouldBeEmpty() {
+        // Arrange
+        GenreBitmapIndex index = new GenreBitmapIndex();
+
+        // Act & Assert
+        assertFalse(index.isReady());
+        assertTrue(index.countAny(List.of(BookGenre.Genre.ROMANCE)).isEmpty());
+        assertTrue(index.genresOf(List.of(1L)).isEmpty());
+        assertEquals(0, index.mask(1L));
+    }
+
+    @Test
+    void countAny_ShouldCountEachBookOnceAcrossGenres() {
+        // Arrange
+        GenreBitmapIndex index = built();
+
+        // Act & Assert
+        assertEquals(2, index.countAny(List.of(BookGenre.Genre.FANTASY)).getAsLong());
+        assertEquals(2, index.countAny(List.of(BookGenre.Genre.FANTASY, BookGenre.Genre.MYSTERY)).getAsLong());
+        assertEquals(3, index.countAny(List.of(BookGenre.Genre.FANTASY, BookGenre.Genre.ROMANCE)).getAsLong());
+        assertEquals(0, index.countAny(List.of(BookGenre.Genre.COMEDY)).getAsLong());
+    }
+
+    @Test
+    void genresOf_ShouldReadEachBookMaskFromBitmaps() {
+        // Arrange
+        GenreBitmapIndex index = built();
+
+        // Act
+        BookGenreMap genres = index.genresOf(List.of(2L, 4L)).orElseThrow();
+
+        // Assert
+        assertEquals(EnumSet.of(BookGenre.Genre.FANTASY, BookGenre.Genre.MYSTERY), genres.get(2L));
+        assertTrue(genres.get(4L).isEmpty());
+        assertEquals(1 << BookGenre.Genre.ROMANCE.ordinal(), index.mask(1L));
+    }
+
+    @Test
+    void update_ShouldReplaceGenresAndIgnoreUnknownSet() {
+        // Arrange
+        GenreBitmapIndex index = built();
+
+        // Act
+        index.update(2L, Set.of(BookGenre.Genre.COMEDY));
+        index.update(3L, null);
+        index.remove(1L);
+
+        // Assert
+        assertEquals(EnumSet.of(BookGenre.Genre.COMEDY), BookGenreMap.genres(index.mask(2L)));
+        assertEquals(EnumSet.of(BookGenre.Genre.FANTASY), BookGenreMap.genres(index.mask(3L)));
+        assertEquals(0, index.mask(1L));
+        assertEquals(1, index.countAny(List.of(BookGenre.Genre.FANTASY)).getAsLong());
+    }
+
+    @Test
+    void publish_ShouldReplayUpdatesMadeWhileRebuilding() {
+        // Arrange
+        GenreBitmapIndex index = built();
+        GenreBitmapIndex.Builder builder = index.newBuilder();
+        builder.add(1L, BookGenre.Genre.ROMANCE);
+
+        // Act
+        index.update(5L, Set.of(BookGenre.Genre.SCI_FI));
+        index.publish(builder);
+
+        // Assert
+        assertEquals(EnumSet.of(BookGenre.Genre.SCI_FI), BookGenreMap.genres(index.mask(5L)));
+        assertEquals(0, index.mask(2L));
+        Map<String, Number> metrics = index.metrics();
+        assertEquals(1, metrics.get("ready"));
+        assertEquals(1, metrics.get("SCI_FI"));
+    }
+}
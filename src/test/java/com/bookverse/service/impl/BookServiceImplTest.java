@@ -3,25 +3,37 @@ package com.bookverse.service.impl;
 import com.bookverse.dto.BookDetailDTO;
 import com.bookverse.dto.BookDTO;
 import com.bookverse.dto.PageResponse;
+import com.bookverse.dto.PaginationDTO;
 import com.bookverse.dto.ReviewDTO;
 import com.bookverse.dto.SearchCriteriaDTO;
 import com.bookverse.entity.Book;
 import com.bookverse.entity.BookGenre;
 import com.bookverse.entity.Review;
 import com.bookverse.entity.User;
+import com.bookverse.repository.BookGenreRepository;
 import com.bookverse.repository.BookRepository;
+import com.bookverse.repository.BookSummary;
 import com.bookverse.repository.ReviewRepository;
+import com.bookverse.service.cache.BookCache;
+import com.bookverse.service.genre.GenreBitmapIndex;
 import com.bookverse.service.mapper.EntityMapper;
+import com.bookverse.service.paging.CountCache;
+import com.bookverse.service.paging.SeekCursor;
+import com.bookverse.service.search.BookSearchIndex;
+import com.bookverse.service.search.SearchHits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
@@ -29,6 +41,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,9 +52,25 @@ class BookServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookGenreRepository bookGenreRepository;
+
+    @Mock
+    private GenreBitmapIndex genreBitmapIndex;
+
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private CountCache countCache;
+
+    // Real cache: a fresh one per test misses, so every lookup still reaches the repositories
+    @Spy
+    private BookCache bookCache = new BookCache(true, 300, 10000, 60, 100);
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -95,7 +124,7 @@ class BookServiceImplTest {
     void getBookDetails_WhenBookExists_ShouldReturnBookDetailDTO() {
         // Arrange
         Long bookId = 1L;
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+        when(bookRepository.findWithGenresById(bookId)).thenReturn(Optional.of(testBook));
 
         // Act
         BookDetailDTO result = bookService.getBookDetails(bookId);
@@ -110,7 +139,7 @@ class BookServiceImplTest {
         assertEquals(testBook.getCoverImageUrl(), result.getCoverImageUrl());
 
         // Verify repository was called
-        verify(bookRepository, times(1)).findById(bookId);
+        verify(bookRepository, times(1)).findWithGenresById(bookId);
         verifyNoMoreInteractions(bookRepository);
     }
 
@@ -118,7 +147,7 @@ class BookServiceImplTest {
     void getBookDetails_WhenBookNotFound_ShouldThrowIllegalArgumentException() {
         // Arrange
         Long bookId = 999L;
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.findWithGenresById(bookId)).thenReturn(Optional.empty());
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
@@ -129,7 +158,7 @@ class BookServiceImplTest {
         assertEquals("Book not found", exception.getMessage());
 
         // Verify repository was called
-        verify(bookRepository, times(1)).findById(bookId);
+        verify(bookRepository, times(1)).findWithGenresById(bookId);
         verifyNoMoreInteractions(bookRepository);
     }
 
@@ -148,8 +177,8 @@ class BookServiceImplTest {
             .size(10)
             .build();
 
-        List<Book> books = Arrays.asList(testBook, testBook2);
-        Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), 2);
+        List<BookSummary> books = summaries(testBook, testBook2);
+        Page<BookSummary> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), 2);
         
         when(bookRepository.findBooks(
             eq(criteria.getQuery()),
@@ -184,6 +213,142 @@ class BookServiceImplTest {
         verifyNoMoreInteractions(bookRepository);
     }
 
+    @Test
+    void searchBooks_WhenIndexAnswers_ShouldHydratePageInIndexOrder() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder()
+            .query("book")
+            .page(0)
+            .size(10)
+            .build();
+        when(bookSearchIndex.search(eq(criteria), any(Sort.class), eq(0), eq(10)))
+            .thenReturn(Optional.of(new SearchHits(25, Arrays.asList(2L, 1L))));
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(2L, 1L))).thenReturn(summaries(testBook, testBook2));
+
+        // Act
+        PageResponse<BookDTO> result = bookService.searchBooks(criteria);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertEquals(2L, result.getItems().get(0).getId());
+        assertEquals(1L, result.getItems().get(1).getId());
+        assertEquals(25, result.getPagination().getTotalElements());
+        assertEquals(3, result.getPagination().getTotalPages());
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(2L, 1L));
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    void searchBooks_WithCursorAndNoIndex_ShouldSeekInDatabase() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder()
+            .sortBy("title")
+            .size(1)
+            .cursor(SeekCursor.of(Sort.Order.asc("title"), "sql", "A Book", 7L).encode())
+            .build();
+        when(bookRepository.findBooksAfter(eq(criteria), eq(Sort.Order.asc("title")), any(SeekCursor.class), eq(2)))
+            .thenReturn(summaries(testBook2, testBook));
+
+        // Act
+        PageResponse<BookDTO> result = bookService.searchBooks(criteria);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(2L, result.getItems().get(0).getId());
+        assertEquals(-1, result.getPagination().getTotalElements());
+        SeekCursor next = SeekCursor.decode(result.getPagination().getNextCursor(), Sort.Order.asc("title"));
+        assertEquals("Another Book", next.value());
+        assertEquals(2L, next.id());
+        assertEquals("sql", next.source());
+        verify(bookRepository, never()).findBooks(any(), any(), any(), any(), any(), any(), any(Pageable.class));
+        verify(bookSearchIndex, never()).search(any(), any(Sort.class), any(SeekCursor.class), anyInt());
+    }
+
+    @Test
+    void searchBooks_WithIndexCursorAndNoIndex_ShouldRejectCursor() {
+        // Arrange: the index that issued the cursor cannot answer, and SQL would match and order differently
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder()
+            .size(10)
+            .cursor(SeekCursor.of(Sort.Order.asc("title"), "token", "A Book", 7L).encode())
+            .build();
+        when(bookSearchIndex.cursorSource()).thenReturn("token");
+        when(bookSearchIndex.search(eq(criteria), any(Sort.class), any(SeekCursor.class), eq(11)))
+            .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookService.searchBooks(criteria));
+        verify(bookRepository, never()).findBooksAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void searchBooks_WithCursorAndIndex_ShouldHydrateSeekedIds() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder()
+            .size(10)
+            .cursor(SeekCursor.of(Sort.Order.asc("title"), "token", "A Book", 7L).encode())
+            .build();
+        when(bookSearchIndex.cursorSource()).thenReturn("token");
+        when(bookSearchIndex.search(eq(criteria), any(Sort.class), any(SeekCursor.class), eq(11)))
+            .thenReturn(Optional.of(new SearchHits(12, Arrays.asList(2L, 1L))));
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(2L, 1L))).thenReturn(summaries(testBook, testBook2));
+
+        // Act
+        PageResponse<BookDTO> result = bookService.searchBooks(criteria);
+
+        // Assert
+        assertEquals(Arrays.asList(2L, 1L), result.getItems().stream().map(BookDTO::getId).toList());
+        assertEquals(12, result.getPagination().getTotalElements());
+        assertTrue(result.getPagination().isLast());
+        assertNull(result.getPagination().getNextCursor());
+    }
+
+    @Test
+    void searchBooks_WithTotalNone_ShouldUseSliceWithoutCount() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder().query("book").size(1).total("none").build();
+        Slice<BookSummary> slice = new SliceImpl<>(summaries(testBook), PageRequest.of(0, 1), true);
+        when(bookRepository.findBooksSlice(eq("book"), eq(null), eq(null), eq(null), eq(null), eq(null), any(Pageable.class)))
+            .thenReturn(slice);
+
+        // Act
+        PageResponse<BookDTO> result = bookService.searchBooks(criteria);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(PaginationDTO.TotalType.UNKNOWN, result.getPagination().getTotalType());
+        assertEquals(-1, result.getPagination().getTotalElements());
+        assertTrue(result.getPagination().isHasNext());
+        verify(bookRepository, never()).findBooks(any(), any(), any(), any(), any(), any(), any(Pageable.class));
+        verify(bookRepository, never()).countBooks(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchBooks_WithApproximateTotal_ShouldUseCachedCount() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder().query("book").size(1).total("approximate").build();
+        Slice<BookSummary> slice = new SliceImpl<>(summaries(testBook), PageRequest.of(0, 1), true);
+        when(bookRepository.findBooksSlice(eq("book"), eq(null), eq(null), eq(null), eq(null), eq(null), any(Pageable.class)))
+            .thenReturn(slice);
+        when(countCache.get(startsWith("books:book|"), any())).thenReturn(30L);
+
+        // Act
+        PageResponse<BookDTO> result = bookService.searchBooks(criteria);
+
+        // Assert
+        assertEquals(PaginationDTO.TotalType.APPROXIMATE, result.getPagination().getTotalType());
+        assertEquals(30, result.getPagination().getTotalElements());
+        assertEquals(30, result.getPagination().getTotalPages());
+    }
+
+    @Test
+    void searchBooks_WithMalformedCursor_ShouldThrowException() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder().cursor("not a cursor").build();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookService.searchBooks(criteria));
+    }
+
     @Test
     void searchBooks_WithNullCriteria_ShouldUseDefaultValues() {
         // Arrange
@@ -198,8 +363,8 @@ class BookServiceImplTest {
         criteria.setPage(null);
         criteria.setSize(null);
 
-        List<Book> books = Arrays.asList(testBook);
-        Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 20), 1);
+        List<BookSummary> books = summaries(testBook);
+        Page<BookSummary> bookPage = new PageImpl<>(books, PageRequest.of(0, 20), 1);
         
         when(bookRepository.findBooks(
             eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), any(Pageable.class)
@@ -229,7 +394,7 @@ class BookServiceImplTest {
             .size(10)
             .build();
 
-        Page<Book> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
+        Page<BookSummary> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
         
         when(bookRepository.findBooks(
             eq(criteria.getQuery()),
@@ -266,8 +431,8 @@ class BookServiceImplTest {
                     .size(10)
                     .build();
 
-                List<Book> books = Arrays.asList(testBook);
-                Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), 1);
+                List<BookSummary> books = summaries(testBook);
+                Page<BookSummary> bookPage = new PageImpl<>(books, PageRequest.of(0, 10), 1);
                 
                 when(bookRepository.findBooks(
                     eq(criteria.getQuery()),
@@ -374,10 +539,8 @@ class BookServiceImplTest {
     @Test
     void getFeaturedBooks_ShouldReturnListOfBookDTOs() {
         // Arrange
-        List<Book> featuredBooks = Arrays.asList(testBook, testBook2);
-        Page<Book> bookPage = new PageImpl<>(featuredBooks, PageRequest.of(0, 10), 2);
-        
-        when(bookRepository.findAll(any(Pageable.class))).thenReturn(bookPage);
+        List<BookSummary> featuredBooks = summaries(testBook, testBook2);
+        when(bookRepository.findSummaries(any(Pageable.class))).thenReturn(featuredBooks);
 
         // Act
         List<BookDTO> result = bookService.getFeaturedBooks();
@@ -400,16 +563,14 @@ class BookServiceImplTest {
         assertEquals(testBook2.getTitle(), secondBook.getTitle());
 
         // Verify repository was called with correct parameters
-        verify(bookRepository, times(1)).findAll(any(Pageable.class));
+        verify(bookRepository, times(1)).findSummaries(any(Pageable.class));
         verifyNoMoreInteractions(bookRepository);
     }
 
     @Test
     void getFeaturedBooks_WithEmptyResults_ShouldReturnEmptyList() {
         // Arrange
-        Page<Book> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
-        
-        when(bookRepository.findAll(any(Pageable.class))).thenReturn(emptyPage);
+        when(bookRepository.findSummaries(any(Pageable.class))).thenReturn(Collections.emptyList());
 
         // Act
         List<BookDTO> result = bookService.getFeaturedBooks();
@@ -423,15 +584,61 @@ class BookServiceImplTest {
     @Test
     void getFeaturedBooks_ShouldUseCorrectPageableParameters() {
         // Arrange
-        List<Book> featuredBooks = Arrays.asList(testBook);
-        Page<Book> bookPage = new PageImpl<>(featuredBooks, PageRequest.of(0, 10), 1);
-        
-        when(bookRepository.findAll(any(Pageable.class))).thenReturn(bookPage);
+        List<BookSummary> featuredBooks = summaries(testBook);
+        when(bookRepository.findSummaries(any(Pageable.class))).thenReturn(featuredBooks);
 
         // Act
         bookService.getFeaturedBooks();
 
         // Verify repository was called with correct Pageable
-        verify(bookRepository, times(1)).findAll(any(Pageable.class));
+        verify(bookRepository, times(1)).findSummaries(any(Pageable.class));
+    }
+
+    @Test
+    void searchBooks_ShouldLoadGenresForWholePageInOneQuery() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder().query("book").page(0).size(10).build();
+        when(bookRepository.findBooks(eq("book"), eq(null), eq(null), eq(null), eq(null), eq(null), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(summaries(testBook, testBook2), PageRequest.of(0, 10), 2));
+        when(bookGenreRepository.findGenresByBookIds(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(
+            new Object[]{1L, BookGenre.Genre.MYSTERY},
+            new Object[]{1L, BookGenre.Genre.FANTASY},
+            new Object[]{2L, BookGenre.Genre.ROMANCE}));
+
+        // Act
+        PageResponse<BookDTO> result = bookService.searchBooks(criteria);
+
+        // Assert
+        assertEquals(Arrays.asList("FANTASY", "MYSTERY"), result.getItems().get(0).getGenres());
+        assertEquals(List.of("ROMANCE"), result.getItems().get(1).getGenres());
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    void searchBooks_WithGenreOnlyFilterAndBitmapIndex_ShouldCountFromBitmapsWithoutCountQuery() {
+        // Arrange
+        List<BookGenre.Genre> genres = List.of(BookGenre.Genre.FANTASY);
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder().genres(genres).page(0).size(1).build();
+        when(genreBitmapIndex.isReady()).thenReturn(true);
+        when(genreBitmapIndex.countAny(genres)).thenReturn(OptionalLong.of(42));
+        when(bookRepository.findBooksSlice(eq(null), eq(null), eq(genres), eq(null), eq(null), eq(null), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(summaries(testBook), PageRequest.of(0, 1), true));
+
+        // Act
+        PageResponse<BookDTO> result = bookService.searchBooks(criteria);
+
+        // Assert
+        assertEquals(PaginationDTO.TotalType.EXACT, result.getPagination().getTotalType());
+        assertEquals(42, result.getPagination().getTotalElements());
+        assertEquals(42, result.getPagination().getTotalPages());
+        verify(bookRepository, never()).findBooks(any(), any(), any(), any(), any(), any(), any(Pageable.class));
+        verify(bookRepository, never()).countBooks(any(), any(), any(), any(), any(), any());
+    }
+
+    private static List<BookSummary> summaries(Book... books) {
+        return Arrays.stream(books)
+            .map(book -> new BookSummary(book.getId(), book.getTitle(), book.getAuthor(), book.getCoverImageUrl(),
+                book.getPublishedYear(), book.getAverageRating(), book.getReviewCount()))
+            .toList();
     }
 }
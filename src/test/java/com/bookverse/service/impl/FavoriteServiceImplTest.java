@@ -7,6 +7,7 @@ import com.bookverse.entity.User;
 import com.bookverse.repository.BookRepository;
 import com.bookverse.repository.FavoriteRepository;
 import com.bookverse.repository.UserRepository;
+import com.bookverse.service.cache.BookCache;
 import com.bookverse.service.mapper.EntityMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +37,9 @@ class FavoriteServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookCache bookCache;
+
     @InjectMocks
     private FavoriteServiceImpl favoriteService;
 
@@ -118,6 +122,7 @@ class FavoriteServiceImplTest {
         verify(userRepository, times(1)).findById(userId);
         verify(bookRepository, times(1)).findById(bookId);
         verify(favoriteRepository, times(1)).save(any(Favorite.class));
+        verify(bookCache).onFavoriteAdded(bookId);
         verifyNoMoreInteractions(favoriteRepository, userRepository, bookRepository);
     }
 
@@ -198,6 +203,7 @@ class FavoriteServiceImplTest {
 
         // Assert
         verify(favoriteRepository, times(1)).deleteByUserIdAndBookId(userId, bookId);
+        verify(bookCache).onFavoriteRemoved(bookId);
         verifyNoMoreInteractions(favoriteRepository, userRepository, bookRepository);
     }
 
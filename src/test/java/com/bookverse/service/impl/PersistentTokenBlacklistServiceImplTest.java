@@ -0,0 +1,213 @@
+package com.bookverse.service.impl;
+
+import com.bookverse.entity.RevokedToken;
+import com.bookverse.repository.RevokedTokenRepository;
+import com.bookverse.security.JwtTokenProvider;
+import com.bookverse.service.blacklist.GenerationalBloomFilter;
+import com.bookverse.service.blacklist.TokenDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersistentTokenBlacklistServiceImplTest {
+
+    private static final String SECRET_KEY = "testSecretKeyThatIsLongEnoughForHMACSHA256Algorithm";
+    private static final long VALIDITY_IN_MILLIS = 3600000; // 1 hour
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private JwtTokenProvider tokenProvider;
+    private AtomicLong now;
+    private PersistentTokenBlacklistServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(System.currentTimeMillis());
+        tokenProvider = new JwtTokenProvider(SECRET_KEY, VALIDITY_IN_MILLIS);
+        GenerationalBloomFilter revokedFilter = new GenerationalBloomFilter(1000, 0.01, 4, VALIDITY_IN_MILLIS);
+        service = new PersistentTokenBlacklistServiceImpl(revokedTokenRepository, tokenProvider, 1000, 64,
+                VALIDITY_IN_MILLIS, revokedFilter, 2, 60000, now::get);
+    }
+
+    @Test
+    void blacklistToken_ShouldStoreDigestAndHonorTokenLocally() {
+        // Arrange
+        String token = tokenProvider.generateToken("test@example.com");
+        TokenDigest digest = TokenDigest.of(token);
+        when(revokedTokenRepository.existsByDigestHighAndDigestLow(digest.high(), digest.low())).thenReturn(false);
+
+        // Act
+        service.blacklistToken(token);
+
+        // Assert
+        assertTrue(service.isBlacklisted(token));
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertEquals(digest.high(), saved.getValue().getDigestHigh());
+        assertEquals(digest.low(), saved.getValue().getDigestLow());
+        assertEquals(GenerationalBloomFilter.fingerprint(token), saved.getValue().getFingerprint());
+        assertTrue(saved.getValue().getExpiresAt().isAfter(toDateTime(now.get())));
+    }
+
+    @Test
+    void blacklistToken_WhenAlreadyStoredConcurrently_ShouldNotFail() {
+        // Arrange
+        String token = tokenProvider.generateToken("test@example.com");
+        when(revokedTokenRepository.existsByDigestHighAndDigestLow(anyLong(), anyLong())).thenReturn(false);
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> service.blacklistToken(token));
+        assertTrue(service.isBlacklisted(token));
+    }
+
+    @Test
+    void pollRevocations_ShouldPickUpRevocationsFromOtherInstances() {
+        // Arrange
+        String token = tokenProvider.generateToken("test@example.com");
+        when(revokedTokenRepository.findRevokedAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(row(1L, token, now.get() + VALIDITY_IN_MILLIS)));
+
+        // Act
+        boolean before = service.isBlacklisted(token);
+        service.pollRevocations();
+
+        // Assert
+        assertFalse(before);
+        assertTrue(service.isBlacklisted(token));
+        assertEquals(1L, service.metrics().get("watermark"));
+    }
+
+    @Test
+    void pollRevocations_WithFullBatch_ShouldKeepReadingFromNewWatermark() {
+        // Arrange
+        long expiresAt = now.get() + VALIDITY_IN_MILLIS;
+        when(revokedTokenRepository.findRevokedAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(row(1L, "a.b.c", expiresAt), row(2L, "d.e.f", expiresAt)));
+        when(revokedTokenRepository.findRevokedAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(row(3L, "g.h.i", expiresAt)));
+
+        // Act
+        service.pollRevocations();
+
+        // Assert
+        assertTrue(service.isBlacklisted("a.b.c"));
+        assertTrue(service.isBlacklisted("g.h.i"));
+        assertEquals(3L, service.metrics().get("watermark"));
+    }
+
+    @Test
+    void pollRevocations_WithIdGap_ShouldRecheckGapUntilItCommits() {
+        // Arrange: id 2 was allocated before id 3 but commits after it
+        long expiresAt = now.get() + VALIDITY_IN_MILLIS;
+        when(revokedTokenRepository.findRevokedAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(row(1L, "a.b.c", expiresAt), row(3L, "g.h.i", expiresAt)));
+        when(revokedTokenRepository.findRevokedAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        service.pollRevocations();
+        assertEquals(1, service.metrics().get("pendingGaps"));
+        when(revokedTokenRepository.findByIdIn(List.of(2L))).thenReturn(List.of(row(2L, "late.commit.token", expiresAt)));
+
+        // Act
+        service.pollRevocations();
+
+        // Assert
+        assertTrue(service.isBlacklisted("late.commit.token"));
+        assertEquals(0, service.metrics().get("pendingGaps"));
+    }
+
+    @Test
+    void pollRevocations_WithGapThatNeverCommits_ShouldDropItAfterTimeout() {
+        // Arrange
+        long expiresAt = now.get() + VALIDITY_IN_MILLIS;
+        when(revokedTokenRepository.findRevokedAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(row(2L, "a.b.c", expiresAt)));
+        when(revokedTokenRepository.findRevokedAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(revokedTokenRepository.findByIdIn(List.of(1L))).thenReturn(List.of());
+        service.pollRevocations();
+
+        // Act
+        now.addAndGet(61000);
+        service.pollRevocations();
+
+        // Assert
+        assertEquals(0, service.metrics().get("pendingGaps"));
+    }
+
+    @Test
+    void loadRevocations_ShouldLoadLiveRowsAndStartWatermarkAtMaxId() {
+        // Arrange
+        String token = tokenProvider.generateToken("test@example.com");
+        when(revokedTokenRepository.findMaxId()).thenReturn(7L);
+        when(revokedTokenRepository.findActiveBetween(eq(0L), eq(7L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(row(5L, token, now.get() + VALIDITY_IN_MILLIS)));
+
+        // Act
+        service.loadRevocations();
+
+        // Assert
+        assertTrue(service.isBlacklisted(token));
+        assertEquals(7L, service.metrics().get("watermark"));
+    }
+
+    @Test
+    void loadRevocations_WithIdMissingBelowMaxId_ShouldRecheckItOnFirstPoll() {
+        // Arrange: id 2 was allocated before id 3 but its logout had not committed during the load
+        long expiresAt = now.get() + VALIDITY_IN_MILLIS;
+        when(revokedTokenRepository.findMaxId()).thenReturn(3L);
+        when(revokedTokenRepository.findActiveBetween(eq(0L), eq(3L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(row(1L, "a.b.c", expiresAt), row(3L, "g.h.i", expiresAt)));
+        when(revokedTokenRepository.findActiveBetween(eq(3L), eq(3L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+        service.loadRevocations();
+        assertEquals(1, service.metrics().get("pendingGaps"));
+        when(revokedTokenRepository.findByIdIn(List.of(2L))).thenReturn(List.of(row(2L, "late.commit.token", expiresAt)));
+        when(revokedTokenRepository.findRevokedAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        service.pollRevocations();
+
+        // Assert
+        assertTrue(service.isBlacklisted("late.commit.token"));
+        assertEquals(0, service.metrics().get("pendingGaps"));
+        assertEquals(3L, service.metrics().get("watermark"));
+    }
+
+    @Test
+    void purgeExpiredRows_ShouldDeleteRowsExpiredByNow() {
+        // Arrange
+        when(revokedTokenRepository.deleteExpired(toDateTime(now.get()))).thenReturn(3);
+
+        // Act
+        service.purgeExpiredRows();
+
+        // Assert
+        verify(revokedTokenRepository).deleteExpired(toDateTime(now.get()));
+    }
+
+    private static RevokedToken row(Long id, String token, long expiresAt) {
+        TokenDigest digest = TokenDigest.of(token);
+        return new RevokedToken(id, digest.high(), digest.low(), GenerationalBloomFilter.fingerprint(token),
+                toDateTime(expiresAt), null);
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -8,13 +8,19 @@ import com.bookverse.entity.Favorite;
 import com.bookverse.entity.User;
 import com.bookverse.repository.BookGenreRepository;
 import com.bookverse.repository.BookRepository;
+import com.bookverse.repository.BookSummary;
 import com.bookverse.repository.FavoriteRepository;
+import com.bookverse.service.cache.BookCache;
+import com.bookverse.service.genre.GenreBitmapIndex;
 import com.bookverse.service.mapper.EntityMapper;
+import com.bookverse.service.recommendation.ItemSimilarityIndex;
+import com.bookverse.service.recommendation.RecommendationFanOut;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -22,6 +28,7 @@ import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -38,6 +45,19 @@ class RecommendationServiceImplTest {
     @Mock
     private BookGenreRepository bookGenreRepository;
 
+    @Mock
+    private GenreBitmapIndex genreBitmapIndex;
+
+    @Mock
+    private ItemSimilarityIndex itemSimilarityIndex;
+
+    @Mock
+    private RecommendationFanOut recommendationFanOut;
+
+    // Real cache: a fresh one per test misses, so every lookup still reaches the repositories
+    @Spy
+    private BookCache bookCache = new BookCache(true, 300, 10000, 60, 100);
+
     @InjectMocks
     private RecommendationServiceImpl recommendationService;
 
@@ -137,8 +157,8 @@ class RecommendationServiceImplTest {
     void getTopRated_WithValidLimit_ShouldReturnTopRatedRecommendation() {
         // Arrange
         int limit = 5;
-        List<Book> topRatedBooks = Arrays.asList(testBook1, testBook2, testBook3);
-        Page<Book> bookPage = new PageImpl<>(topRatedBooks);
+        List<BookSummary> topRatedBooks = summaries(testBook1, testBook2, testBook3);
+        Page<BookSummary> bookPage = new PageImpl<>(topRatedBooks);
         when(bookRepository.findTopRatedBooks(PageRequest.of(0, limit))).thenReturn(bookPage);
 
         // Act
@@ -156,6 +176,7 @@ class RecommendationServiceImplTest {
 
         // Verify repository calls
         verify(bookRepository, times(1)).findTopRatedBooks(PageRequest.of(0, limit));
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(anyList());
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -163,7 +184,7 @@ class RecommendationServiceImplTest {
     void getTopRated_WithEmptyResults_ShouldReturnEmptyRecommendation() {
         // Arrange
         int limit = 5;
-        Page<Book> emptyPage = new PageImpl<>(Collections.emptyList());
+        Page<BookSummary> emptyPage = new PageImpl<>(Collections.emptyList());
         when(bookRepository.findTopRatedBooks(PageRequest.of(0, limit))).thenReturn(emptyPage);
 
         // Act
@@ -191,6 +212,7 @@ class RecommendationServiceImplTest {
         int limit = 5;
         List<Favorite> userFavorites = Arrays.asList(testFavorite1, testFavorite2);
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(userFavorites);
+        stubGenres(testBook1, testBook2);
 
         // Act & Assert
         assertThrows(NullPointerException.class, () -> recommendationService.getUserBasedRecommendations(userId, limit));
@@ -207,13 +229,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Collections.emptyList());
 
         // Mock popular books fallback
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getUserBasedRecommendations(userId, limit);
@@ -231,7 +253,8 @@ class RecommendationServiceImplTest {
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
         verify(favoriteRepository, times(1)).findMostFavoritedBooks(PageRequest.of(0, limit));
-        verify(bookRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(1L, 2L));
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(anyList());
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -243,8 +266,8 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Collections.emptyList());
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(new PageImpl<>(Collections.emptyList()));
 
-        List<Book> mostReviewedBooks = Arrays.asList(testBook1, testBook2);
-        Page<Book> bookPage = new PageImpl<>(mostReviewedBooks);
+        List<BookSummary> mostReviewedBooks = summaries(testBook1, testBook2);
+        Page<BookSummary> bookPage = new PageImpl<>(mostReviewedBooks);
         when(bookRepository.findBooks(
                 eq(null), 
                 eq(null), 
@@ -280,6 +303,7 @@ class RecommendationServiceImplTest {
                 eq(null), 
                 eq(PageRequest.of(0, limit))
         );
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(anyList());
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -287,8 +311,8 @@ class RecommendationServiceImplTest {
     void getGenreBased_WithValidLimit_ShouldReturnGenreBasedRecommendations() {
         // Arrange
         int limit = 5;
-        List<Book> genreBooks = Arrays.asList(testBook1, testBook2, testBook3);
-        Page<Book> bookPage = new PageImpl<>(genreBooks);
+        List<BookSummary> genreBooks = summaries(testBook1, testBook2, testBook3);
+        Page<BookSummary> bookPage = new PageImpl<>(genreBooks);
         when(bookRepository.findBooks(
                 eq(null), 
                 eq(null), 
@@ -322,6 +346,7 @@ class RecommendationServiceImplTest {
                 eq(null), 
                 any(PageRequest.class)
         );
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(anyList());
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -329,7 +354,7 @@ class RecommendationServiceImplTest {
     void getGenreBased_WithEmptyResults_ShouldReturnEmptyRecommendation() {
         // Arrange
         int limit = 5;
-        Page<Book> emptyPage = new PageImpl<>(Collections.emptyList());
+        Page<BookSummary> emptyPage = new PageImpl<>(Collections.emptyList());
         when(bookRepository.findBooks(
                 eq(null), 
                 eq(null), 
@@ -374,17 +399,20 @@ class RecommendationServiceImplTest {
         List<Favorite> userFavorites = Arrays.asList(testFavorite1, testFavorite2);
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(userFavorites);
 
-        List<Book> recommendedBooks = Arrays.asList(testBook3);
-        Page<Book> bookPage = new PageImpl<>(recommendedBooks);
-        when(bookRepository.findBooks(
-                eq(null), 
-                eq(null), 
-                anyList(), 
-                eq(null), 
-                eq(null), 
-                eq(null), 
-                eq(PageRequest.of(0, limit * 2))
-        )).thenReturn(bookPage);
+        Book testBook5 = new Book();
+        testBook5.setId(5L);
+        testBook5.setTitle("Another Mystery");
+        testBook5.setAverageRating(4.9);
+        List<Object[]> candidates = Arrays.asList(
+                new Object[]{3L, 4.8}, new Object[]{1L, 4.5}, new Object[]{5L, 4.9});
+        when(bookRepository.findRecommendationCandidates(anyList(), eq(PageRequest.of(0, 2000))))
+                .thenReturn(candidates);
+        when(bookGenreRepository.findGenresByBookIds(Arrays.asList(3L, 1L, 5L))).thenReturn(Arrays.asList(
+                new Object[]{3L, BookGenre.Genre.MYSTERY},
+                new Object[]{1L, BookGenre.Genre.ROMANCE},
+                new Object[]{5L, BookGenre.Genre.MYSTERY}));
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(5L, 3L))).thenReturn(summaries(testBook3, testBook5));
+        stubGenres(testBook1, testBook2);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getGenreBasedFromFavorites(userId, limit);
@@ -397,19 +425,16 @@ class RecommendationServiceImplTest {
         assertEquals("favorites-genre-based", recommendation.getType());
         assertEquals("Based on your favorite genres", recommendation.getTitle());
         assertEquals("Books in genres you love", recommendation.getDescription());
-        assertEquals(1, recommendation.getBooks().size());
+        // Favorited book 1 is excluded; equal genre weights fall back to rating
+        assertEquals(Arrays.asList(5L, 3L), recommendation.getBooks().stream().map(BookDTO::getId).toList());
 
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
-        verify(bookRepository, times(1)).findBooks(
-                eq(null), 
-                eq(null), 
-                anyList(), 
-                eq(null), 
-                eq(null), 
-                eq(null), 
-                eq(PageRequest.of(0, limit * 2))
-        );
+        verify(bookRepository, times(1)).findRecommendationCandidates(anyList(), eq(PageRequest.of(0, 2000)));
+        // One genre lookup for the favorites, one for the candidates; the winners reuse the candidates' genres
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(Arrays.asList(1L, 2L));
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(Arrays.asList(3L, 1L, 5L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(5L, 3L));
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -421,13 +446,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Collections.emptyList());
 
         // Mock popular books fallback
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getGenreBasedFromFavorites(userId, limit);
@@ -445,7 +470,8 @@ class RecommendationServiceImplTest {
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
         verify(favoriteRepository, times(1)).findMostFavoritedBooks(PageRequest.of(0, limit));
-        verify(bookRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(1L, 2L));
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(anyList());
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -471,13 +497,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(userFavorites);
 
         // Mock popular books fallback (this will be called when no genres are found)
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getGenreBasedFromFavorites(userId, limit);
@@ -495,7 +521,9 @@ class RecommendationServiceImplTest {
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
         verify(favoriteRepository, times(1)).findMostFavoritedBooks(PageRequest.of(0, limit));
-        verify(bookRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(1L, 2L));
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(List.of(4L));
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(Arrays.asList(1L, 2L));
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -531,13 +559,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Collections.emptyList());
 
         // Mock popular books fallback
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getUserBasedRecommendations(userId, limit);
@@ -555,7 +583,8 @@ class RecommendationServiceImplTest {
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
         verify(favoriteRepository, times(1)).findMostFavoritedBooks(PageRequest.of(0, limit));
-        verify(bookRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(1L, 2L));
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(anyList());
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -567,13 +596,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Collections.emptyList());
 
         // Mock popular books fallback
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getGenreBasedFromFavorites(userId, limit);
@@ -591,7 +620,8 @@ class RecommendationServiceImplTest {
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
         verify(favoriteRepository, times(1)).findMostFavoritedBooks(PageRequest.of(0, limit));
-        verify(bookRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(1L, 2L));
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(anyList());
         verifyNoMoreInteractions(bookRepository, favoriteRepository, bookGenreRepository);
     }
 
@@ -635,23 +665,24 @@ class RecommendationServiceImplTest {
         
         testFavorite1.setBook(bookWithNullRating);
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Arrays.asList(testFavorite1));
+        stubGenres(bookWithNullRating);
         
         // Mock genre books response
-        List<Book> genreBooks = Arrays.asList(testBook1, testBook2, testBook3);
-        Page<Book> genreBooksPage = new PageImpl<>(genreBooks);
+        List<BookSummary> genreBooks = summaries(testBook1, testBook2, testBook3);
+        Page<BookSummary> genreBooksPage = new PageImpl<>(genreBooks);
         when(bookRepository.findBooks(
             eq(null), eq(null), eq(Arrays.asList(BookGenre.Genre.ROMANCE)), eq(null), eq(null), eq(null), 
             eq(PageRequest.of(0, limit * 2))
         )).thenReturn(genreBooksPage);
         
         // Mock popular books fallback (in case genre-based recommendations are insufficient)
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getUserBasedRecommendations(userId, limit);
@@ -686,13 +717,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Arrays.asList(testFavorite1));
         
         // Mock popular books fallback since no genres
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getUserBasedRecommendations(userId, limit);
@@ -707,7 +738,7 @@ class RecommendationServiceImplTest {
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
         verify(favoriteRepository, times(1)).findMostFavoritedBooks(PageRequest.of(0, limit));
-        verify(bookRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(1L, 2L));
     }
 
     @Test
@@ -728,13 +759,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Arrays.asList(testFavorite1));
         
         // Mock popular books fallback since no genres
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getUserBasedRecommendations(userId, limit);
@@ -749,14 +780,14 @@ class RecommendationServiceImplTest {
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
         verify(favoriteRepository, times(1)).findMostFavoritedBooks(PageRequest.of(0, limit));
-        verify(bookRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(Arrays.asList(1L, 2L));
     }
 
     @Test
     void getGenreBasedFromFavorites_WithBookHavingNullRating_ShouldHandleGracefully() {
         // Arrange
         Long userId = 1L;
-        int limit = 5;
+        int limit = 2;
         
         // Create a book with null rating
         Book bookWithNullRating = new Book();
@@ -768,14 +799,19 @@ class RecommendationServiceImplTest {
         
         testFavorite1.setBook(bookWithNullRating);
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Arrays.asList(testFavorite1));
+        stubGenres(bookWithNullRating);
         
-        // Mock genre books response
-        List<Book> genreBooks = Arrays.asList(testBook1, testBook2, testBook3);
-        Page<Book> genreBooksPage = new PageImpl<>(genreBooks);
-        when(bookRepository.findBooks(
-            eq(null), eq(null), eq(Arrays.asList(BookGenre.Genre.ROMANCE)), eq(null), eq(null), eq(null), 
-            eq(PageRequest.of(0, limit * 2))
-        )).thenReturn(genreBooksPage);
+        // Mock candidate rows: all romance, so rating decides and only the best two are hydrated
+        List<Object[]> candidates = Arrays.asList(
+                new Object[]{1L, 4.5}, new Object[]{2L, 4.0}, new Object[]{3L, 4.8});
+        when(bookRepository.findRecommendationCandidates(
+            eq(Arrays.asList(BookGenre.Genre.ROMANCE)), eq(PageRequest.of(0, 2000))
+        )).thenReturn(candidates);
+        when(bookGenreRepository.findGenresByBookIds(Arrays.asList(1L, 2L, 3L))).thenReturn(Arrays.asList(
+                new Object[]{1L, BookGenre.Genre.ROMANCE},
+                new Object[]{2L, BookGenre.Genre.ROMANCE},
+                new Object[]{3L, BookGenre.Genre.ROMANCE}));
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(3L, 1L))).thenReturn(summaries(testBook1, testBook3));
 
         // Act
         List<RecommendationDTO> result = recommendationService.getGenreBasedFromFavorites(userId, limit);
@@ -783,12 +819,12 @@ class RecommendationServiceImplTest {
         // Assert
         assertNotNull(result);
         assertFalse(result.isEmpty());
+        assertEquals(Arrays.asList(3L, 1L), result.get(0).getBooks().stream().map(BookDTO::getId).toList());
         
         // Verify repository calls
         verify(favoriteRepository, times(1)).findByUserIdWithBook(userId);
-        verify(bookRepository, times(1)).findBooks(
-            eq(null), eq(null), eq(Arrays.asList(BookGenre.Genre.ROMANCE)), eq(null), eq(null), eq(null), 
-            eq(PageRequest.of(0, limit * 2))
+        verify(bookRepository, times(1)).findRecommendationCandidates(
+            eq(Arrays.asList(BookGenre.Genre.ROMANCE)), eq(PageRequest.of(0, 2000))
         );
     }
 
@@ -810,13 +846,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Arrays.asList(testFavorite1));
         
         // Mock popular books fallback since no genres
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getGenreBasedFromFavorites(userId, limit);
@@ -850,13 +886,13 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findByUserIdWithBook(userId)).thenReturn(Arrays.asList(testFavorite1));
         
         // Mock popular books fallback since no genres
-        List<Book> popularBooks = Arrays.asList(testBook1, testBook2);
+        List<BookSummary> popularBooks = summaries(testBook1, testBook2);
         Page<Object[]> mostFavoritedPage = new PageImpl<>(Arrays.asList(
                 new Object[]{1L, 5L},
                 new Object[]{2L, 3L}
         ));
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(mostFavoritedPage);
-        when(bookRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
+        when(bookRepository.findSummariesByIdIn(Arrays.asList(1L, 2L))).thenReturn(popularBooks);
 
         // Act
         List<RecommendationDTO> result = recommendationService.getGenreBasedFromFavorites(userId, limit);
@@ -882,8 +918,8 @@ class RecommendationServiceImplTest {
         when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, limit))).thenReturn(emptyFavoritedPage);
         
         // Mock most reviewed books fallback
-        List<Book> mostReviewedBooks = Arrays.asList(testBook1, testBook2, testBook3);
-        Page<Book> mostReviewedPage = new PageImpl<>(mostReviewedBooks);
+        List<BookSummary> mostReviewedBooks = summaries(testBook1, testBook2, testBook3);
+        Page<BookSummary> mostReviewedPage = new PageImpl<>(mostReviewedBooks);
         when(bookRepository.findBooks(
             eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), 
             eq(PageRequest.of(0, limit))
@@ -911,4 +947,90 @@ class RecommendationServiceImplTest {
             eq(PageRequest.of(0, limit))
         );
     }
+
+    @Test
+    void getItemBasedRecommendations_WithFavorites_ShouldReturnNeighborsInModelOrder() {
+        // Arrange
+        when(favoriteRepository.findBookIdsByUserId(1L)).thenReturn(List.of(1L));
+        when(itemSimilarityIndex.recommend(List.of(1L), 5)).thenReturn(List.of(3L, 2L));
+        when(bookRepository.findSummariesByIdIn(List.of(3L, 2L))).thenReturn(summaries(testBook2, testBook3));
+
+        // Act
+        List<RecommendationDTO> result = recommendationService.getItemBasedRecommendations(1L, 5);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("item-based", result.get(0).getType());
+        assertEquals(List.of(3L, 2L), result.get(0).getBooks().stream().map(BookDTO::getId).toList());
+        verify(favoriteRepository, never()).findByUserIdWithBook(any());
+    }
+
+    @Test
+    void getItemBasedRecommendations_WithoutFavorites_ShouldFallBackToPopular() {
+        // Arrange
+        when(favoriteRepository.findBookIdsByUserId(1L)).thenReturn(List.of());
+        when(favoriteRepository.findMostFavoritedBooks(any())).thenReturn(new PageImpl<>(List.<Object[]>of(new Object[]{1L, 3L})));
+        when(bookRepository.findSummariesByIdIn(List.of(1L))).thenReturn(summaries(testBook1));
+
+        // Act
+        List<RecommendationDTO> result = recommendationService.getItemBasedRecommendations(1L, 5);
+
+        // Assert
+        assertEquals("popular", result.get(0).getType());
+        verifyNoInteractions(itemSimilarityIndex);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getAllRecommendations_WithUserId_ShouldFanOutTopRatedAndUserBasedSections() {
+        // Arrange
+        when(bookRepository.findTopRatedBooks(PageRequest.of(0, 5))).thenReturn(new PageImpl<>(summaries(testBook3)));
+        when(favoriteRepository.findByUserIdWithBook(1L)).thenReturn(List.of());
+        when(favoriteRepository.findMostFavoritedBooks(PageRequest.of(0, 5))).thenReturn(new PageImpl<>(List.<Object[]>of(new Object[]{1L, 2L})));
+        when(bookRepository.findSummariesByIdIn(List.of(1L))).thenReturn(summaries(testBook1));
+        when(recommendationFanOut.collect(anyMap())).thenAnswer(invocation -> {
+            Map<String, Supplier<List<RecommendationDTO>>> sections = invocation.getArgument(0);
+            assertEquals(List.of("top-rated", "user-based"), List.copyOf(sections.keySet()));
+            List<RecommendationDTO> results = new ArrayList<>();
+            sections.values().forEach(section -> results.addAll(section.get()));
+            return results;
+        });
+
+        // Act
+        List<RecommendationDTO> result = recommendationService.getAllRecommendations(1L, 5);
+
+        // Assert
+        assertEquals(List.of("top-rated", "popular"), result.stream().map(RecommendationDTO::getType).toList());
+    }
+
+    @Test
+    void getAllRecommendations_WithoutUserId_ShouldOnlyRequestTopRated() {
+        // Arrange
+        when(recommendationFanOut.collect(anyMap())).thenReturn(List.of());
+
+        // Act
+        recommendationService.getAllRecommendations(null, 5);
+
+        // Assert
+        verify(recommendationFanOut).collect(argThat(sections -> sections.keySet().equals(Set.of("top-rated"))));
+        verifyNoInteractions(bookRepository, favoriteRepository);
+    }
+
+    // Favorite genres are looked up in one batch, so serve them from the entities' genre lists
+    private void stubGenres(Book... favoriteBooks) {
+        List<Long> bookIds = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Book book : favoriteBooks) {
+            bookIds.add(book.getId());
+            book.getGenres().forEach(genre -> rows.add(new Object[]{book.getId(), genre.getGenre()}));
+        }
+        when(bookGenreRepository.findGenresByBookIds(bookIds)).thenReturn(rows);
+    }
+
+    private static List<BookSummary> summaries(Book... books) {
+        return Arrays.stream(books)
+                .map(book -> new BookSummary(book.getId(), book.getTitle(), book.getAuthor(), book.getCoverImageUrl(),
+                        book.getPublishedYear(), book.getAverageRating(), book.getReviewCount()))
+                .toList();
+    }
 }
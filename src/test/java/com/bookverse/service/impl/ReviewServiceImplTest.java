@@ -1,6 +1,7 @@
 package com.bookverse.service.impl;
 
 import com.bookverse.dto.PageResponse;
+import com.bookverse.dto.PaginationDTO;
 import com.bookverse.dto.ReviewCreateDTO;
 import com.bookverse.dto.ReviewDTO;
 import com.bookverse.dto.ReviewUpdateDTO;
@@ -11,6 +12,9 @@ import com.bookverse.repository.BookRepository;
 import com.bookverse.repository.ReviewRepository;
 import com.bookverse.repository.UserRepository;
 import com.bookverse.service.mapper.EntityMapper;
+import com.bookverse.service.paging.CountCache;
+import com.bookverse.service.paging.SeekCursor;
+import com.bookverse.service.rating.BookRatingAggregator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +25,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -43,6 +50,12 @@ class ReviewServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CountCache countCache;
+
+    @Mock
+    private BookRatingAggregator bookRatingAggregator;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -103,7 +116,6 @@ class ReviewServiceImplTest {
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
-        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
         // Act
         ReviewDTO result = reviewService.createReview(bookId, userId, createRequest);
@@ -120,7 +132,7 @@ class ReviewServiceImplTest {
         verify(bookRepository, times(1)).findById(bookId);
         verify(userRepository, times(1)).findById(userId);
         verify(reviewRepository, times(1)).save(any(Review.class));
-        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRatingAggregator, times(1)).applyRatingChange(bookId, null, 5);
         verifyNoMoreInteractions(reviewRepository, userRepository);
     }
 
@@ -179,13 +191,13 @@ class ReviewServiceImplTest {
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
-        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
         // Act
         reviewService.createReview(bookId, userId, createRequest);
 
-        // Verify book was saved (which includes rating stats update)
-        verify(bookRepository, times(1)).save(testBook);
+        // Verify the rating was applied as a delta instead of saving the reloaded book
+        verify(bookRatingAggregator, times(1)).applyRatingChange(bookId, null, 5);
+        verify(bookRepository, never()).save(any(Book.class));
     }
 
     @Test
@@ -196,7 +208,6 @@ class ReviewServiceImplTest {
 
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(testReview));
         when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
-        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
         // Act
         ReviewDTO result = reviewService.updateReview(reviewId, userId, updateRequest);
@@ -210,7 +221,7 @@ class ReviewServiceImplTest {
         // Verify repository calls
         verify(reviewRepository, times(1)).findById(reviewId);
         verify(reviewRepository, times(1)).save(any(Review.class));
-        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRatingAggregator, times(1)).applyRatingChange(1L, 5, 4);
         verifyNoMoreInteractions(reviewRepository, bookRepository);
         verifyNoInteractions(userRepository);
     }
@@ -267,13 +278,13 @@ class ReviewServiceImplTest {
 
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(testReview));
         when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
-        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
         // Act
         reviewService.updateReview(reviewId, userId, updateRequest);
 
-        // Verify book was saved (which includes rating stats update)
-        verify(bookRepository, times(1)).save(testBook);
+        // Verify the old rating was swapped for the new one
+        verify(bookRatingAggregator, times(1)).applyRatingChange(1L, 5, 4);
+        verify(bookRepository, never()).save(any(Book.class));
     }
 
     @Test
@@ -283,7 +294,6 @@ class ReviewServiceImplTest {
         Long userId = 1L;
 
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(testReview));
-        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
         // Act
         reviewService.deleteReview(reviewId, userId);
@@ -291,7 +301,7 @@ class ReviewServiceImplTest {
         // Verify repository calls
         verify(reviewRepository, times(1)).findById(reviewId);
         verify(reviewRepository, times(1)).delete(testReview);
-        verify(bookRepository, times(1)).save(testBook);
+        verify(bookRatingAggregator, times(1)).applyRatingChange(1L, 5, null);
         verifyNoMoreInteractions(reviewRepository, bookRepository);
         verifyNoInteractions(userRepository);
     }
@@ -347,13 +357,13 @@ class ReviewServiceImplTest {
         Long userId = 1L;
 
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(testReview));
-        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
         // Act
         reviewService.deleteReview(reviewId, userId);
 
-        // Verify book was saved (which includes rating stats update)
-        verify(bookRepository, times(1)).save(testBook);
+        // Verify the deleted rating was subtracted
+        verify(bookRatingAggregator, times(1)).applyRatingChange(1L, 5, null);
+        verify(bookRepository, never()).save(any(Book.class));
     }
 
     @Test
@@ -576,4 +586,115 @@ class ReviewServiceImplTest {
         // Verify repository was called with correct Pageable
         verify(reviewRepository, times(1)).findByUserIdOrderByCreatedAtDesc(eq(userId), any(Pageable.class));
     }
+
+    @Test
+    void getReviewsForBook_WithCursor_ShouldSeekWithoutCount() {
+        // Arrange
+        LocalDateTime lastSeen = LocalDateTime.of(2024, 1, 15, 10, 30);
+        String cursor = SeekCursor.of(Sort.Order.desc("createdAt"), lastSeen, 9L).encode();
+        Review older = new Review();
+        older.setId(3L);
+        older.setBook(testBook);
+        older.setUser(testUser);
+        older.setRating(4);
+        older.setCreatedAt(lastSeen.minusDays(1));
+        when(reviewRepository.findByBookIdBefore(eq(1L), eq(lastSeen), eq(9L), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testReview, older));
+
+        // Act
+        PageResponse<ReviewDTO> result = reviewService.getReviewsForBook(1L, 0, 1, cursor, null);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(-1, result.getPagination().getTotalElements());
+        assertFalse(result.getPagination().isLast());
+        SeekCursor next = SeekCursor.decode(result.getPagination().getNextCursor(), Sort.Order.desc("createdAt"));
+        assertEquals(testReview.getId(), next.id());
+        verify(reviewRepository, never()).findByBookIdOrderByCreatedAtDesc(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getReviewsForUser_WithLastCursorPage_ShouldNotReturnNextCursor() {
+        // Arrange
+        LocalDateTime lastSeen = LocalDateTime.of(2024, 1, 15, 10, 30);
+        String cursor = SeekCursor.of(Sort.Order.desc("createdAt"), lastSeen, 9L).encode();
+        when(reviewRepository.findByUserIdBefore(eq(1L), eq(lastSeen), eq(9L), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testReview));
+
+        // Act
+        PageResponse<ReviewDTO> result = reviewService.getReviewsForUser(1L, 0, 20, cursor, null);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.getPagination().isLast());
+        assertNull(result.getPagination().getNextCursor());
+    }
+
+    @Test
+    void getReviewsForBook_WithCursorForOtherSort_ShouldThrowException() {
+        // Arrange
+        String cursor = SeekCursor.of(Sort.Order.asc("title"), "Dune", 9L).encode();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> reviewService.getReviewsForBook(1L, 0, 20, cursor, null));
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    void getReviewsForBook_WithTotalNone_ShouldUseSliceWithoutCount() {
+        // Arrange
+        Slice<Review> slice = new SliceImpl<>(Arrays.asList(testReview), PageRequest.of(0, 1), true);
+        when(reviewRepository.findSliceByBookIdOrderByCreatedAtDesc(eq(1L), any(Pageable.class))).thenReturn(slice);
+
+        // Act
+        PageResponse<ReviewDTO> result = reviewService.getReviewsForBook(1L, 0, 1, null, "none");
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(PaginationDTO.TotalType.UNKNOWN, result.getPagination().getTotalType());
+        assertEquals(-1, result.getPagination().getTotalElements());
+        assertTrue(result.getPagination().isHasNext());
+        assertNotNull(result.getPagination().getNextCursor());
+        verify(reviewRepository, never()).countByBookId(any());
+        verify(reviewRepository, never()).findByBookIdOrderByCreatedAtDesc(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getReviewsForBook_WithApproximateTotal_ShouldUseBookReviewCount() {
+        // Arrange
+        Slice<Review> slice = new SliceImpl<>(Arrays.asList(testReview), PageRequest.of(0, 1), true);
+        when(reviewRepository.findSliceByBookIdOrderByCreatedAtDesc(eq(1L), any(Pageable.class))).thenReturn(slice);
+        when(bookRepository.findReviewCountById(1L)).thenReturn(42);
+
+        // Act
+        PageResponse<ReviewDTO> result = reviewService.getReviewsForBook(1L, 0, 1, null, "approximate");
+
+        // Assert
+        assertEquals(PaginationDTO.TotalType.APPROXIMATE, result.getPagination().getTotalType());
+        assertEquals(42, result.getPagination().getTotalElements());
+        assertEquals(42, result.getPagination().getTotalPages());
+        verify(reviewRepository, never()).countByBookId(any());
+    }
+
+    @Test
+    void getReviewsForUser_WithApproximateTotal_ShouldNotUnderstateSeenRows() {
+        // Arrange
+        Slice<Review> slice = new SliceImpl<>(Arrays.asList(testReview), PageRequest.of(3, 1), true);
+        when(reviewRepository.findSliceByUserIdOrderByCreatedAtDesc(eq(1L), any(Pageable.class))).thenReturn(slice);
+        when(countCache.get(eq("reviews:user:1"), any())).thenReturn(2L);
+
+        // Act
+        PageResponse<ReviewDTO> result = reviewService.getReviewsForUser(1L, 3, 1, null, "approximate");
+
+        // Assert
+        assertEquals(5, result.getPagination().getTotalElements());
+        assertFalse(result.getPagination().isLast());
+    }
+
+    @Test
+    void getReviewsForUser_WithInvalidTotalMode_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> reviewService.getReviewsForUser(1L, 0, 20, null, "sometimes"));
+        verifyNoInteractions(reviewRepository);
+    }
 }
@@ -1,20 +1,32 @@
 package com.bookverse.service.impl;
 
+import com.bookverse.security.JwtTokenProvider;
+import com.bookverse.service.blacklist.GenerationalBloomFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class TokenBlacklistServiceImplTest {
 
+    private static final String SECRET_KEY = "testSecretKeyThatIsLongEnoughForHMACSHA256Algorithm";
+    private static final long VALIDITY_IN_MILLIS = 3600000; // 1 hour
+
     private TokenBlacklistServiceImpl tokenBlacklistService;
+    private JwtTokenProvider tokenProvider;
+    private AtomicLong now;
 
     @BeforeEach
     void setUp() {
-        tokenBlacklistService = new TokenBlacklistServiceImpl();
+        now = new AtomicLong(System.currentTimeMillis());
+        tokenProvider = new JwtTokenProvider(SECRET_KEY, VALIDITY_IN_MILLIS);
+        GenerationalBloomFilter revokedFilter = new GenerationalBloomFilter(1000, 0.01, 4, VALIDITY_IN_MILLIS);
+        tokenBlacklistService = new TokenBlacklistServiceImpl(tokenProvider, 1000, 64, VALIDITY_IN_MILLIS, revokedFilter, now::get);
     }
 
     @Test
@@ -222,4 +234,71 @@ class TokenBlacklistServiceImplTest {
         // Verify that the blacklist is still empty for null tokens
         assertFalse(tokenBlacklistService.isBlacklisted(null));
     }
+
+    @Test
+    void cleanupExpiredTokens_AfterTokenExpires_ShouldEvictIt() {
+        // Arrange
+        String token = tokenProvider.generateToken("test@example.com");
+        tokenBlacklistService.blacklistToken(token);
+        tokenBlacklistService.cleanupExpiredTokens();
+        assertEquals(1, tokenBlacklistService.metrics().get("size"));
+
+        // Act
+        now.addAndGet(VALIDITY_IN_MILLIS + 1000);
+        tokenBlacklistService.cleanupExpiredTokens();
+
+        // Assert
+        assertFalse(tokenBlacklistService.isBlacklisted(token));
+        assertEquals(0, tokenBlacklistService.metrics().get("size"));
+        assertEquals(0, tokenBlacklistService.metrics().get("scheduled"));
+        assertEquals(1L, tokenBlacklistService.metrics().get("evicted"));
+    }
+
+    @Test
+    void cleanupExpiredTokens_BeforeTokenExpires_ShouldKeepIt() {
+        // Arrange
+        String token = tokenProvider.generateToken("test@example.com");
+        tokenBlacklistService.blacklistToken(token);
+
+        // Act
+        now.addAndGet(VALIDITY_IN_MILLIS - 5000);
+        tokenBlacklistService.cleanupExpiredTokens();
+
+        // Assert
+        assertTrue(tokenBlacklistService.isBlacklisted(token));
+        assertEquals(0L, tokenBlacklistService.metrics().get("evicted"));
+    }
+
+    @Test
+    void cleanupExpiredTokens_WithUnparseableToken_ShouldEvictAfterFullTokenLifetime() {
+        // Arrange
+        String token = "not.a.jwt";
+        tokenBlacklistService.blacklistToken(token);
+
+        // Act
+        now.addAndGet(VALIDITY_IN_MILLIS / 2);
+        tokenBlacklistService.cleanupExpiredTokens();
+        boolean midway = tokenBlacklistService.isBlacklisted(token);
+        now.addAndGet(VALIDITY_IN_MILLIS);
+        tokenBlacklistService.cleanupExpiredTokens();
+
+        // Assert
+        assertTrue(midway);
+        assertFalse(tokenBlacklistService.isBlacklisted(token));
+        assertEquals(0, tokenBlacklistService.metrics().get("size"));
+    }
+
+    @Test
+    void blacklistToken_Twice_ShouldScheduleEvictionOnce() {
+        // Arrange
+        String token = tokenProvider.generateToken("test@example.com");
+
+        // Act
+        tokenBlacklistService.blacklistToken(token);
+        tokenBlacklistService.blacklistToken(token);
+
+        // Assert
+        assertEquals(1, tokenBlacklistService.metrics().get("size"));
+        assertEquals(1, tokenBlacklistService.metrics().get("scheduled"));
+    }
 }
@@ -6,17 +6,19 @@ import com.bookverse.dto.UserRegistrationDTO;
 import com.bookverse.dto.UserUpdateDTO;
 import com.bookverse.entity.User;
 import com.bookverse.repository.UserRepository;
+import com.bookverse.security.PasswordHashingExecutor;
+import com.bookverse.security.UserDetailsCache;
 import com.bookverse.service.mapper.EntityMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -30,7 +32,10 @@ class UserServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHasher;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
 
     @Mock
     private SecurityContext securityContext;
@@ -80,7 +85,7 @@ class UserServiceImplTest {
     void register_WithValidData_ShouldReturnUserDTO() {
         // Arrange
         when(userRepository.existsByEmail(registrationRequest.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(registrationRequest.getPassword())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(registrationRequest.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // Act
@@ -94,9 +99,9 @@ class UserServiceImplTest {
 
         // Verify repository calls
         verify(userRepository, times(1)).existsByEmail(registrationRequest.getEmail());
-        verify(passwordEncoder, times(1)).encode(registrationRequest.getPassword());
+        verify(passwordHasher, times(1)).encode(registrationRequest.getPassword());
         verify(userRepository, times(1)).save(any(User.class));
-        verifyNoMoreInteractions(userRepository, passwordEncoder);
+        verifyNoMoreInteractions(userRepository, passwordHasher);
     }
 
     @Test
@@ -115,28 +120,28 @@ class UserServiceImplTest {
         // Verify repository calls
         verify(userRepository, times(1)).existsByEmail(registrationRequest.getEmail());
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
     void register_ShouldEncodePassword() {
         // Arrange
         when(userRepository.existsByEmail(registrationRequest.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(registrationRequest.getPassword())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(registrationRequest.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // Act
         userService.register(registrationRequest);
 
         // Verify password was encoded
-        verify(passwordEncoder, times(1)).encode(registrationRequest.getPassword());
+        verify(passwordHasher, times(1)).encode(registrationRequest.getPassword());
     }
 
     @Test
     void login_WithValidCredentials_ShouldReturnUserDTO() {
         // Arrange
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(true);
+        when(passwordHasher.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(true);
 
         // Act
         Optional<UserDTO> result = userService.login(loginRequest);
@@ -150,8 +155,8 @@ class UserServiceImplTest {
 
         // Verify repository calls
         verify(userRepository, times(1)).findByEmail(loginRequest.getEmail());
-        verify(passwordEncoder, times(1)).matches(loginRequest.getPassword(), testUser.getPassword());
-        verifyNoMoreInteractions(userRepository, passwordEncoder);
+        verify(passwordHasher, times(1)).matches(loginRequest.getPassword(), testUser.getPassword());
+        verifyNoMoreInteractions(userRepository, passwordHasher);
     }
 
     @Test
@@ -168,14 +173,14 @@ class UserServiceImplTest {
         // Verify repository calls
         verify(userRepository, times(1)).findByEmail(loginRequest.getEmail());
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
     void login_WhenPasswordDoesNotMatch_ShouldReturnEmpty() {
         // Arrange
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(false);
+        when(passwordHasher.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(false);
 
         // Act
         Optional<UserDTO> result = userService.login(loginRequest);
@@ -185,8 +190,8 @@ class UserServiceImplTest {
 
         // Verify repository calls
         verify(userRepository, times(1)).findByEmail(loginRequest.getEmail());
-        verify(passwordEncoder, times(1)).matches(loginRequest.getPassword(), testUser.getPassword());
-        verifyNoMoreInteractions(userRepository, passwordEncoder);
+        verify(passwordHasher, times(1)).matches(loginRequest.getPassword(), testUser.getPassword());
+        verifyNoMoreInteractions(userRepository, passwordHasher);
     }
 
     @Test
@@ -211,7 +216,7 @@ class UserServiceImplTest {
         // Verify repository calls
         verify(userRepository, times(1)).findByEmail("test@example.com");
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
@@ -228,7 +233,7 @@ class UserServiceImplTest {
         assertFalse(result.isPresent());
 
         // Verify no repository calls
-        verifyNoInteractions(userRepository, passwordEncoder);
+        verifyNoInteractions(userRepository, passwordHasher);
     }
 
     @Test
@@ -244,7 +249,7 @@ class UserServiceImplTest {
         assertFalse(result.isPresent());
 
         // Verify no repository calls
-        verifyNoInteractions(userRepository, passwordEncoder);
+        verifyNoInteractions(userRepository, passwordHasher);
     }
 
     @Test
@@ -262,7 +267,7 @@ class UserServiceImplTest {
         assertFalse(result.isPresent());
 
         // Verify no repository calls
-        verifyNoInteractions(userRepository, passwordEncoder);
+        verifyNoInteractions(userRepository, passwordHasher);
     }
 
     @Test
@@ -284,7 +289,7 @@ class UserServiceImplTest {
         // Verify repository calls
         verify(userRepository, times(1)).findById(userId);
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
@@ -302,7 +307,7 @@ class UserServiceImplTest {
         // Verify repository calls
         verify(userRepository, times(1)).findById(userId);
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
@@ -311,7 +316,7 @@ class UserServiceImplTest {
         String currentEmail = "test@example.com";
         when(userRepository.findByEmail(currentEmail)).thenReturn(Optional.of(testUser));
         when(userRepository.existsByEmail(updateRequest.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(updateRequest.getPassword())).thenReturn("newEncodedPassword");
+        when(passwordHasher.encode(updateRequest.getPassword())).thenReturn("newEncodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // Act
@@ -325,9 +330,30 @@ class UserServiceImplTest {
         // Verify repository calls
         verify(userRepository, times(1)).findByEmail(currentEmail);
         verify(userRepository, times(1)).existsByEmail(updateRequest.getEmail());
-        verify(passwordEncoder, times(1)).encode(updateRequest.getPassword());
+        verify(passwordHasher, times(1)).encode(updateRequest.getPassword());
         verify(userRepository, times(1)).save(any(User.class));
-        verifyNoMoreInteractions(userRepository, passwordEncoder);
+        verify(userDetailsCache).evict(currentEmail);
+        verifyNoMoreInteractions(userRepository, passwordHasher);
+    }
+
+    @Test
+    void updateProfile_ShouldHashPasswordBetweenLookupAndSave() {
+        // Arrange
+        String currentEmail = "test@example.com";
+        when(passwordHasher.encode(updateRequest.getPassword())).thenReturn("newEncodedPassword");
+        when(userRepository.findByEmail(currentEmail)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByEmail(updateRequest.getEmail())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // Act
+        userService.updateProfile(currentEmail, updateRequest);
+
+        // Assert
+        InOrder order = inOrder(passwordHasher, userRepository);
+        order.verify(userRepository).findByEmail(currentEmail);
+        order.verify(passwordHasher).encode(updateRequest.getPassword());
+        order.verify(userRepository).save(testUser);
+        assertEquals("newEncodedPassword", testUser.getPassword());
     }
 
     @Test
@@ -345,7 +371,7 @@ class UserServiceImplTest {
         // Verify repository calls
         verify(userRepository, times(1)).findByEmail(currentEmail);
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
@@ -367,7 +393,7 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findByEmail(currentEmail);
         verify(userRepository, times(1)).existsByEmail(updateRequest.getEmail());
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
@@ -381,7 +407,7 @@ class UserServiceImplTest {
             .build();
 
         when(userRepository.findByEmail(currentEmail)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.encode(sameEmailRequest.getPassword())).thenReturn("newEncodedPassword");
+        when(passwordHasher.encode(sameEmailRequest.getPassword())).thenReturn("newEncodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // Act
@@ -393,9 +419,9 @@ class UserServiceImplTest {
         // Verify repository calls - should not check email uniqueness for same email
         verify(userRepository, times(1)).findByEmail(currentEmail);
         verify(userRepository, never()).existsByEmail(currentEmail);
-        verify(passwordEncoder, times(1)).encode(sameEmailRequest.getPassword());
+        verify(passwordHasher, times(1)).encode(sameEmailRequest.getPassword());
         verify(userRepository, times(1)).save(any(User.class));
-        verifyNoMoreInteractions(userRepository, passwordEncoder);
+        verifyNoMoreInteractions(userRepository, passwordHasher);
     }
 
     @Test
@@ -418,9 +444,9 @@ class UserServiceImplTest {
         // Verify repository calls - should not check email or encode password
         verify(userRepository, times(1)).findByEmail(currentEmail);
         verify(userRepository, never()).existsByEmail(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHasher, never()).encode(any());
         verify(userRepository, times(1)).save(any(User.class));
-        verifyNoMoreInteractions(userRepository, passwordEncoder);
+        verifyNoMoreInteractions(userRepository, passwordHasher);
     }
 
     @Test
@@ -438,8 +464,9 @@ class UserServiceImplTest {
         // Verify repository calls
         verify(userRepository, times(1)).findByEmail(email);
         verify(userRepository, times(1)).delete(testUser);
+        verify(userDetailsCache).evict(email);
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
@@ -458,7 +485,8 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findByEmail(email);
         verify(userRepository, never()).delete(any());
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(userDetailsCache);
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
@@ -219,6 +219,24 @@ class EntityMapperTest {
         assertTrue(result.getGenres().isEmpty());
     }
 
+    @Test
+    void toBookDetailDTO_WithRatingCounts_ShouldReturnDistributionForEveryStar() {
+        // Arrange
+        Book book = new Book();
+        book.setId(1L);
+        book.setRating1Count(1);
+        book.setRating4Count(3);
+        book.setRating5Count(6);
+        book.setGenres(Arrays.asList());
+
+        // Act
+        BookDetailDTO result = EntityMapper.toBookDetailDTO(book);
+
+        // Assert
+        assertEquals(List.of(1, 2, 3, 4, 5), List.copyOf(result.getRatingDistribution().keySet()));
+        assertEquals(List.of(1, 0, 0, 3, 6), List.copyOf(result.getRatingDistribution().values()));
+    }
+
     @Test
     void toBookDetailDTO_WithNullBook_ShouldReturnNull() {
         // Act
@@ -574,6 +592,21 @@ class EntityMapperTest {
         assertFalse(pagination.isLast());
     }
 
+    @Test
+    void toPageResponse_WithUnknownTotal_ShouldOnlyReportHasNext() {
+        // Act
+        PageResponse<String> result = EntityMapper.toPageResponse(
+            Arrays.asList("item1"), 4, 1, 99, PaginationDTO.TotalType.UNKNOWN, true, "cursor");
+
+        // Assert
+        PaginationDTO pagination = result.getPagination();
+        assertEquals(-1, pagination.getTotalElements());
+        assertEquals(-1, pagination.getTotalPages());
+        assertTrue(pagination.isHasNext());
+        assertFalse(pagination.isLast());
+        assertEquals("cursor", pagination.getNextCursor());
+    }
+
     @Test
     void toPageResponse_WithLastPage_ShouldSetLastToTrue() {
         // Arrange
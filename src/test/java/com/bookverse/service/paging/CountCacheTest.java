@@ -0,0 +1,42 @@
+package com.bookverse.service.paging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountCacheTest {
+
+    @Test
+    void get_ShouldCountOncePerKeyUntilExpiry() {
+        // Arrange
+        CountCache cache = new CountCache(60, 100);
+        AtomicLong counted = new AtomicLong();
+
+        // Act
+        long first = cache.get("books:a", () -> counted.incrementAndGet() * 10);
+        long second = cache.get("books:a", () -> counted.incrementAndGet() * 10);
+        long other = cache.get("books:b", () -> counted.incrementAndGet() * 10);
+
+        // Assert
+        assertEquals(10, first);
+        assertEquals(10, second);
+        assertEquals(20, other);
+        assertEquals(2, counted.get());
+    }
+
+    @Test
+    void get_WithZeroTtl_ShouldRecount() {
+        // Arrange
+        CountCache cache = new CountCache(0, 100);
+        AtomicLong counted = new AtomicLong();
+
+        // Act
+        cache.get("books:a", counted::incrementAndGet);
+        long second = cache.get("books:a", counted::incrementAndGet);
+
+        // Assert
+        assertEquals(2, second);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bookverse.service.paging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeekCursorTest {
+
+    @Test
+    void decode_ShouldRoundTripEncodedCursor() {
+        // Arrange
+        String token = SeekCursor.of(Sort.Order.asc("title"), "Tom | Jerry", 42L).encode();
+
+        // Act
+        SeekCursor cursor = SeekCursor.decode(token, Sort.Order.asc("title"));
+
+        // Assert
+        assertEquals("Tom | Jerry", cursor.value());
+        assertEquals(42L, cursor.id());
+    }
+
+    @Test
+    void decode_ShouldRoundTripSource() {
+        // Arrange
+        String tagged = SeekCursor.of(Sort.Order.desc("averageRating"), "token", 4.5, 7L).encode();
+        String untagged = SeekCursor.of(Sort.Order.desc("averageRating"), 4.5, 7L).encode();
+
+        // Act
+        SeekCursor cursor = SeekCursor.decode(tagged, Sort.Order.desc("averageRating"));
+
+        // Assert
+        assertEquals("token", cursor.source());
+        assertEquals(4.5, cursor.doubleValue());
+        assertNull(SeekCursor.decode(untagged, Sort.Order.desc("averageRating")).source());
+    }
+
+    @Test
+    void decode_WithDifferentSort_ShouldThrowException() {
+        // Arrange
+        String token = SeekCursor.of(Sort.Order.asc("title"), "Dune", 42L).encode();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode(token, Sort.Order.desc("title")));
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode(token, Sort.Order.asc("author")));
+    }
+
+    @Test
+    void decode_WithMalformedToken_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("%%%", Sort.Order.asc("title")));
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("dGl0bGU6YXNj", Sort.Order.asc("title")));
+    }
+}
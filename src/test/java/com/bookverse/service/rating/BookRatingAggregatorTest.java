@@ -0,0 +1,108 @@
+package com.bookverse.service.rating;
+
+import com.bookverse.repository.BookRepository;
+import com.bookverse.service.cache.BookCache;
+import com.bookverse.service.search.BookSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookRatingAggregatorTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private RatingDeltaBuffer ratingDeltaBuffer;
+
+    @Mock
+    private BookCache bookCache;
+
+    @InjectMocks
+    private BookRatingAggregator bookRatingAggregator;
+
+    @Test
+    void applyRatingChange_WithNewReview_ShouldAddOneReviewAndItsRating() {
+        // Arrange
+        when(bookRepository.findRatingStats(1L)).thenReturn(List.<Object[]>of(new Object[]{4.5, 2}));
+
+        // Act
+        bookRatingAggregator.applyRatingChange(1L, null, 4);
+
+        // Assert
+        verify(bookRepository).applyRatingDelta(1L, 1, 4L, 0, 4);
+        verify(bookSearchIndex).updateRatingStats(1L, 4.5, 2);
+        verify(bookCache).onRatingChanged(1L, 4.5);
+    }
+
+    @Test
+    void applyRatingChange_WithEditedRating_ShouldShiftTheSumAndHistogram() {
+        // Arrange
+        when(bookRepository.findRatingStats(1L)).thenReturn(List.<Object[]>of(new Object[]{3.0, 2}));
+
+        // Act
+        bookRatingAggregator.applyRatingChange(1L, 5, 2);
+
+        // Assert
+        verify(bookRepository).applyRatingDelta(1L, 0, -3L, 5, 2);
+    }
+
+    @Test
+    void applyRatingChange_WithDeletedReview_ShouldRemoveOneReviewAndItsRating() {
+        // Arrange
+        when(bookRepository.findRatingStats(1L)).thenReturn(List.<Object[]>of(new Object[]{0.0, 0}));
+
+        // Act
+        bookRatingAggregator.applyRatingChange(1L, 3, null);
+
+        // Assert
+        verify(bookRepository).applyRatingDelta(1L, -1, -3L, 3, 0);
+        verify(bookSearchIndex).updateRatingStats(1L, 0.0, 0);
+    }
+
+    @Test
+    void applyRatingChange_WithUnchangedRating_ShouldNotTouchTheBook() {
+        // Act
+        bookRatingAggregator.applyRatingChange(1L, 4, 4);
+
+        // Assert
+        verifyNoInteractions(bookRepository, bookSearchIndex, ratingDeltaBuffer);
+    }
+
+    @Test
+    void applyRatingChange_WhenBookIsGone_ShouldSkipIndexUpdate() {
+        // Arrange
+        when(bookRepository.findRatingStats(9L)).thenReturn(Collections.emptyList());
+
+        // Act
+        bookRatingAggregator.applyRatingChange(9L, null, 5);
+
+        // Assert
+        verifyNoInteractions(bookSearchIndex);
+    }
+
+    @Test
+    void applyRatingChange_WithWriteBehind_ShouldBufferInsteadOfUpdatingTheRow() {
+        // Arrange
+        ReflectionTestUtils.setField(bookRatingAggregator, "writeBehind", true);
+
+        // Act
+        bookRatingAggregator.applyRatingChange(1L, 2, 5);
+
+        // Assert
+        verify(ratingDeltaBuffer).add(1L, 2, 5);
+        verifyNoInteractions(bookRepository, bookSearchIndex);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookverse.service.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingDeltaBufferTest {
+
+    private final RatingDeltaBuffer buffer = new RatingDeltaBuffer(4);
+
+    @Test
+    void drain_WithBurstOnOneBook_ShouldMergeIntoOneDelta() {
+        // Arrange
+        buffer.add(1L, null, 5);
+        buffer.add(1L, null, 4);
+        buffer.add(1L, 4, 2);
+
+        // Act
+        Map<Long, RatingDelta> deltas = buffer.drain();
+
+        // Assert
+        RatingDelta delta = deltas.get(1L);
+        assertEquals(2, delta.countDelta());
+        assertEquals(7L, delta.sumDelta());
+        assertEquals(1, delta.bucketDelta(5));
+        assertEquals(0, delta.bucketDelta(4));
+        assertEquals(1, delta.bucketDelta(2));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void drain_ShouldOrderByBookIdAndSkipNetZeroDeltas() {
+        // Arrange
+        buffer.add(9L, null, 3);
+        buffer.add(2L, null, 1);
+        buffer.add(5L, null, 4);
+        buffer.add(5L, 4, null);
+
+        // Act
+        Map<Long, RatingDelta> deltas = buffer.drain();
+
+        // Assert
+        assertEquals(List.of(2L, 9L), List.copyOf(deltas.keySet()));
+    }
+
+    @Test
+    void requeue_ShouldMergeWithDeltasBufferedSinceDrain() {
+        // Arrange
+        buffer.add(1L, null, 5);
+        Map<Long, RatingDelta> failed = buffer.drain();
+        buffer.add(1L, null, 3);
+
+        // Act
+        buffer.requeue(failed);
+
+        // Assert
+        RatingDelta delta = buffer.drain().get(1L);
+        assertEquals(2, delta.countDelta());
+        assertEquals(8L, delta.sumDelta());
+    }
+}
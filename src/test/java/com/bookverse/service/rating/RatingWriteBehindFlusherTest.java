@@ -0,0 +1,126 @@
+package com.bookverse.service.rating;
+
+import com.bookverse.repository.BookRepository;
+import com.bookverse.service.cache.BookCache;
+import com.bookverse.service.search.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingWriteBehindFlusherTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookCache bookCache;
+
+    private RatingDeltaBuffer buffer;
+    private RatingWriteBehindFlusher flusher;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new RatingDeltaBuffer(4);
+        flusher = new RatingWriteBehindFlusher(buffer, jdbcTemplate, new TransactionTemplate(transactionManager),
+                bookRepository, bookSearchIndex, bookCache);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldBatchOneUpdatePerBookAndRefreshIndex() {
+        // Arrange
+        buffer.add(1L, null, 5);
+        buffer.add(1L, null, 3);
+        buffer.add(2L, 4, 2);
+        when(bookRepository.findRatingStatsByIds(List.of(1L, 2L)))
+                .thenReturn(List.of(new Object[]{1L, 4.0, 2}, new Object[]{2L, 2.0, 1}));
+
+        // Act
+        int flushed = flusher.flush();
+
+        // Assert
+        assertEquals(2, flushed);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(RatingWriteBehindFlusher.APPLY_DELTA_SQL), rows.capture());
+        assertArrayEquals(new Object[]{2, 8L, 2, 8L, 2, 0, 0, 1, 0, 1, 1L}, rows.getValue().get(0));
+        assertArrayEquals(new Object[]{0, -2L, 0, -2L, 0, 0, 1, 0, -1, 0, 2L}, rows.getValue().get(1));
+        verify(bookSearchIndex).updateRatingStats(1L, 4.0, 2);
+        verify(bookSearchIndex).updateRatingStats(2L, 2.0, 1);
+        verify(bookCache).onRatingChanged(1L, 4.0);
+        verify(bookCache).onRatingChanged(2L, 2.0);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void flush_WithEmptyBuffer_ShouldNotTouchDatabase() {
+        // Act
+        int flushed = flusher.flush();
+
+        // Assert
+        assertEquals(0, flushed);
+        verifyNoInteractions(jdbcTemplate, transactionManager, bookRepository, bookSearchIndex);
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldRequeueDeltas() {
+        // Arrange
+        buffer.add(1L, null, 5);
+        when(jdbcTemplate.batchUpdate(any(String.class), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        // Act
+        int flushed = flusher.flush();
+
+        // Assert
+        assertEquals(0, flushed);
+        assertEquals(1, buffer.size());
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(bookSearchIndex);
+    }
+
+    @Test
+    void onStartup_ByDefault_ShouldNotReconcile() {
+        // Act
+        flusher.onStartup();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void reconcile_ShouldRecomputeAggregatesFromReviews() {
+        // Arrange
+        when(jdbcTemplate.update(RatingWriteBehindFlusher.RECONCILE_SQL)).thenReturn(3);
+
+        // Act
+        int reconciled = flusher.reconcile();
+
+        // Assert
+        assertEquals(3, reconciled);
+    }
+}
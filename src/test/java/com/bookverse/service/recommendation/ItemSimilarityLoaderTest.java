@@ -0,0 +1,63 @@
+package com.bookverse.service.recommendation;
+
+import com.bookverse.repository.FavoriteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.Spy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSimilarityLoaderTest {
+
+    @Mock
+    private FavoriteRepository favoriteRepository;
+
+    @Spy
+    private ItemSimilarityIndex itemSimilarityIndex = new ItemSimilarityIndex();
+
+    @InjectMocks
+    private ItemSimilarityLoader loader;
+
+    @Test
+    void rebuild_ShouldGroupFavoritesByUserAcrossBatches() {
+        // Arrange
+        when(favoriteRepository.findFavoriteRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new Object[]{1L, 10L, 1L},
+                new Object[]{2L, 11L, 1L}));
+        when(favoriteRepository.findFavoriteRowsAfter(eq(2L), any(Pageable.class))).thenReturn(List.<Object[]>of(
+                new Object[]{3L, 10L, 2L}));
+        when(favoriteRepository.findFavoriteRowsAfter(eq(3L), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        loader.rebuild();
+
+        // Assert
+        assertTrue(itemSimilarityIndex.isReady());
+        assertEquals(List.of(2L), itemSimilarityIndex.getModel().neighborsOf(1L));
+    }
+
+    @Test
+    void onApplicationReady_WhenDisabled_ShouldNotLoad() {
+        // Arrange
+        ReflectionTestUtils.setField(loader, "enabled", false);
+
+        // Act
+        loader.onApplicationReady();
+
+        // Assert
+        assertFalse(itemSimilarityIndex.isReady());
+        verifyNoInteractions(favoriteRepository);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bookverse.service.recommendation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSimilarityModelTest {
+
+    private ItemSimilarityModel.Builder builder;
+
+    @BeforeEach
+    void setUp() {
+        // Book 1 and 2 are favorited together twice, 1 and 3 once, 9 is everyone's favorite
+        builder = new ItemSimilarityModel.Builder();
+        builder.addBasket(List.of(1L, 2L, 9L));
+        builder.addBasket(List.of(2L, 1L, 9L));
+        builder.addBasket(List.of(1L, 3L, 9L));
+        builder.addBasket(List.of(4L, 9L));
+    }
+
+    @Test
+    void build_WithCosine_ShouldRankByNormalizedCoOccurrence() {
+        // Act
+        ItemSimilarityModel model = builder.build(SimilarityMetric.COSINE, 10, 1);
+
+        // Assert
+        assertEquals(5, model.size());
+        assertEquals(List.of(9L, 2L, 3L), model.neighborsOf(1L));
+        assertEquals(List.of(9L), model.neighborsOf(4L));
+        assertEquals(List.of(), model.neighborsOf(42L));
+    }
+
+    @Test
+    void build_WithMaxNeighborsAndMinCoOccurrences_ShouldTrimLists() {
+        // Act
+        ItemSimilarityModel model = builder.build(SimilarityMetric.JACCARD, 1, 2);
+
+        // Assert
+        assertEquals(List.of(9L), model.neighborsOf(1L));
+        assertEquals(List.of(), model.neighborsOf(3L));
+    }
+
+    @Test
+    void recommend_ShouldSumNeighborScoresAndSkipSeeds() {
+        // Arrange
+        ItemSimilarityModel model = builder.build(SimilarityMetric.COSINE, 10, 1);
+
+        // Act
+        List<Long> recommended = model.recommend(List.of(2L, 3L), 10);
+
+        // Assert
+        assertEquals(List.of(1L, 9L), recommended);
+    }
+
+    @Test
+    void recommend_WithUnknownSeeds_ShouldReturnEmpty() {
+        // Act
+        List<Long> recommended = builder.build(SimilarityMetric.COSINE, 10, 1).recommend(List.of(7L), 5);
+
+        // Assert
+        assertTrue(recommended.isEmpty());
+    }
+
+    @Test
+    void build_WithNoBaskets_ShouldReturnEmptyModel() {
+        // Act
+        ItemSimilarityModel model = new ItemSimilarityModel.Builder().build(SimilarityMetric.COSINE, 10, 1);
+
+        // Assert
+        assertEquals(0, model.size());
+        assertTrue(model.recommend(List.of(1L), 5).isEmpty());
+    }
+}
@@ -0,0 +1,162 @@
+package com.bookverse.service.recommendation;
+
+import com.bookverse.dto.RecommendationDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationFanOutTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecommendationFanOut fanOut;
+
+    @BeforeEach
+    void setUp() {
+        fanOut = new RecommendationFanOut(transactionManager, 4, 10, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOut.destroy();
+    }
+
+    @Test
+    void collect_ShouldRunSectionsConcurrentlyAndKeepOrder() {
+        // Arrange: each section waits for the other, so they only finish if run in parallel
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Map<String, Supplier<List<RecommendationDTO>>> sections = new LinkedHashMap<>();
+        sections.put("first", () -> awaitThen(bothStarted, "first"));
+        sections.put("second", () -> awaitThen(bothStarted, "second"));
+
+        // Act
+        List<RecommendationDTO> result = fanOut.collect(sections);
+
+        // Assert
+        assertEquals(List.of("first", "second"), result.stream().map(RecommendationDTO::getType).toList());
+    }
+
+    @Test
+    void collect_WithSlowSection_ShouldReturnPartialResultWithinTimeout() {
+        // Arrange
+        Map<String, Supplier<List<RecommendationDTO>>> sections = new LinkedHashMap<>();
+        sections.put("slow", () -> {
+            sleep(5000);
+            return List.of(section("slow"));
+        });
+        sections.put("fast", () -> List.of(section("fast")));
+
+        // Act
+        long start = System.currentTimeMillis();
+        List<RecommendationDTO> result = fanOut.collect(sections);
+
+        // Assert
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertEquals(List.of("fast"), result.stream().map(RecommendationDTO::getType).toList());
+    }
+
+    @Test
+    void collect_WithFailingSection_ShouldOmitIt() {
+        // Arrange
+        Map<String, Supplier<List<RecommendationDTO>>> sections = new LinkedHashMap<>();
+        sections.put("broken", () -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        sections.put("ok", () -> List.of(section("ok")));
+
+        // Act
+        List<RecommendationDTO> result = fanOut.collect(sections);
+
+        // Assert
+        assertEquals(List.of("ok"), result.stream().map(RecommendationDTO::getType).toList());
+    }
+
+    @Test
+    void collect_WithInvalidArgument_ShouldPropagate() {
+        // Arrange
+        Map<String, Supplier<List<RecommendationDTO>>> sections = Map.of("invalid", () -> {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        });
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> fanOut.collect(sections));
+    }
+
+    @Test
+    void collect_WithTimedOutSection_ShouldInterruptItsWorker() throws InterruptedException {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Map<String, Supplier<List<RecommendationDTO>>> sections = Map.of("stuck", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of(section("stuck"));
+        });
+
+        // Act
+        List<RecommendationDTO> result = fanOut.collect(sections);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void collect_ShouldRunEachSectionInReadOnlyTransactionTimingOutAtTheDeadline() {
+        // Arrange
+        Map<String, Supplier<List<RecommendationDTO>>> sections = Map.of("ok", () -> List.of(section("ok")));
+
+        // Act
+        fanOut.collect(sections);
+
+        // Assert: 300 ms rounds up to the smallest JDBC query timeout
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        assertEquals(1, definition.getValue().getTimeout());
+    }
+
+    private static List<RecommendationDTO> awaitThen(CountDownLatch latch, String type) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(1, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of(section(type));
+    }
+
+    private static RecommendationDTO section(String type) {
+        RecommendationDTO dto = new RecommendationDTO();
+        dto.setType(type);
+        return dto;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
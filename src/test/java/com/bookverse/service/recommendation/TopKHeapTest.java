@@ -0,0 +1,76 @@
+package com.bookverse.service.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKHeapTest {
+
+    @Test
+    void toList_ShouldKeepBestKBestFirst() {
+        // Arrange
+        TopKHeap heap = new TopKHeap(3);
+
+        // Act
+        heap.offer(1L, 0.5);
+        heap.offer(2L, 2.0);
+        heap.offer(3L, 1.0);
+        heap.offer(4L, 3.0);
+        heap.offer(5L, 0.1);
+
+        // Assert
+        assertEquals(List.of(4L, 2L, 3L), heap.toList());
+    }
+
+    @Test
+    void toList_WithTies_ShouldUseSecondaryScoreThenLowerId() {
+        // Arrange
+        TopKHeap heap = new TopKHeap(3);
+
+        // Act
+        heap.offer(9L, 1.0, 4.0);
+        heap.offer(7L, 1.0, 4.5);
+        heap.offer(3L, 1.0, 4.0);
+        heap.offer(8L, 1.0, 4.0);
+
+        // Assert
+        assertEquals(List.of(7L, 3L, 8L), heap.toList());
+    }
+
+    @Test
+    void toList_ShouldMatchFullSortOnRandomInput() {
+        // Arrange
+        Random random = new Random(42);
+        TopKHeap heap = new TopKHeap(25);
+        List<long[]> all = new ArrayList<>();
+        for (long id = 0; id < 5000; id++) {
+            int score = random.nextInt(100);
+            heap.offer(id, score);
+            all.add(new long[]{id, score});
+        }
+
+        // Act
+        List<Long> top = heap.toList();
+
+        // Assert
+        all.sort((a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(a[0], b[0]));
+        assertEquals(all.subList(0, 25).stream().map(a -> a[0]).toList(), top);
+    }
+
+    @Test
+    void toList_WithZeroCapacity_ShouldReturnEmpty() {
+        // Arrange
+        TopKHeap heap = new TopKHeap(0);
+
+        // Act
+        heap.offer(1L, 1.0);
+
+        // Assert
+        assertEquals(Collections.emptyList(), heap.toList());
+    }
+}
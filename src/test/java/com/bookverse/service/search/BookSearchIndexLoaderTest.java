@@ -0,0 +1,85 @@
+package com.bookverse.service.search;
+
+import com.bookverse.dto.SearchCriteriaDTO;
+import com.bookverse.entity.BookGenre;
+import com.bookverse.repository.BookGenreRepository;
+import com.bookverse.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexLoaderTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookGenreRepository bookGenreRepository;
+
+    @Test
+    void rebuild_ShouldLoadBooksInBatchesAndPublish() {
+        // Arrange
+        BookSearchIndex index = new BookSearchIndex(SearchEngine.TOKEN);
+        BookSearchIndexLoader loader = new BookSearchIndexLoader(bookRepository, bookGenreRepository, index);
+        List<Object[]> firstBatch = List.of(
+                new Object[]{1L, "The Hobbit", "J.R.R. Tolkien", 1937, 4.8, 12},
+                new Object[]{2L, "Dune", "Frank Herbert", 1965, 4.6, 7});
+        when(bookRepository.findIndexRowsAfter(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        when(bookRepository.findIndexRowsAfter(eq(2L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        List<Object[]> genreRows = List.<Object[]>of(new Object[]{1L, BookGenre.Genre.FANTASY});
+        when(bookGenreRepository.findGenresByBookIds(anyCollection())).thenReturn(genreRows);
+
+        // Act
+        loader.rebuild();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(2, index.size());
+        SearchCriteriaDTO fantasy = SearchCriteriaDTO.builder().genres(List.of(BookGenre.Genre.FANTASY)).build();
+        assertEquals(List.of(1L), index.search(fantasy, Sort.by("id"), 0, 10).orElseThrow().bookIds());
+        verify(bookGenreRepository, times(1)).findGenresByBookIds(anyCollection());
+    }
+
+    @Test
+    void onApplicationReady_WithSqlEngine_ShouldNotLoad() {
+        // Arrange
+        BookSearchIndex index = new BookSearchIndex(SearchEngine.SQL);
+        BookSearchIndexLoader loader = new BookSearchIndexLoader(bookRepository, bookGenreRepository, index);
+
+        // Act
+        loader.onApplicationReady();
+
+        // Assert
+        assertFalse(index.isReady());
+        verifyNoInteractions(bookRepository, bookGenreRepository);
+    }
+
+    @Test
+    void rebuild_WithNoBooks_ShouldPublishEmptyIndex() {
+        // Arrange
+        BookSearchIndex index = new BookSearchIndex(SearchEngine.TOKEN);
+        BookSearchIndexLoader loader = new BookSearchIndexLoader(bookRepository, bookGenreRepository, index);
+        when(bookRepository.findIndexRowsAfter(eq(0L), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        loader.rebuild();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(0, index.size());
+        verifyNoInteractions(bookGenreRepository);
+    }
+}
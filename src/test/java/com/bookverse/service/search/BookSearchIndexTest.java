@@ -0,0 +1,315 @@
+package com.bookverse.service.search;
+
+import com.bookverse.dto.SearchCriteriaDTO;
+import com.bookverse.entity.BookGenre;
+import com.bookverse.service.paging.SeekCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(SearchEngine.TOKEN);
+        BookSearchIndex.Builder builder = index.newBuilder();
+        builder.add(entry(1L, "The Great Gatsby", "F. Scott Fitzgerald", 1925, 4.5, BookGenre.Genre.ROMANCE));
+        builder.add(entry(2L, "The Hobbit", "J.R.R. Tolkien", 1937, 4.8, BookGenre.Genre.FANTASY));
+        builder.add(entry(3L, "1984", "George Orwell", 1949, 4.2, BookGenre.Genre.SCI_FI));
+        builder.add(entry(4L, "Animal Farm", "George Orwell", 1945, 3.9, BookGenre.Genre.COMEDY));
+        index.publish(builder);
+    }
+
+    @Test
+    void search_BeforePublish_ShouldReturnEmpty() {
+        // Act
+        Optional<SearchHits> hits = new BookSearchIndex(SearchEngine.TOKEN).search(new SearchCriteriaDTO(), Sort.by("title"), 0, 10);
+
+        // Assert
+        assertTrue(hits.isEmpty());
+    }
+
+    @Test
+    void search_WithTitlePrefix_ShouldMatchTokens() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder().query("gats").build();
+
+        // Act
+        SearchHits hits = index.search(criteria, Sort.by("title"), 0, 10).orElseThrow();
+
+        // Assert
+        assertEquals(1, hits.total());
+        assertEquals(List.of(1L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithMultipleTokens_ShouldRequireAll() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder().query("the hob").build();
+
+        // Act
+        SearchHits hits = index.search(criteria, Sort.by("title"), 0, 10).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(2L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithAuthorAndFilters_ShouldApplyColumns() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder()
+                .author("orwell")
+                .minYear(1946)
+                .build();
+
+        // Act
+        SearchHits hits = index.search(criteria, Sort.by("title"), 0, 10).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(3L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithGenresAndRating_ShouldFilter() {
+        // Arrange
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder()
+                .genres(List.of(BookGenre.Genre.FANTASY, BookGenre.Genre.COMEDY, BookGenre.Genre.ROMANCE))
+                .minRating(4.0)
+                .build();
+
+        // Act
+        SearchHits hits = index.search(criteria, Sort.by("title"), 0, 10).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithSortAndPaging_ShouldReturnRequestedSlice() {
+        // Act
+        SearchHits hits = index.search(new SearchCriteriaDTO(), Sort.by("publishedYear").descending(), 1, 2).orElseThrow();
+
+        // Assert
+        assertEquals(4, hits.total());
+        assertEquals(List.of(4L, 2L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithCursor_ShouldSeekPastLastRow() {
+        // Arrange
+        SeekCursor afterAnimalFarm = SeekCursor.of(Sort.Order.asc("title"), "Animal Farm", 4L);
+
+        // Act
+        SearchHits hits = index.search(new SearchCriteriaDTO(), Sort.by("title"), afterAnimalFarm, 10).orElseThrow();
+
+        // Assert
+        assertEquals(4, hits.total());
+        assertEquals(List.of(1L, 2L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithCursorDescending_ShouldSeekBackwards() {
+        // Arrange
+        SeekCursor after1945 = SeekCursor.of(Sort.Order.desc("publishedYear"), 1945, 4L);
+
+        // Act
+        SearchHits hits = index.search(new SearchCriteriaDTO(), Sort.by("publishedYear").descending(), after1945, 1).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(2L), hits.bookIds());
+    }
+
+    @Test
+    void search_ByRatingDescending_ShouldSeekPastCursor() {
+        // Arrange
+        SeekCursor afterHobbit = SeekCursor.of(Sort.Order.desc("averageRating"), 4.8, 2L);
+
+        // Act
+        SearchHits first = index.search(new SearchCriteriaDTO(), Sort.by("averageRating").descending(), 0, 2).orElseThrow();
+        SearchHits next = index.search(new SearchCriteriaDTO(), Sort.by("averageRating").descending(), afterHobbit, 2).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(2L, 1L), first.bookIds());
+        assertEquals(List.of(1L, 3L), next.bookIds());
+    }
+
+    @Test
+    void updateRatingStats_ShouldReorderRatingSort() {
+        // Arrange
+        Sort byRating = Sort.by("averageRating").descending();
+        index.search(new SearchCriteriaDTO(), byRating, 0, 10);
+
+        // Act
+        index.updateRatingStats(4L, 5.0, 11);
+
+        // Assert
+        assertEquals(List.of(4L, 2L, 1L, 3L), index.search(new SearchCriteriaDTO(), byRating, 0, 10).orElseThrow().bookIds());
+    }
+
+    @Test
+    void search_WithUnsupportedSort_ShouldReturnEmpty() {
+        // Act & Assert
+        assertTrue(index.search(new SearchCriteriaDTO(), Sort.by("price"), 0, 10).isEmpty());
+    }
+
+    @Test
+    void upsert_WithChangedTitle_ShouldReindexText() {
+        // Act
+        index.upsert(entry(2L, "There and Back Again", "J.R.R. Tolkien", 1937, 4.8, BookGenre.Genre.FANTASY));
+
+        // Assert
+        SearchCriteriaDTO oldTitle = SearchCriteriaDTO.builder().query("hobbit").build();
+        SearchCriteriaDTO newTitle = SearchCriteriaDTO.builder().query("back again").build();
+        assertEquals(0, index.search(oldTitle, Sort.by("title"), 0, 10).orElseThrow().total());
+        assertEquals(List.of(2L), index.search(newTitle, Sort.by("title"), 0, 10).orElseThrow().bookIds());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void upsert_WithNewBook_ShouldBeSearchable() {
+        // Act
+        index.upsert(entry(5L, "Brave New World", "Aldous Huxley", 1932, 4.0, BookGenre.Genre.SCI_FI));
+
+        // Assert
+        SearchHits hits = index.search(SearchCriteriaDTO.builder().query("brave").build(), Sort.by("id"), 0, 10).orElseThrow();
+        assertEquals(List.of(5L), hits.bookIds());
+    }
+
+    @Test
+    void upsert_AfterTitleSearch_ShouldMergeNewBooksIntoTitleOrder() {
+        // Arrange
+        Sort byTitle = Sort.by("title");
+        index.search(new SearchCriteriaDTO(), byTitle, 0, 10);
+
+        // Act
+        index.upsert(entry(5L, "Brave New World", "Aldous Huxley", 1932, 4.0, BookGenre.Genre.SCI_FI));
+        index.upsert(entry(6L, "a Clockwork Orange", "Anthony Burgess", 1962, 4.0, BookGenre.Genre.SCI_FI));
+        index.upsert(entry(2L, "Zen and the Hobbit", "J.R.R. Tolkien", 1937, 4.8, BookGenre.Genre.FANTASY));
+
+        // Assert
+        assertEquals(List.of(3L, 6L, 4L, 5L, 1L, 2L), index.search(new SearchCriteriaDTO(), byTitle, 0, 10).orElseThrow().bookIds());
+    }
+
+    @Test
+    void upsert_WithUnknownGenres_ShouldKeepIndexedGenres() {
+        // Act
+        index.upsert(new BookIndexEntry(3L, "1984", "George Orwell", 1949, 1.0, 3, null));
+
+        // Assert
+        SearchCriteriaDTO criteria = SearchCriteriaDTO.builder().genres(List.of(BookGenre.Genre.SCI_FI)).build();
+        assertEquals(List.of(3L), index.search(criteria, Sort.by("id"), 0, 10).orElseThrow().bookIds());
+        SearchCriteriaDTO rated = SearchCriteriaDTO.builder().minRating(4.0).build();
+        assertFalse(index.search(rated, Sort.by("id"), 0, 10).orElseThrow().bookIds().contains(3L));
+    }
+
+    @Test
+    void remove_ShouldDropBookFromResults() {
+        // Act
+        index.remove(1L);
+
+        // Assert
+        SearchHits hits = index.search(new SearchCriteriaDTO(), Sort.by("id"), 0, 10).orElseThrow();
+        assertEquals(List.of(2L, 3L, 4L), hits.bookIds());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void publish_ShouldReplayUpdatesMadeDuringRebuild() {
+        // Arrange
+        BookSearchIndex.Builder builder = index.newBuilder();
+        builder.add(entry(1L, "The Great Gatsby", "F. Scott Fitzgerald", 1925, 4.5, BookGenre.Genre.ROMANCE));
+
+        // Act
+        index.upsert(entry(9L, "Dune", "Frank Herbert", 1965, 4.6, BookGenre.Genre.SCI_FI));
+        index.publish(builder);
+
+        // Assert
+        SearchHits hits = index.search(new SearchCriteriaDTO(), Sort.by("id"), 0, 10).orElseThrow();
+        assertEquals(List.of(1L, 9L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithTrigramEngine_ShouldMatchInfixSubstrings() {
+        // Arrange
+        BookSearchIndex trigramIndex = trigramIndex();
+
+        // Act
+        SearchHits hits = trigramIndex.search(SearchCriteriaDTO.builder().query("atsby").build(), Sort.by("title"), 0, 10).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(1L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithTrigramEngine_ShouldVerifyContainment() {
+        // Arrange: every trigram of "gat gat" occurs in "the great gatsby", but the string does not
+        BookSearchIndex trigramIndex = trigramIndex();
+
+        // Act
+        SearchHits spanning = trigramIndex.search(SearchCriteriaDTO.builder().query("e great g").build(), Sort.by("title"), 0, 10).orElseThrow();
+        SearchHits missing = trigramIndex.search(SearchCriteriaDTO.builder().query("gat gat").build(), Sort.by("title"), 0, 10).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(1L), spanning.bookIds());
+        assertEquals(0, missing.total());
+    }
+
+    @Test
+    void search_WithTrigramEngineAndShortQuery_ShouldScanColumns() {
+        // Arrange
+        BookSearchIndex trigramIndex = trigramIndex();
+
+        // Act
+        SearchHits hits = trigramIndex.search(SearchCriteriaDTO.builder().author("we").build(), Sort.by("id"), 0, 10).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(3L, 4L), hits.bookIds());
+    }
+
+    @Test
+    void upsert_WithTrigramEngine_ShouldIndexNewBook() {
+        // Arrange
+        BookSearchIndex trigramIndex = trigramIndex();
+
+        // Act
+        trigramIndex.upsert(entry(5L, "Brave New World", "Aldous Huxley", 1932, 4.0, BookGenre.Genre.SCI_FI));
+
+        // Assert
+        SearchHits hits = trigramIndex.search(SearchCriteriaDTO.builder().query("new wor").build(), Sort.by("id"), 0, 10).orElseThrow();
+        assertEquals(List.of(5L), hits.bookIds());
+    }
+
+    @Test
+    void search_WithSqlEngine_ShouldAlwaysFallBack() {
+        // Arrange
+        BookSearchIndex sqlIndex = new BookSearchIndex(SearchEngine.SQL);
+        sqlIndex.upsert(entry(1L, "The Great Gatsby", "F. Scott Fitzgerald", 1925, 4.5, BookGenre.Genre.ROMANCE));
+
+        // Act & Assert
+        assertTrue(sqlIndex.search(new SearchCriteriaDTO(), Sort.by("title"), 0, 10).isEmpty());
+        assertEquals(0, sqlIndex.size());
+    }
+
+    private static BookSearchIndex trigramIndex() {
+        BookSearchIndex trigramIndex = new BookSearchIndex(SearchEngine.TRIGRAM);
+        BookSearchIndex.Builder builder = trigramIndex.newBuilder();
+        builder.add(entry(1L, "The Great Gatsby", "F. Scott Fitzgerald", 1925, 4.5, BookGenre.Genre.ROMANCE));
+        builder.add(entry(2L, "The Hobbit", "J.R.R. Tolkien", 1937, 4.8, BookGenre.Genre.FANTASY));
+        builder.add(entry(3L, "1984", "George Orwell", 1949, 4.2, BookGenre.Genre.SCI_FI));
+        builder.add(entry(4L, "Animal Farm", "George Orwell", 1945, 3.9, BookGenre.Genre.COMEDY));
+        trigramIndex.publish(builder);
+        return trigramIndex;
+    }
+
+    private static BookIndexEntry entry(Long id, String title, String author, int year, double rating, BookGenre.Genre genre) {
+        return new BookIndexEntry(id, title, author, year, rating, 10, Set.of(genre));
+    }
+}